@@ -0,0 +1,109 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.service.AppointmentService;
+import com.digitalclinic.service.SlotReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking, cancelling and rescheduling through {@link AppointmentService}, including the
+ * availability check, the in-memory slot reservation and the database write.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppointmentServiceBenchmark {
+
+    private static final int DOCTORS = 50;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private Patient patient;
+    private final List<Doctor> doctors = new ArrayList<>();
+
+    // Slots are handed out per doctor from two days out, so bookings never collide and can all be cancelled
+    private LocalDateTime firstSlot;
+    private int[] nextSlot;
+    private int nextDoctor;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = ClinicContext.start();
+        appointmentService = context.getBean(AppointmentService.class);
+        patient = ClinicContext.createPatient(context, "Bench Patient");
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(ClinicContext.createDoctor(context, "Bench Doctor " + i, "General Medicine"));
+        }
+        firstSlot = LocalDateTime.now().plusDays(2).toLocalDate().atStartOfDay();
+        nextSlot = new int[DOCTORS];
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    // A freshly booked appointment for each cancel/reschedule call, booked outside the measurement
+    @State(Scope.Thread)
+    public static class Booked {
+
+        Appointment appointment;
+        LocalDateTime freeSlot;
+
+        @Setup(Level.Invocation)
+        public void book(AppointmentServiceBenchmark benchmark) {
+            int doctor = benchmark.nextDoctor;
+            appointment = benchmark.appointmentService.bookAppointment(benchmark.newAppointment());
+            freeSlot = benchmark.nextDateTime(doctor);
+        }
+    }
+
+    @Benchmark
+    public Appointment bookAppointment() {
+        return appointmentService.bookAppointment(newAppointment());
+    }
+
+    @Benchmark
+    public Appointment cancelAppointment(Booked booked) {
+        return appointmentService.cancelAppointment(booked.appointment.getId(), "Benchmark");
+    }
+
+    @Benchmark
+    public Appointment rescheduleAppointment(Booked booked) {
+        return appointmentService.rescheduleAppointment(booked.appointment.getId(), booked.freeSlot);
+    }
+
+    private Appointment newAppointment() {
+        int doctor = nextDoctor;
+        nextDoctor = (nextDoctor + 1) % DOCTORS;
+        Appointment appointment = new Appointment(patient, nextDateTime(doctor), Appointment.AppointmentType.VIDEO);
+        appointment.setDoctor(doctors.get(doctor));
+        appointment.setSymptoms("Benchmark");
+        return appointment;
+    }
+
+    private LocalDateTime nextDateTime(int doctor) {
+        return firstSlot.plusMinutes((long) nextSlot[doctor]++ * SlotReservationService.SLOT_MINUTES);
+    }
+}
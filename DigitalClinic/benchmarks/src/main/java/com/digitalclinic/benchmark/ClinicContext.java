@@ -0,0 +1,65 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.DigitalClinicApplication;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.PatientRepository;
+import com.digitalclinic.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.UUID;
+
+/**
+ * Boots the whole application on a random port against a private in-memory H2 database in
+ * MySQL mode, with SQL and debug logging off so they do not end up in the measurements.
+ * The web layer has to come up too, the security configuration depends on it.
+ */
+final class ClinicContext {
+
+    private ClinicContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        // A fresh database per trial, so one benchmark's rows never slow down the next
+        String database = "bench-" + UUID.randomUUID();
+        return new SpringApplicationBuilder(DigitalClinicApplication.class)
+            .logStartupInfo(false)
+            // Command-line arguments, so they win over application.properties
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web.servlet=WARN",
+                "--logging.level.org.apache.jasper=WARN");
+    }
+
+    static Patient createPatient(ConfigurableApplicationContext context, String name) {
+        User user = context.getBean(UserRepository.class).save(
+            new User(email(name), "pw", "PATIENT", name));
+        return context.getBean(PatientRepository.class).save(new Patient(user));
+    }
+
+    static Doctor createDoctor(ConfigurableApplicationContext context, String name, String specialization) {
+        User user = context.getBean(UserRepository.class).save(
+            new User(email(name), "pw", "DOCTOR", name));
+        Doctor doctor = new Doctor(user);
+        doctor.setSpecialization(specialization);
+        doctor.setConsultationFee(500.0);
+        doctor.setVerified(true);
+        return context.getBean(DoctorRepository.class).save(doctor);
+    }
+
+    private static String email(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", ".") + "." + UUID.randomUUID() + "@bench.local";
+    }
+}
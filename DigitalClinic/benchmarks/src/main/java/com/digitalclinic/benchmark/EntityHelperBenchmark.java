@@ -0,0 +1,83 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity helpers the list pages call once per row. No Spring context: plain entities
+ * with a mix of statuses and times, cycled so no single branch dominates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityHelperBenchmark {
+
+    // Power of two so the index wraps with a mask
+    private static final int SIZE = 1024;
+
+    private final Appointment[] appointments = new Appointment[SIZE];
+    private final VideoConsultation[] consultations = new VideoConsultation[SIZE];
+    private int index;
+
+    @Setup(Level.Trial)
+    public void createEntities() {
+        Random random = new Random(42);
+        Appointment.AppointmentStatus[] appointmentStatuses = Appointment.AppointmentStatus.values();
+        VideoConsultation.ConsultationStatus[] consultationStatuses = VideoConsultation.ConsultationStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < SIZE; i++) {
+            // Anywhere from a day ago to two days ahead, so both sides of the 2 hour and 30 minute cut-offs are hit
+            LocalDateTime when = now.plusMinutes(random.nextInt(72 * 60) - 24 * 60);
+
+            Appointment appointment = new Appointment(null, when, Appointment.AppointmentType.VIDEO);
+            appointment.setStatus(appointmentStatuses[random.nextInt(appointmentStatuses.length)]);
+            appointments[i] = appointment;
+
+            VideoConsultation consultation = new VideoConsultation(appointment);
+            consultation.setStatus(consultationStatuses[random.nextInt(consultationStatuses.length)]);
+            consultations[i] = consultation;
+        }
+    }
+
+    @Benchmark
+    public boolean appointmentCanBeCancelled() {
+        return appointments[next()].getCanBeCancelled();
+    }
+
+    @Benchmark
+    public boolean appointmentIsUpcoming() {
+        return appointments[next()].isUpcoming();
+    }
+
+    @Benchmark
+    public boolean consultationCanStart() {
+        return consultations[next()].canStart();
+    }
+
+    @Benchmark
+    public boolean consultationIsActive() {
+        return consultations[next()].isActive();
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+}
@@ -0,0 +1,97 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.service.HealthPodService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HealthPodService#searchPods} over a generated set of pods: an exact word, a prefix,
+ * a misspelling and a two-word query, each including the load of the matching rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HealthPodSearchBenchmark {
+
+    private static final String[] CITIES = {
+        "Bangalore", "Mumbai", "Delhi", "Chennai", "Hyderabad", "Pune", "Kolkata", "Jaipur", "Lucknow", "Mysore"
+    };
+    private static final String[] KINDS = {"Village Health Pod", "Community Health Center", "Rural Clinic", "Primary Care Pod"};
+    private static final String[] FACILITIES = {
+        "X-Ray", "ECG", "Pharmacy", "Laboratory", "Cardiology", "Pediatrics", "Dermatology", "Ultrasound", "Dental Care"
+    };
+    private static final String[] EQUIPMENT = {
+        "BP Monitor", "Defibrillator", "Ventilator", "Glucometer", "Pulse Oximeter", "Nebulizer", "Thermometer"
+    };
+
+    @Param({"100", "1000"})
+    private int pods;
+
+    @Param({"cardiology", "ultra", "bangalre", "pharmacy pune"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private HealthPodService healthPodService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = ClinicContext.start();
+        healthPodService = context.getBean(HealthPodService.class);
+
+        // Fixed seed so every run searches the same pods
+        Random random = new Random(42);
+        for (int i = 0; i < pods; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            HealthPod pod = new HealthPod(KINDS[random.nextInt(KINDS.length)] + " " + i,
+                (i + 1) + " Main Road", city, "98450" + String.format("%05d", i));
+            pod.setDescription("Serves the villages around " + city + " with walk-in and video consultations");
+            pod.setFacilities(pick(random, FACILITIES, 3));
+            pod.setEquipment(pick(random, EQUIPMENT, 3));
+            healthPodService.savePod(pod);
+        }
+
+        // Build the index before measuring, the first search loads it
+        healthPodService.searchPods(query);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<HealthPod> searchPods() {
+        return healthPodService.searchPods(query);
+    }
+
+    private static List<String> pick(Random random, String[] values, int count) {
+        List<String> picked = new ArrayList<>(count);
+        while (picked.size() < count) {
+            String value = values[random.nextInt(values.length)];
+            if (!picked.contains(value)) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,110 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.service.AppointmentService;
+import com.digitalclinic.service.SlotReservationService;
+import com.digitalclinic.service.VideoConsultationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VideoConsultationService} state transitions on a consultation that is created
+ * for each call outside the measurement: opening the room, both sides joining and
+ * completing (which completes the appointment too), and cancelling.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VideoConsultationServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private VideoConsultationService videoConsultationService;
+    private Patient patient;
+    private Doctor doctor;
+
+    // Consecutive slots from two days out, one per appointment
+    private LocalDateTime nextSlot;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = ClinicContext.start();
+        appointmentService = context.getBean(AppointmentService.class);
+        videoConsultationService = context.getBean(VideoConsultationService.class);
+        patient = ClinicContext.createPatient(context, "Bench Patient");
+        doctor = ClinicContext.createDoctor(context, "Bench Doctor", "General Medicine");
+        nextSlot = LocalDateTime.now().plusDays(2).toLocalDate().atStartOfDay();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Booked {
+
+        Appointment appointment;
+
+        @Setup(Level.Invocation)
+        public void book(VideoConsultationServiceBenchmark benchmark) {
+            appointment = benchmark.bookVideoAppointment();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Created {
+
+        VideoConsultation consultation;
+
+        @Setup(Level.Invocation)
+        public void create(VideoConsultationServiceBenchmark benchmark) {
+            consultation = benchmark.videoConsultationService.createVideoConsultation(
+                benchmark.bookVideoAppointment().getId());
+        }
+    }
+
+    @Benchmark
+    public VideoConsultation createConsultation(Booked booked) {
+        return videoConsultationService.createVideoConsultation(booked.appointment.getId());
+    }
+
+    @Benchmark
+    public VideoConsultation joinAndComplete(Created created) {
+        Long id = created.consultation.getId();
+        videoConsultationService.patientJoined(id);
+        videoConsultationService.doctorJoined(id);
+        return videoConsultationService.completeConsultation(id);
+    }
+
+    @Benchmark
+    public VideoConsultation cancelConsultation(Created created) {
+        return videoConsultationService.cancelConsultation(created.consultation.getId(), "Benchmark");
+    }
+
+    private Appointment bookVideoAppointment() {
+        Appointment appointment = new Appointment(patient, nextSlot, Appointment.AppointmentType.VIDEO);
+        appointment.setDoctor(doctor);
+        nextSlot = nextSlot.plusMinutes(SlotReservationService.SLOT_MINUTES);
+        return appointmentService.bookAppointment(appointment);
+    }
+}
@@ -0,0 +1,111 @@
+package com.digitalclinic.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+
+/**
+ * One user's browser: a session cookie on top of the shared HTTP client, no redirect following
+ * (so each redirect hop is its own measured request, as a browser would make it), and every
+ * request timed into {@link LoadMetrics} under the endpoint name it was given.
+ */
+class BrowserSession {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadMetrics metrics;
+    private volatile String sessionCookie;
+
+    BrowserSession(HttpClient client, URI baseUri, LoadMetrics metrics) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.metrics = metrics;
+    }
+
+    static class Response {
+        final int status;
+        final String location;
+        final String body;
+
+        Response(int status, String location, String body) {
+            this.status = status;
+            this.location = location;
+            this.body = body;
+        }
+
+        boolean isOk() {
+            return status == 200;
+        }
+
+        // Ignores the host and a ;jsessionid suffix Tomcat may add before the cookie is set
+        boolean redirectsTo(String path) {
+            if (status != 302 || location == null) {
+                return false;
+            }
+            URI target = URI.create(location);
+            return target.getPath().split(";")[0].equals(path) && target.getQuery() == null;
+        }
+    }
+
+    // Form login; succeeds when Spring Security sends the user on to the dashboard
+    boolean login(String email, String password, long startNanos) {
+        Response response = post("POST /login", "/login", Map.of("username", email, "password", password),
+            startNanos, r -> r.redirectsTo("/dashboard"));
+        return response != null && response.redirectsTo("/dashboard");
+    }
+
+    Response get(String endpoint, String path, long startNanos, Predicate<Response> success) {
+        return send(endpoint, HttpRequest.newBuilder(baseUri.resolve(path)).GET(), startNanos, success);
+    }
+
+    Response post(String endpoint, String path, Map<String, String> form, long startNanos, Predicate<Response> success) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((name, value) -> body.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+            + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+        return send(endpoint, request, startNanos, success);
+    }
+
+    String sessionCookie() {
+        return sessionCookie;
+    }
+
+    // Null when the request itself failed; the failure is still recorded against the endpoint
+    private Response send(String endpoint, HttpRequest.Builder builder, long startNanos, Predicate<Response> success) {
+        builder.timeout(REQUEST_TIMEOUT);
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        try {
+            HttpResponse<String> httpResponse = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - startNanos;
+            httpResponse.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .findFirst()
+                .ifPresent(cookie -> sessionCookie = cookie.substring(0, cookie.indexOf(';') > 0 ? cookie.indexOf(';') : cookie.length()));
+            Response response = new Response(httpResponse.statusCode(),
+                httpResponse.headers().firstValue("Location").orElse(null), httpResponse.body());
+            metrics.record(endpoint, elapsed, success.test(response));
+            return response;
+        } catch (IOException e) {
+            metrics.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metrics.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.digitalclinic.loadtest;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.PatientRepository;
+import com.digitalclinic.repository.UserRepository;
+import com.digitalclinic.service.AppointmentService;
+import com.digitalclinic.service.SlotReservationService;
+import com.digitalclinic.service.VideoConsultationService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The patients, doctors and video consultation rooms the personas act as, written straight
+ * through the repositories before the run. Also hands out booking slots that never collide
+ * and passes appointment ids from the patients who booked them to their doctors.
+ */
+class ClinicFixtures {
+
+    static final String PASSWORD = "load-test";
+
+    final List<Account> patients = new ArrayList<>();
+    final List<Account> doctors = new ArrayList<>();
+    final List<Room> rooms = new ArrayList<>();
+
+    // Booked appointments waiting for their doctor to complete them, one queue per doctor
+    private final List<ConcurrentLinkedQueue<Long>> toComplete = new ArrayList<>();
+
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(2).toLocalDate().atStartOfDay();
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    static class Account {
+        final String email;
+        final Long id;
+        final Long userId;
+
+        Account(String email, Long id, Long userId) {
+            this.email = email;
+            this.id = id;
+            this.userId = userId;
+        }
+    }
+
+    static class Room {
+        final String roomId;
+        final int patient;
+        final int doctor;
+
+        Room(String roomId, int patient, int doctor) {
+            this.roomId = roomId;
+            this.patient = patient;
+            this.doctor = doctor;
+        }
+    }
+
+    static class Slot {
+        final int doctor;
+        final LocalDateTime dateTime;
+
+        Slot(int doctor, LocalDateTime dateTime) {
+            this.doctor = doctor;
+            this.dateTime = dateTime;
+        }
+    }
+
+    static ClinicFixtures create(ConfigurableApplicationContext context, int patientCount, int doctorCount, int roomCount) {
+        ClinicFixtures fixtures = new ClinicFixtures();
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PatientRepository patientRepository = context.getBean(PatientRepository.class);
+        DoctorRepository doctorRepository = context.getBean(DoctorRepository.class);
+
+        // One hash for everybody: BCrypt is deliberately slow and the salt does not matter here
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        for (int i = 0; i < patientCount; i++) {
+            User user = new User("patient" + i + "@load.test", passwordHash, "PATIENT", "Load Patient " + i);
+            user.setPhone("9000000000");
+            user = userRepository.save(user);
+            Patient patient = patientRepository.save(new Patient(user));
+            fixtures.patients.add(new Account(user.getEmail(), patient.getId(), user.getId()));
+        }
+        for (int i = 0; i < doctorCount; i++) {
+            User user = new User("doctor" + i + "@load.test", passwordHash, "DOCTOR", "Load Doctor " + i);
+            user.setPhone("9100000000");
+            user = userRepository.save(user);
+            Doctor doctor = new Doctor(user);
+            doctor.setSpecialization("General Medicine");
+            doctor.setConsultationFee(500.0);
+            doctor.setVerified(true);
+            doctor = doctorRepository.save(doctor);
+            fixtures.doctors.add(new Account(user.getEmail(), doctor.getId(), user.getId()));
+            fixtures.toComplete.add(new ConcurrentLinkedQueue<>());
+        }
+
+        AppointmentService appointmentService = context.getBean(AppointmentService.class);
+        VideoConsultationService videoConsultationService = context.getBean(VideoConsultationService.class);
+        for (int i = 0; i < roomCount; i++) {
+            int patient = i % patientCount;
+            Slot slot = fixtures.nextSlot();
+            Appointment appointment = new Appointment(patientRepository.findById(fixtures.patients.get(patient).id).orElseThrow(),
+                slot.dateTime, Appointment.AppointmentType.VIDEO);
+            appointment.setDoctor(doctorRepository.findById(fixtures.doctors.get(slot.doctor).id).orElseThrow());
+            VideoConsultation consultation = videoConsultationService.createVideoConsultation(
+                appointmentService.bookAppointment(appointment).getId());
+            fixtures.rooms.add(new Room(consultation.getRoomId(), patient, slot.doctor));
+        }
+        return fixtures;
+    }
+
+    // Walks every doctor through consecutive slots from two days out, so bookings never collide
+    Slot nextSlot() {
+        long slot = nextSlot.getAndIncrement();
+        int doctor = (int) (slot % doctors.size());
+        return new Slot(doctor, firstSlot.plusMinutes(slot / doctors.size() * SlotReservationService.SLOT_MINUTES));
+    }
+
+    void booked(int doctor, Long appointmentId) {
+        toComplete.get(doctor).add(appointmentId);
+    }
+
+    Long nextToComplete(int doctor) {
+        return toComplete.get(doctor).poll();
+    }
+}
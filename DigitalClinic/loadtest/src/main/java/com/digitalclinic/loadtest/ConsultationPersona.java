@@ -0,0 +1,128 @@
+package com.digitalclinic.loadtest;
+
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Logs in as the patient or the doctor of a consultation room, opens the STOMP connection the
+ * video call pages use, joins the room and sends one chat message. Join and chat are timed until
+ * the broadcast for them comes back on the room's topic.
+ */
+class ConsultationPersona implements Persona {
+
+    private static final long REPLY_TIMEOUT_SECONDS = 10;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadMetrics metrics;
+    private final ClinicFixtures fixtures;
+    private final WebSocketStompClient stompClient;
+
+    ConsultationPersona(HttpClient client, URI baseUri, LoadMetrics metrics, ClinicFixtures fixtures,
+                        WebSocketStompClient stompClient) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.metrics = metrics;
+        this.fixtures = fixtures;
+        this.stompClient = stompClient;
+    }
+
+    @Override
+    public String name() {
+        return "consultation";
+    }
+
+    @Override
+    public boolean run(long arrivalNanos) {
+        ClinicFixtures.Room room = fixtures.rooms.get(ThreadLocalRandom.current().nextInt(fixtures.rooms.size()));
+        ClinicFixtures.Account account = ThreadLocalRandom.current().nextBoolean()
+            ? fixtures.patients.get(room.patient) : fixtures.doctors.get(room.doctor);
+        BrowserSession browser = new BrowserSession(client, baseUri, metrics);
+        if (!browser.login(account.email, ClinicFixtures.PASSWORD, arrivalNanos)) {
+            return false;
+        }
+
+        // The handshake is authenticated with the HTTP session, as in the browser
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.add("Cookie", browser.sessionCookie());
+        String url = "ws://" + baseUri.getHost() + ":" + baseUri.getPort() + "/ws-video-consultation/websocket";
+
+        long start = System.nanoTime();
+        StompSession session;
+        try {
+            session = stompClient.connectAsync(url, handshakeHeaders, new StompSessionHandlerAdapter() { })
+                .get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            metrics.record("STOMP CONNECT", System.nanoTime() - start, true);
+        } catch (Exception e) {
+            metrics.record("STOMP CONNECT", System.nanoTime() - start, false);
+            return false;
+        }
+
+        try {
+            String topic = "/topic/consultation." + room.roomId;
+            CompletableFuture<Map<?, ?>> joined = expect(session, topic + ".participants",
+                message -> "USER_JOINED".equals(message.get("type"))
+                    && String.valueOf(account.userId).equals(String.valueOf(message.get("userId"))));
+            String content = "ping " + UUID.randomUUID();
+            CompletableFuture<Map<?, ?>> echoed = expect(session, topic + ".chat",
+                message -> content.equals(message.get("content")));
+            CompletableFuture<Map<?, ?>> failed = expect(session, "/user/queue/errors", message -> true);
+
+            boolean ok = roundTrip("STOMP consultation.join", joined, failed,
+                () -> session.send("/app/consultation.join", Map.of("roomId", room.roomId)));
+            ok = ok && roundTrip("STOMP consultation.chat", echoed, failed,
+                () -> session.send("/app/consultation.chat", Map.of("roomId", room.roomId, "content", content)));
+            return ok;
+        } finally {
+            session.disconnect();
+        }
+    }
+
+    // Sends, then waits for the expected broadcast or an error on the user's error queue
+    private boolean roundTrip(String endpoint, CompletableFuture<Map<?, ?>> reply,
+                              CompletableFuture<Map<?, ?>> error, Runnable send) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            send.run();
+            CompletableFuture.anyOf(reply, error).get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            ok = reply.isDone();
+        } catch (Exception e) {
+            ok = false;
+        }
+        metrics.record(endpoint, System.nanoTime() - start, ok);
+        return ok;
+    }
+
+    private static CompletableFuture<Map<?, ?>> expect(StompSession session, String destination,
+                                                       Predicate<Map<?, ?>> matches) {
+        CompletableFuture<Map<?, ?>> future = new CompletableFuture<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                if (payload instanceof Map<?, ?> message && matches.test(message)) {
+                    future.complete(message);
+                }
+            }
+        });
+        return future;
+    }
+}
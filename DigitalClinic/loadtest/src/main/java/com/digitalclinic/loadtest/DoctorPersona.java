@@ -0,0 +1,54 @@
+package com.digitalclinic.loadtest;
+
+import com.digitalclinic.loadtest.BrowserSession.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logs in, opens the dashboard and completes one appointment a patient persona booked with them, if any
+class DoctorPersona implements Persona {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadMetrics metrics;
+    private final ClinicFixtures fixtures;
+
+    DoctorPersona(HttpClient client, URI baseUri, LoadMetrics metrics, ClinicFixtures fixtures) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.metrics = metrics;
+        this.fixtures = fixtures;
+    }
+
+    @Override
+    public String name() {
+        return "doctor";
+    }
+
+    @Override
+    public boolean run(long arrivalNanos) {
+        int index = ThreadLocalRandom.current().nextInt(fixtures.doctors.size());
+        ClinicFixtures.Account doctor = fixtures.doctors.get(index);
+        BrowserSession browser = new BrowserSession(client, baseUri, metrics);
+        if (!browser.login(doctor.email, ClinicFixtures.PASSWORD, arrivalNanos)) {
+            return false;
+        }
+
+        Response dashboard = browser.get("GET /doctor/dashboard", "/doctor/dashboard", System.nanoTime(), Response::isOk);
+        if (dashboard == null || !dashboard.isOk()) {
+            return false;
+        }
+
+        Long appointmentId = fixtures.nextToComplete(index);
+        if (appointmentId == null) {
+            return true;
+        }
+        // Success and failure both redirect to the appointment, only an error status counts as failed
+        String path = "/appointments/" + appointmentId;
+        Response completed = browser.post("POST /appointments/{id}/complete", path + "/complete",
+            Map.of("prescription", "Rest and fluids", "notes", "Load test"),
+            System.nanoTime(), r -> r.redirectsTo(path));
+        return completed != null && completed.redirectsTo(path);
+    }
+}
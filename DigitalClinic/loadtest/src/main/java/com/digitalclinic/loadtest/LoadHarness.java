@@ -0,0 +1,263 @@
+package com.digitalclinic.loadtest;
+
+import com.digitalclinic.DigitalClinicApplication;
+import com.digitalclinic.config.VirtualThreads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load harness. Starts the application on a private in-memory H2 database in MySQL
+ * mode and, for each configured rate, starts persona sessions at random (Poisson) arrival times
+ * whether or not earlier sessions have finished, so a saturated server shows up as growing
+ * latency and sessions in flight instead of silently lowering the offered load.
+ *
+ * Options (all {@code --name=value}):
+ *   rates            sessions per second, one stage each (default 2,5,10,20)
+ *   stage-seconds    length of every stage (default 30)
+ *   warmup-seconds   unreported stage at the first rate before the others (default 10)
+ *   mix              persona weights (default patient:5,doctor:3,consultation:2)
+ *   patients, doctors, rooms   fixture sizes (default 200, 20, 50)
+ *   max-in-flight    sessions allowed at once; arrivals beyond it are dropped and counted (default 2000)
+ *   seed             arrival and persona sequence (default 42)
+ * Any --spring.*, --server.* or --clinic.* option is passed on to the application.
+ */
+public class LoadHarness {
+
+    // A stage counts as saturated once the sessions still in flight grow by more than this share of its arrivals
+    private static final double BACKLOG_RATIO = 0.1;
+    private static final int MIN_BACKLOG = 5;
+
+    private final Map<String, String> options;
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final List<Persona> personas = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final Random random;
+
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private LoadHarness(Map<String, String> options) {
+        this.options = options;
+        this.inFlight = new Semaphore(intOption("max-in-flight", 2000));
+        this.random = new Random(intOption("seed", 42));
+        // Client threads must never be what limits the arrival rate
+        this.executor = VirtualThreads.isSupported()
+            ? VirtualThreads.newThreadPerTaskExecutor("load-")
+            : Executors.newCachedThreadPool();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.org.springframework.web.servlet=WARN",
+            "--logging.level.org.apache.jasper=WARN",
+            // Tomcat lists every pool thread still alive at shutdown; the harness exits right after
+            "--logging.level.org.apache.catalina.loader.WebappClassLoaderBase=ERROR"));
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            if (arg.startsWith("--spring.") || arg.startsWith("--server.") || arg.startsWith("--clinic.")) {
+                // Later arguments win, so these override the defaults above
+                applicationArgs.add(arg);
+            } else {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DigitalClinicApplication.class)
+                .logStartupInfo(false)
+                .run(applicationArgs.toArray(String[]::new))) {
+            new LoadHarness(options).run(context, System.out);
+        }
+        System.exit(0);
+    }
+
+    private void run(ConfigurableApplicationContext context, PrintStream out) throws InterruptedException {
+        URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/");
+        ClinicFixtures fixtures = ClinicFixtures.create(context,
+            intOption("patients", 200), intOption("doctors", 20), intOption("rooms", 50));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        Map<String, Persona> available = Map.of(
+            "patient", new PatientPersona(client, baseUri, metrics, fixtures),
+            "doctor", new DoctorPersona(client, baseUri, metrics, fixtures),
+            "consultation", new ConsultationPersona(client, baseUri, metrics, fixtures, stompClient));
+        for (String entry : option("mix", "patient:5,doctor:3,consultation:2").split(",")) {
+            String[] parts = entry.split(":");
+            Persona persona = available.get(parts[0].trim());
+            if (persona == null) {
+                throw new IllegalArgumentException("Unknown persona " + parts[0] + ", expected one of " + available.keySet());
+            }
+            personas.add(persona);
+            weights.add(Integer.parseInt(parts[1].trim()));
+        }
+
+        List<Double> rates = new ArrayList<>();
+        for (String rate : option("rates", "2,5,10,20").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        int stageSeconds = intOption("stage-seconds", 30);
+        int warmupSeconds = intOption("warmup-seconds", 10);
+
+        out.printf("Target %s, %d patients, %d doctors, %d consultation rooms, mix %s%n",
+            baseUri, fixtures.patients.size(), fixtures.doctors.size(), fixtures.rooms.size(), option("mix", "patient:5,doctor:3,consultation:2"));
+
+        if (warmupSeconds > 0) {
+            out.printf("%nWarm-up: %.1f sessions/s for %d s%n", rates.get(0), warmupSeconds);
+            runStage(rates.get(0), warmupSeconds);
+            awaitIdle(stageSeconds);
+            resetCounters();
+            metrics.reset();
+        }
+
+        List<String> summary = new ArrayList<>();
+        boolean saturated = false;
+        for (double rate : rates) {
+            out.printf("%nStage: %.1f sessions/s for %d s%n", rate, stageSeconds);
+            long started = System.nanoTime();
+            int pendingBefore = inFlight();
+            runStage(rate, stageSeconds);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long offeredSessions = offered.sumThenReset();
+            long completedSessions = completed.sumThenReset();
+            long failedSessions = failed.sumThenReset();
+            long droppedSessions = dropped.sumThenReset();
+            int pending = inFlight();
+            metrics.report(out, seconds);
+            if (seconds > stageSeconds + 1) {
+                // Arrivals keep their scheduled times, so the delay is in the latencies rather than hidden
+                out.printf("  Harness fell %.1f s behind schedule; the client machine is short of CPU%n", seconds - stageSeconds);
+            }
+
+            // Below capacity the sessions in flight stay level (rate x session time); past it they pile up
+            boolean sustained = droppedSessions == 0
+                && pending - pendingBefore <= Math.max(MIN_BACKLOG, offeredSessions * BACKLOG_RATIO);
+            String line = String.format("  %7.1f/s offered %8.1f/s completed %6d failed %6d dropped %6d in flight%s",
+                offeredSessions / (double) stageSeconds, completedSessions / seconds, failedSessions, droppedSessions, pending,
+                sustained ? "" : "   <- saturated");
+            out.println(line);
+            summary.add(line);
+            saturated |= !sustained;
+        }
+
+        out.printf("%nSummary (sessions started vs finished per second, sessions still running at the end)%n");
+        summary.forEach(out::println);
+        if (!saturated) {
+            out.println("  No stage saturated; add higher --rates to find the limit.");
+        }
+
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Starts sessions at exponentially distributed intervals for the given duration
+    private void runStage(double rate, int seconds) {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            Persona persona = pickPersona();
+            long arrival = next;
+            offered.increment();
+            if (inFlight.tryAcquire()) {
+                executor.execute(() -> {
+                    boolean ok = false;
+                    try {
+                        ok = persona.run(arrival);
+                    } finally {
+                        metrics.record("session " + persona.name(), System.nanoTime() - arrival, ok);
+                        (ok ? completed : failed).increment();
+                        inFlight.release();
+                    }
+                });
+            } else {
+                dropped.increment();
+            }
+            next += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+        }
+    }
+
+    private Persona pickPersona() {
+        int total = weights.stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (int i = 0; i < personas.size(); i++) {
+            pick -= weights.get(i);
+            if (pick < 0) {
+                return personas.get(i);
+            }
+        }
+        return personas.get(personas.size() - 1);
+    }
+
+    private int inFlight() {
+        return intOption("max-in-flight", 2000) - inFlight.availablePermits();
+    }
+
+    private void awaitIdle(int seconds) throws InterruptedException {
+        int permits = intOption("max-in-flight", 2000);
+        if (inFlight.tryAcquire(permits, seconds, TimeUnit.SECONDS)) {
+            inFlight.release(permits);
+        }
+    }
+
+    private void resetCounters() {
+        offered.reset();
+        dropped.reset();
+        completed.reset();
+        failed.reset();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+    }
+}
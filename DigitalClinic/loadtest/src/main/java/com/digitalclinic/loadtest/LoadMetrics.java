@@ -0,0 +1,65 @@
+package com.digitalclinic.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint, collected for one stage at a time.
+ * Recording is lock-free; {@link #report} swaps the histograms out and starts the next interval.
+ */
+class LoadMetrics {
+
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.recordValue(Math.max(0, nanos));
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    // Prints one line per endpoint for everything recorded since the previous report
+    void report(PrintStream out, double seconds) {
+        out.printf("  %-34s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        names.sort(null);
+        for (String name : names) {
+            Endpoint stats = endpoints.get(name);
+            Histogram histogram = stats.latency.getIntervalHistogram();
+            long errors = stats.errors.sumThenReset();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            out.printf("  %-34s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, errors, count / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        }
+    }
+
+    void reset() {
+        endpoints.values().forEach(stats -> {
+            stats.latency.reset();
+            stats.errors.reset();
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static class Endpoint {
+        final Recorder latency = new Recorder(3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitalclinic.loadtest;
+
+import com.digitalclinic.loadtest.BrowserSession.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Logs in, opens the booking form, books a video appointment and lands on the appointment list
+class PatientPersona implements Persona {
+
+    private static final Pattern BOOKED_ID = Pattern.compile("Your appointment ID: (\\d+)");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadMetrics metrics;
+    private final ClinicFixtures fixtures;
+
+    PatientPersona(HttpClient client, URI baseUri, LoadMetrics metrics, ClinicFixtures fixtures) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.metrics = metrics;
+        this.fixtures = fixtures;
+    }
+
+    @Override
+    public String name() {
+        return "patient";
+    }
+
+    @Override
+    public boolean run(long arrivalNanos) {
+        ClinicFixtures.Account patient = fixtures.patients.get(ThreadLocalRandom.current().nextInt(fixtures.patients.size()));
+        BrowserSession browser = new BrowserSession(client, baseUri, metrics);
+        if (!browser.login(patient.email, ClinicFixtures.PASSWORD, arrivalNanos)) {
+            return false;
+        }
+
+        Response form = browser.get("GET /appointments/book", "/appointments/book", System.nanoTime(), Response::isOk);
+        if (form == null || !form.isOk()) {
+            return false;
+        }
+
+        ClinicFixtures.Slot slot = fixtures.nextSlot();
+        Response booking = browser.post("POST /appointments/book", "/appointments/book", Map.of(
+                "appointmentDate", slot.dateTime.toLocalDate().toString(),
+                "appointmentTime", slot.dateTime.format(TIME),
+                "type", "VIDEO",
+                "symptoms", "Load test",
+                "patientId", String.valueOf(patient.id),
+                "doctorId", String.valueOf(fixtures.doctors.get(slot.doctor).id)),
+            System.nanoTime(), r -> r.redirectsTo("/appointments"));
+        if (booking == null || !booking.redirectsTo("/appointments")) {
+            return false;
+        }
+
+        // The list page shows the new id in the flash message; the doctor persona completes it later
+        Response list = browser.get("GET /appointments", "/appointments", System.nanoTime(), Response::isOk);
+        if (list == null || !list.isOk()) {
+            return false;
+        }
+        Matcher booked = BOOKED_ID.matcher(list.body);
+        if (booked.find()) {
+            fixtures.booked(slot.doctor, Long.valueOf(booked.group(1)));
+        }
+        return true;
+    }
+}
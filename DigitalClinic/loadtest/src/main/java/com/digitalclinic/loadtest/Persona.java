@@ -0,0 +1,13 @@
+package com.digitalclinic.loadtest;
+
+/**
+ * A scripted user session. {@code arrivalNanos} is when the session was scheduled to start, not
+ * when a thread got round to it, so the first request's latency includes any queueing in the harness.
+ */
+interface Persona {
+
+    String name();
+
+    // True when every step of the script succeeded
+    boolean run(long arrivalNanos);
+}
@@ -0,0 +1,58 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.dto.PrincipalContext;
+import com.digitalclinic.dto.PrincipalContext.DoctorSnapshot;
+import com.digitalclinic.dto.PrincipalContext.PatientSnapshot;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
+import com.digitalclinic.service.PrincipalContextCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+// The logged-in user for the current request, resolved from the principal cache at most once per request
+@Component
+@RequestScope
+public class CurrentPrincipal {
+
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+
+    private PrincipalContext context;
+
+    public String getEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("Authentication required");
+        }
+        return authentication.getName();
+    }
+
+    public PrincipalContext getContext() {
+        if (context == null) {
+            context = principalContextCache.get(getEmail()).orElseThrow(() -> new RuntimeException("User not found"));
+        }
+        return context;
+    }
+
+    public UserSnapshot getUser() {
+        return getContext().getUser();
+    }
+
+    public PatientSnapshot getPatient() {
+        PatientSnapshot patient = getContext().getPatient();
+        if (patient == null) {
+            throw new RuntimeException("Patient profile not found");
+        }
+        return patient;
+    }
+
+    public DoctorSnapshot getDoctor() {
+        DoctorSnapshot doctor = getContext().getDoctor();
+        if (doctor == null) {
+            throw new RuntimeException("Doctor profile not found");
+        }
+        return doctor;
+    }
+}
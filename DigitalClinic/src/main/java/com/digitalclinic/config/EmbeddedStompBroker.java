@@ -0,0 +1,60 @@
+package com.digitalclinic.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process Artemis broker for clinic.stomp.broker=embedded, so a single box (and the tests) run
+ * the same broker-relay path as a cluster without an external broker. It keeps nothing on disk and
+ * listens for STOMP only, on the relay host and port, with /topic mapped to multicast and /queue to
+ * anycast addresses as the relay expects.
+ */
+@Component
+@ConditionalOnProperty(prefix = "clinic.stomp", name = "broker", havingValue = "embedded")
+public class EmbeddedStompBroker {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedStompBroker.class);
+
+    @Value("${clinic.stomp.relay.host:localhost}")
+    private String host;
+
+    @Value("${clinic.stomp.relay.port:61613}")
+    private int port;
+
+    private EmbeddedActiveMQ broker;
+
+    // Runs while the context is still being built, so the broker is up before the relay connects
+    @PostConstruct
+    public void start() throws Exception {
+        Configuration configuration = new ConfigurationImpl()
+            .setPersistenceEnabled(false)
+            .setSecurityEnabled(false)
+            .setJMXManagementEnabled(false)
+            // Every subscription gets a queue; without these each one logs a warning when created
+            .addAddressSetting("#", new AddressSettings()
+                .setDeadLetterAddress(SimpleString.toSimpleString("DLQ"))
+                .setExpiryAddress(SimpleString.toSimpleString("ExpiryQueue")))
+            .addAcceptorConfiguration("stomp", "tcp://" + host + ":" + port
+                + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+        broker = new EmbeddedActiveMQ().setConfiguration(configuration);
+        broker.start();
+        log.info("Embedded STOMP broker listening on {}:{}", host, port);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.digitalclinic.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Entity ids come from pooled sequences (one per table, 50 ids per round trip) so Hibernate
+ * can batch inserts. Databases created while the tables used auto-increment ids already hold
+ * rows the fresh sequences know nothing about; before the application serves anything, every
+ * sequence is moved past the highest id in its table. On MySQL, which has no sequences, each
+ * one is a single-row table that Hibernate maintains itself.
+ */
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            SequenceGenerator generator = idSequence(type);
+            if (table != null && generator != null) {
+                align(dialect, table.name(), generator.sequenceName(), generator.allocationSize());
+            }
+        }
+    }
+
+    private void align(Dialect dialect, String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer hands out the allocationSize ids ending at the value it reads
+        long required = maxId + allocationSize;
+
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next < required) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+                log.info("Moved id sequence {} from {} to {} past existing rows", sequence, next, required);
+            }
+            return;
+        }
+
+        List<Long> values = jdbcTemplate.queryForList("SELECT next_val FROM " + sequence, Long.class);
+        if (values.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) VALUES (?)", required);
+            log.info("Initialised id sequence table {} at {}", sequence, required);
+        } else if (values.get(0) < required) {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val = ?", required, values.get(0));
+            log.info("Moved id sequence table {} from {} to {} past existing rows", sequence, values.get(0), required);
+        }
+    }
+
+    private static SequenceGenerator idSequence(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Id.class)) {
+                return field.getAnnotation(SequenceGenerator.class);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.digitalclinic.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Additions to what Spring Boot already measures (requests, repositories, Hikari, Hibernate and
+ * the STOMP channel executors): the controller method behind each request and a cap on STOMP
+ * destination tags.
+ * Everything ends up on /actuator/prometheus and the /admin/metrics page.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Clients choose the destination, so cap how many distinct ones become separate series
+    private static final int MAX_STOMP_DESTINATIONS = 50;
+
+    // Adds handler=Controller#method to http.server.requests
+    @Bean
+    public DefaultServerRequestObservationConvention handlerMethodObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    @Bean
+    public MeterFilter stompDestinationLimit() {
+        return MeterFilter.maximumAllowableTags(StompMessageMetrics.METER_NAME, "destination",
+            MAX_STOMP_DESTINATIONS, MeterFilter.deny());
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+}
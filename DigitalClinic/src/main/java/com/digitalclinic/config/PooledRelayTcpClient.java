@@ -0,0 +1,68 @@
+package com.digitalclinic.config;
+
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.FutureMono;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * TCP client of the STOMP broker relay, on a bounded connection pool and an event loop of its own
+ * instead of Spring's unbounded defaults. The relay holds one broker connection per client session
+ * plus the shared system connection; the pool caps how many this node opens and how long a new
+ * session may wait for one.
+ *
+ * Spring only closes the connections and releases the resources of clients it built itself, so
+ * shutdown does both here, in Spring's order: connections, event loop and pool first, the client
+ * (and with it the scheduler that still handles their closing) last.
+ */
+class PooledRelayTcpClient extends ReactorNettyTcpClient<byte[]> {
+
+    private final ChannelGroup channels;
+    private final ConnectionProvider connections;
+    private final LoopResources loops;
+
+    private PooledRelayTcpClient(TcpClient tcpClient, ChannelGroup channels,
+                                 ConnectionProvider connections, LoopResources loops) {
+        super(tcpClient, new StompReactorNettyCodec());
+        this.channels = channels;
+        this.connections = connections;
+        this.loops = loops;
+    }
+
+    // ioThreads of 0 or less sizes the event loop to the CPU count
+    static PooledRelayTcpClient create(String host, int port, int maxConnections,
+                                       Duration pendingAcquireTimeout, int ioThreads) {
+        ConnectionProvider connections = ConnectionProvider.builder("stomp-relay")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(pendingAcquireTimeout)
+            .build();
+        LoopResources loops = ioThreads > 0
+            ? LoopResources.create("stomp-relay", ioThreads, true)
+            : LoopResources.create("stomp-relay");
+        ChannelGroup channels = new DefaultChannelGroup(ImmediateEventExecutor.INSTANCE);
+        TcpClient tcpClient = TcpClient.create(connections)
+            .host(host)
+            .port(port)
+            .runOn(loops, false)
+            .doOnConnected(connection -> channels.add(connection.channel()));
+        return new PooledRelayTcpClient(tcpClient, channels, connections, loops);
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdownAsync() {
+        return FutureMono.from(channels.close())
+            .onErrorResume(ex -> Mono.empty())
+            .then(loops.disposeLater())
+            .then(connections.disposeLater())
+            .then(Mono.fromFuture(super::shutdownAsync))
+            .toFuture();
+    }
+}
@@ -0,0 +1,75 @@
+package com.digitalclinic.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Opt-in (clinic.datasource.replica.enabled=true) read replica. spring.datasource.* stays the
+ * primary; clinic.datasource.replica.* describes the replica pool. Both pools are exposed as
+ * beans of their own so each shows up in the connection pool metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clinic.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("clinic.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${clinic.datasource.replica.url}") String url,
+                                              @Value("${clinic.datasource.replica.username:}") String username,
+                                              @Value("${clinic.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        log.info("Read-only transactions go to the replica at {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Value("${clinic.datasource.replica.max-lag-ms:2000}") long maxLagMs,
+                                           @Value("${clinic.datasource.replica.max-tracked-users:100000}") long maxTrackedUsers) {
+        return new ReplicaLagGuard(Duration.ofMillis(maxLagMs), maxTrackedUsers);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagGuard replicaLagGuard) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, replicaLagGuard));
+    }
+
+    // By default the session keeps its first connection until it closes, which with open-in-view is the
+    // whole request; routing has to be decided again for every transaction
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,56 @@
+package com.digitalclinic.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work of the application's own to the
+ * replica and everything else to the primary. That excludes the read-only transaction a Spring
+ * Data repository opens for a call made outside any transaction: it is as likely to be the lookup
+ * a write path does before saving as a plain read, and a stale copy saved back to the primary
+ * would silently undo a newer write. Has to sit behind a
+ * LazyConnectionDataSourceProxy: the read-only flag is only known once the transaction has
+ * started, after the JPA provider has already asked for its connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return openedByRepository() || lagGuard.isPinnedToPrimary() ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The user's next reads must not reach the replica before this commit has
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite();
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+
+    // The name is that of the outermost transaction, the method that opened it
+    private static boolean openedByRepository() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith("org.springframework.data.");
+    }
+}
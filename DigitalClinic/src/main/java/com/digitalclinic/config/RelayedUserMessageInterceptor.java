@@ -0,0 +1,30 @@
+package com.digitalclinic.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * A message for a user connected to another node goes out on the unresolved-user-destination
+ * topic and comes back to that node carrying the broker's headers, which Spring copies onto the
+ * message it then sends to the user's queue. Artemis marks what it delivers from a topic with
+ * destination-type MULTICAST and honours that header on a SEND, so the copy would be routed as
+ * multicast to an address that only has the user's anycast queue, and dropped. Registered on the
+ * broker channel in {@link WebSocketConfig} when relaying.
+ */
+class RelayedUserMessageInterceptor implements ChannelInterceptor {
+
+    private static final String DESTINATION_TYPE = "destination-type";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getFirstNativeHeader(DESTINATION_TYPE) == null) {
+            return message;
+        }
+        accessor.removeNativeHeader(DESTINATION_TYPE);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
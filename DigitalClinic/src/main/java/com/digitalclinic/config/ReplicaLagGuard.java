@@ -0,0 +1,47 @@
+package com.digitalclinic.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write within the replica's expected lag, so their
+ * read-only transactions go to the primary until the replica has caught up and they
+ * always see their own booking, cancellation or profile change. Kept per instance.
+ */
+public class ReplicaLagGuard {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaLagGuard(Duration maxLag, long maximumUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(maxLag)
+            .maximumSize(maximumUsers)
+            .build();
+    }
+
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    // Background work (schedulers, STOMP handlers) has no user and is never pinned
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
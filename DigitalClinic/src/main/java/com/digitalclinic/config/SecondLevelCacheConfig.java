@@ -0,0 +1,85 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the rarely changing entities (users, doctors, health pods
+ * and the pods' facilities and equipment) and for the distinct-value lookups. Every region is
+ * created here with its own size bound and time to live; Hibernate refuses to start if an entity
+ * or query asks for a region that is not listed, so nothing is ever cached without a bound.
+ *
+ * Writes go through the JPA repositories, so Hibernate updates or invalidates the cached entities
+ * and collections on commit and the query results whenever one of their tables changes.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Query cache region for DISTINCT city / specialization lists
+    public static final String REFERENCE_LOOKUPS_REGION = "reference-lookups";
+
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own per application context; the provider's default one is shared by the whole JVM
+        URI uri = URI.create("digital-clinic-l2-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        // Users also back every logged-in page through the principal cache, so they get the most room
+        createRegion(cacheManager, User.class.getName(), 10_000, Duration.ofMinutes(10));
+        createRegion(cacheManager, Doctor.class.getName(), 5_000, Duration.ofMinutes(30));
+        createRegion(cacheManager, HealthPod.class.getName(), 2_000, Duration.ofHours(1));
+        createRegion(cacheManager, HealthPod.class.getName() + ".facilities", 2_000, Duration.ofHours(1));
+        createRegion(cacheManager, HealthPod.class.getName() + ".equipment", 2_000, Duration.ofHours(1));
+
+        // A short time to live also bounds how long a result read from a lagging replica can survive
+        createRegion(cacheManager, REFERENCE_LOOKUPS_REGION, 100, Duration.ofMinutes(10));
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, 1_000, Duration.ofMinutes(5));
+
+        // One entry per table; evicting one would only cost a query-cache miss, but never let it expire first
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // maximumSize 0 means unbounded, a null timeToLive means entries never expire
+    private static void createRegion(CacheManager cacheManager, String region, long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
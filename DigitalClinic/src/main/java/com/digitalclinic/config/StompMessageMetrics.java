@@ -0,0 +1,56 @@
+package com.digitalclinic.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every client message handled by a @MessageMapping method, tagged with its destination
+ * (e.g. /app/consultation.join). Registered on the inbound channel in {@link WebSocketConfig}.
+ */
+@Component
+public class StompMessageMetrics implements ExecutorChannelInterceptor {
+
+    public static final String METER_NAME = "clinic.stomp.messages";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Handlers run on the channel's executor thread between these two callbacks
+    private final ThreadLocal<Timer.Sample> sample = new ThreadLocal<>();
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (handler instanceof SimpAnnotationMethodMessageHandler && destination(message) != null) {
+            sample.set(Timer.start(meterRegistry));
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Timer.Sample started = sample.get();
+        if (started == null) {
+            return;
+        }
+        sample.remove();
+        started.stop(Timer.builder(METER_NAME)
+            .description("Handling time of client STOMP messages per application destination")
+            .tag("destination", destination(message))
+            .tag("outcome", ex == null ? "success" : "error")
+            .register(meterRegistry));
+    }
+
+    // Only application destinations are timed; subscriptions and broker traffic are not handler calls
+    private static String destination(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return destination != null && destination.startsWith("/app/") ? destination : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.service.ConsultationPresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every inbound frame, heart-beats included, as a sign of life of its session for
+ * {@link ConsultationPresenceService}. Registered on the inbound channel in {@link WebSocketConfig}.
+ */
+@Component
+public class StompPresenceInterceptor implements ChannelInterceptor {
+
+    // Lazy: the service sends through the broker this interceptor is part of
+    @Lazy
+    @Autowired
+    private ConsultationPresenceService presenceService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            presenceService.touch(sessionId);
+        }
+        return message;
+    }
+}
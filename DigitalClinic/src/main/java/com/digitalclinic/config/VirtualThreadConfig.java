@@ -0,0 +1,167 @@
+package com.digitalclinic.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in (clinic.virtual-threads.enabled=true) execution mode that runs Tomcat request handling,
+ * the STOMP inbound/outbound channels and @Async methods on virtual threads. Nothing here caps
+ * concurrency: blocking work queues on the Hikari pool, whose size stays the real limit.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clinic.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final VirtualThreadChannelExecutor inboundChannelExecutor;
+    private final VirtualThreadChannelExecutor outboundChannelExecutor;
+
+    public VirtualThreadConfig() {
+        // Asked for explicitly, so refuse to start rather than silently stay on platform threads
+        if (!VirtualThreads.isSupported()) {
+            throw new RuntimeException("clinic.virtual-threads.enabled=true needs Java 21 or newer, running on "
+                + Runtime.version());
+        }
+        inboundChannelExecutor = new VirtualThreadChannelExecutor("stomp-inbound-vt-");
+        outboundChannelExecutor = new VirtualThreadChannelExecutor("stomp-outbound-vt-");
+        log.info("Request handling, STOMP channels and @Async work run on virtual threads");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    // Picked up by @Async in place of Boot's pooled applicationTaskExecutor
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor" })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("async-vt-"));
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(inboundChannelExecutor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(outboundChannelExecutor);
+    }
+
+    // Boot's executor metrics only cover thread pools; these take their place under the same names
+    @Bean
+    public MeterBinder virtualThreadChannelExecutorMetrics() {
+        return registry -> {
+            inboundChannelExecutor.bindTo(registry, "clientInboundChannelExecutor");
+            outboundChannelExecutor.bindTo(registry, "clientOutboundChannelExecutor");
+        };
+    }
+
+    /**
+     * The STOMP channel registration only accepts a ThreadPoolTaskExecutor, but no pool is ever
+     * created: every task runs on a virtual thread of its own, so nothing queues and the active
+     * count is the thread count.
+     */
+    static final class VirtualThreadChannelExecutor extends ThreadPoolTaskExecutor {
+
+        private final ExecutorService delegate;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+
+        VirtualThreadChannelExecutor(String namePrefix) {
+            this.delegate = VirtualThreads.newThreadPerTaskExecutor(namePrefix);
+            setThreadNamePrefix(namePrefix);
+        }
+
+        // Shut down along with the bean instead of a platform pool
+        @Override
+        protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+            return delegate;
+        }
+
+        // There is no pool to report on; callers fall back to the counts below
+        @Override
+        public ThreadPoolExecutor getThreadPoolExecutor() {
+            return null;
+        }
+
+        @Override
+        public int getActiveCount() {
+            return active.get();
+        }
+
+        @Override
+        public int getPoolSize() {
+            return active.get();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(counted(task));
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(counted(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(() -> {
+                active.incrementAndGet();
+                try {
+                    return task.call();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                }
+            });
+        }
+
+        void bindTo(MeterRegistry registry, String name) {
+            Gauge.builder("executor.active", active, AtomicInteger::get).tag("name", name)
+                .description("Tasks running on virtual threads").register(registry);
+            Gauge.builder("executor.pool.size", active, AtomicInteger::get).tag("name", name)
+                .description("Virtual threads alive, one per running task").register(registry);
+            Gauge.builder("executor.queued", () -> 0).tag("name", name)
+                .description("Tasks waiting for a thread; never any on virtual threads").register(registry);
+            FunctionCounter.builder("executor.completed", completed, AtomicLong::get).tag("name", name)
+                .description("Tasks that have finished").register(registry);
+        }
+
+        private Runnable counted(Runnable task) {
+            return () -> {
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                }
+            };
+        }
+    }
+}
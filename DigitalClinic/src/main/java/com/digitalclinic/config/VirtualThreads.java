@@ -0,0 +1,38 @@
+package com.digitalclinic.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread executors looked up reflectively, so the code still compiles for Java 17
+ * and only needs a Java 21 runtime when the virtual-thread mode is switched on.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // One new virtual thread per task, named prefix0, prefix1, ...
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Virtual threads require Java 21 or newer, running on " + Runtime.version(), e);
+        }
+    }
+}
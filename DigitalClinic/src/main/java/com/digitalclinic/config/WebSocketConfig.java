@@ -1,19 +1,100 @@
 // config/WebSocketConfig.java
 package com.digitalclinic.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private StompMessageMetrics stompMessageMetrics;
+
+    @Autowired
+    private StompPresenceInterceptor stompPresenceInterceptor;
+
+    // Defined by the broker configuration itself, hence lazy
+    @Lazy
+    @Autowired
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${clinic.presence.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    // simple: in-memory broker, single node only; relay: external STOMP broker; embedded: relay to an in-process broker
+    @Value("${clinic.stomp.broker:simple}")
+    private String brokerMode;
+
+    @Value("${clinic.stomp.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${clinic.stomp.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${clinic.stomp.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${clinic.stomp.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${clinic.stomp.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${clinic.stomp.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${clinic.stomp.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${clinic.stomp.relay.max-connections:2000}")
+    private int relayMaxConnections;
+
+    @Value("${clinic.stomp.relay.pending-acquire-timeout-ms:5000}")
+    private long relayPendingAcquireTimeoutMillis;
+
+    @Value("${clinic.stomp.relay.io-threads:0}")
+    private int relayIoThreads;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("simple".equals(brokerMode)) {
+            // Heart-beats both ways: clients show up as alive while idle, and dead sockets are closed by the broker
+            config.enableSimpleBroker("/topic", "/queue")
+                  .setHeartbeatValue(new long[] {heartbeatMillis, heartbeatMillis})
+                  .setTaskScheduler(messageBrokerTaskScheduler);
+        } else if ("relay".equals(brokerMode) || "embedded".equals(brokerMode)) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                  .setRelayHost(relayHost)
+                  .setRelayPort(relayPort)
+                  .setClientLogin(relayClientLogin)
+                  .setClientPasscode(relayClientPasscode)
+                  .setSystemLogin(relaySystemLogin)
+                  .setSystemPasscode(relaySystemPasscode)
+                  .setSystemHeartbeatSendInterval(heartbeatMillis)
+                  .setSystemHeartbeatReceiveInterval(heartbeatMillis)
+                  // Lets /user destinations reach a user connected to another node
+                  .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                  .setUserRegistryBroadcast("/topic/simp-user-registry")
+                  .setTcpClient(PooledRelayTcpClient.create(relayHost, relayPort, relayMaxConnections,
+                      Duration.ofMillis(relayPendingAcquireTimeoutMillis), relayIoThreads));
+            config.configureBrokerChannel().interceptors(new RelayedUserMessageInterceptor());
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            throw new RuntimeException("Unknown clinic.stomp.broker: " + brokerMode + " (use simple, relay or embedded)");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -24,4 +105,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompMessageMetrics, stompPresenceInterceptor);
+    }
+}
@@ -1,5 +1,9 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.config.CurrentPrincipal;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.dto.DashboardStatistics;
 import com.digitalclinic.model.*;
 import com.digitalclinic.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,14 +14,20 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/admin")
 public class AdminController {
     
+    private static final int ADMIN_APPOINTMENTS_LIMIT = 100;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private CurrentPrincipal currentPrincipal;
+    
     @Autowired
     private PatientService patientService;
     
@@ -33,34 +43,34 @@ public class AdminController {
     @Autowired
     private VideoConsultationService videoConsultationService;
     
+    @Autowired
+    private ConsultationMessageService consultationMessageService;
+    
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+    
+    @Autowired
+    private StatisticsService statisticsService;
+    
+    @Autowired
+    private MetricsOverviewService metricsOverviewService;
+    
     // Admin Dashboard
     @GetMapping("/dashboard")
-    public String adminDashboard(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+    public String adminDashboard(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
         
-        // Statistics
-        long totalPatients = patientService.getTotalPatients();
-        long totalDoctors = doctorService.getTotalDoctors();
-        long verifiedDoctors = doctorService.getVerifiedDoctorsCount();
-        long totalPods = healthPodService.getActivePodsCount();
-        long totalAppointments = appointmentService.getTotalAppointmentsCount();
-        long completedAppointments = appointmentService.getCompletedAppointmentsCount();
-        long totalConsultations = videoConsultationService.getTotalConsultations();
+        // Counters come from the cached snapshot, not from one query per card
+        DashboardStatistics statistics = dashboardStatisticsService.getStatistics();
         
         // Recent activities
-        List<Appointment> recentAppointments = appointmentService.getPatientAppointments(1L).subList(0, 
-            Math.min(5, appointmentService.getPatientAppointments(1L).size()));
+        List<AppointmentListItem> recentAppointments = appointmentService.getRecentAppointments(5);
         List<Doctor> pendingVerifications = doctorService.getPendingVerifications();
         
         model.addAttribute("user", user);
-        model.addAttribute("totalPatients", totalPatients);
-        model.addAttribute("totalDoctors", totalDoctors);
-        model.addAttribute("verifiedDoctors", verifiedDoctors);
-        model.addAttribute("totalPods", totalPods);
-        model.addAttribute("totalAppointments", totalAppointments);
-        model.addAttribute("completedAppointments", completedAppointments);
-        model.addAttribute("totalConsultations", totalConsultations);
+        addStatistics(model, statistics);
+        model.addAttribute("verifiedDoctors", statistics.getVerifiedDoctors());
+        model.addAttribute("totalPods", statistics.getActivePods());
         model.addAttribute("recentAppointments", recentAppointments);
         model.addAttribute("pendingVerifications", pendingVerifications);
         model.addAttribute("title", "Admin Dashboard");
@@ -234,8 +244,7 @@ public class AdminController {
     // Appointments Management
     @GetMapping("/appointments")
     public String appointmentsManagement(Model model) {
-        // In real app, this would fetch all appointments with pagination
-        List<Appointment> appointments = appointmentService.getPatientAppointments(1L); // Sample
+        List<AppointmentListItem> appointments = appointmentService.getRecentAppointments(ADMIN_APPOINTMENTS_LIMIT);
         model.addAttribute("appointments", appointments);
         model.addAttribute("title", "Appointments Management");
         return "admin/appointments";
@@ -244,25 +253,45 @@ public class AdminController {
     // System Analytics
     @GetMapping("/analytics")
     public String systemAnalytics(Model model) {
-        // Statistics for analytics
-        long totalPatients = patientService.getTotalPatients();
-        long totalDoctors = doctorService.getTotalDoctors();
-        long totalAppointments = appointmentService.getTotalAppointmentsCount();
-        long completedAppointments = appointmentService.getCompletedAppointmentsCount();
-        long totalConsultations = videoConsultationService.getTotalConsultations();
-        long activeConsultations = videoConsultationService.getActiveConsultationsCount();
-        
-        model.addAttribute("totalPatients", totalPatients);
-        model.addAttribute("totalDoctors", totalDoctors);
-        model.addAttribute("totalAppointments", totalAppointments);
-        model.addAttribute("completedAppointments", completedAppointments);
-        model.addAttribute("totalConsultations", totalConsultations);
-        model.addAttribute("activeConsultations", activeConsultations);
+        addStatistics(model, dashboardStatisticsService.getStatistics());
         model.addAttribute("title", "System Analytics");
         
         return "admin/analytics";
     }
     
+    // Latencies, connection pools, STOMP channels and Hibernate counters
+    @GetMapping("/metrics")
+    public String systemMetrics(Model model) {
+        model.addAttribute("user", currentPrincipal.getUser());
+        model.addAttribute("metrics", metricsOverviewService.getOverview());
+        model.addAttribute("title", "System Metrics");
+        return "admin/metrics";
+    }
+    
+    // Appointment and consultation counts per status
+    @GetMapping("/statistics/status-breakdown")
+    @ResponseBody
+    public Map<String, Object> statusBreakdown() {
+        return statisticsService.getStatusBreakdown();
+    }
+    
+    // Chat write-behind pipeline health
+    @GetMapping("/chat-pipeline")
+    @ResponseBody
+    public Map<String, Object> chatPipelineStats() {
+        return consultationMessageService.getPipelineStats();
+    }
+    
+    private static void addStatistics(Model model, DashboardStatistics statistics) {
+        model.addAttribute("statistics", statistics);
+        model.addAttribute("totalPatients", statistics.getTotalPatients());
+        model.addAttribute("totalDoctors", statistics.getTotalDoctors());
+        model.addAttribute("totalAppointments", statistics.getTotalAppointments());
+        model.addAttribute("completedAppointments", statistics.getCompletedAppointments());
+        model.addAttribute("totalConsultations", statistics.getTotalConsultations());
+        model.addAttribute("activeConsultations", statistics.getActiveConsultations());
+    }
+    
     // System Settings
     @GetMapping("/settings")
     public String systemSettings(Model model) {
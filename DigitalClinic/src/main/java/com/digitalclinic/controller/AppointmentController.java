@@ -1,8 +1,21 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.config.CurrentPrincipal;
+import com.digitalclinic.dto.PrincipalContext.DoctorSnapshot;
+import com.digitalclinic.dto.PrincipalContext.PatientSnapshot;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.dto.AvailableSlot;
+import com.digitalclinic.dto.BookingDirectory;
+import com.digitalclinic.dto.KeysetPage;
 import com.digitalclinic.model.*;
 import com.digitalclinic.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -33,27 +46,43 @@ public class AppointmentController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private AvailabilityService availabilityService;
+    
+    @Autowired
+    private CurrentPrincipal currentPrincipal;
+    
+    @Autowired
+    private BookingDirectoryService bookingDirectoryService;
+    
     // Patient appointment management
     @GetMapping
-    public String listAppointments(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+    public String listAppointments(@RequestParam(required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                   @RequestParam(required = false) Long beforeId,
+                                   @RequestParam(defaultValue = "" + AppointmentService.DEFAULT_PAGE_SIZE) int size,
+                                   Authentication authentication, Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
         
         if (user.getRole().equals("PATIENT")) {
-            Patient patient = patientService.getPatientByEmail(email).orElseThrow();
-            List<Appointment> appointments = appointmentService.getPatientAppointments(patient.getUser().getId());
+            PatientSnapshot patient = currentPrincipal.getPatient();
+            KeysetPage<AppointmentListItem> page = appointmentService.getPatientAppointmentsPage(patient.getId(), before, beforeId, size);
             
-            model.addAttribute("appointments", appointments);
+            model.addAttribute("appointments", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("title", "My Appointments");
             model.addAttribute("user", user);
             model.addAttribute("patient", patient);
             
             return "appointments/patient-list";
         } else if (user.getRole().equals("DOCTOR")) {
-            Doctor doctor = doctorService.getDoctorByEmail(email).orElseThrow();
-            List<Appointment> appointments = appointmentService.getDoctorAppointments(doctor.getUser().getId());
+            DoctorSnapshot doctor = currentPrincipal.getDoctor();
+            KeysetPage<AppointmentListItem> page = appointmentService.getDoctorAppointmentsPage(doctor.getId(), before, beforeId, size);
             
-            model.addAttribute("appointments", appointments);
+            model.addAttribute("appointments", page.getItems());
+            model.addAttribute("page", page);
+            model.addAttribute("todayAppointments", appointmentService.getDoctorDayItems(doctor.getId(), LocalDate.now()));
+            model.addAttribute("appointmentCounts", appointmentService.getDoctorAppointmentCounts(doctor.getId()));
             model.addAttribute("title", "My Appointments");
             model.addAttribute("user", user);
             model.addAttribute("doctor", doctor);
@@ -69,31 +98,62 @@ public class AppointmentController {
                                         @RequestParam(required = false) Long doctorId,
                                         Authentication authentication,
                                         Model model) {
-        String email = authentication.getName();
-        Patient patient = patientService.getPatientByEmail(email).orElseThrow();
+        PatientSnapshot patient = currentPrincipal.getPatient();
         
-        List<Doctor> doctors = doctorService.getAllVerifiedDoctors();
-        List<HealthPod> healthPods = healthPodService.getAllActivePods();
+        // Doctors and pods come from the precomputed directory, not from the database
+        BookingDirectory directory = bookingDirectoryService.getDirectory();
         
         model.addAttribute("appointment", new Appointment());
-        model.addAttribute("doctors", doctors);
-        model.addAttribute("healthPods", healthPods);
+        model.addAttribute("doctors", directory.getDoctors());
+        model.addAttribute("healthPods", directory.getPods());
         model.addAttribute("patient", patient);
         model.addAttribute("title", "Book Appointment");
         
         // Pre-select if parameters provided
         if (podId != null) {
-            HealthPod selectedPod = healthPodService.getPodById(podId).orElse(null);
-            model.addAttribute("selectedPod", selectedPod);
+            directory.getPods().stream().filter(pod -> pod.getId().equals(podId)).findFirst()
+                .ifPresent(pod -> model.addAttribute("selectedPod", pod));
         }
         if (doctorId != null) {
-            Doctor selectedDoctor = doctorService.getDoctorById(doctorId).orElse(null);
-            model.addAttribute("selectedDoctor", selectedDoctor);
+            directory.getDoctors().stream().filter(doctor -> doctor.getId().equals(doctorId)).findFirst()
+                .ifPresent(doctor -> model.addAttribute("selectedDoctor", doctor));
         }
         
         return "appointments/book";
     }
     
+    // Same directory as the booking form for pod terminals; unchanged data costs a 304 and no body
+    @GetMapping("/directory")
+    public ResponseEntity<byte[]> bookingDirectory(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                   String acceptEncoding) {
+        BookingDirectoryService.Snapshot snapshot = bookingDirectoryService.getSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(snapshot.getGzipEtag())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(snapshot.getGzip());
+        }
+        return response.eTag(snapshot.getEtag()).body(snapshot.getJson());
+    }
+    
+    // Earliest free slots, e.g. ?specialization=Cardiologist&days=7&limit=10
+    @GetMapping("/availability")
+    @ResponseBody
+    public List<AvailableSlot> availability(@RequestParam(required = false) String specialization,
+                                            @RequestParam(required = false) Long doctorId,
+                                            @RequestParam(required = false) Long podId,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(defaultValue = "7") int days,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        LocalDateTime start = from != null ? from.atStartOfDay() : LocalDateTime.now();
+        int searchDays = Math.max(1, Math.min(days, AvailabilityService.MAX_SEARCH_DAYS));
+        return availabilityService.findEarliestSlots(specialization, doctorId, podId, start, start.plusDays(searchDays), limit);
+    }
+    
     @PostMapping("/book")
     public String bookAppointment(@RequestParam String appointmentDate,
                                 @RequestParam String appointmentTime,
@@ -139,7 +199,7 @@ public class AppointmentController {
             }
             
             // Validate appointment time
-            if (appointment.getAppointmentDateTime().isBefore(LocalDateTime.now().plusHours(1))) {
+            if (appointment.getAppointmentDateTime().isBefore(LocalDateTime.now().plusMinutes(AvailabilityService.MIN_LEAD_MINUTES))) {
                 throw new RuntimeException("Appointment must be scheduled at least 1 hour in advance");
             }
             
@@ -161,7 +221,7 @@ public class AppointmentController {
     @GetMapping("/{id}")
     public String viewAppointment(@PathVariable Long id, Authentication authentication, Model model) {
         String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+        UserSnapshot user = currentPrincipal.getUser();
         Appointment appointment = appointmentService.getAppointmentById(id).orElseThrow();
         
         // Check if user has access to this appointment
@@ -179,10 +239,10 @@ public class AppointmentController {
         model.addAttribute("user", user);
         
         if (user.getRole().equals("PATIENT")) {
-            model.addAttribute("patient", patientService.getPatientByEmail(email).orElseThrow());
+            model.addAttribute("patient", currentPrincipal.getPatient());
             return "appointments/patient-details";
         } else {
-            model.addAttribute("doctor", doctorService.getDoctorByEmail(email).orElseThrow());
+            model.addAttribute("doctor", currentPrincipal.getDoctor());
             return "appointments/doctor-details";
         }
     }
@@ -260,4 +320,17 @@ public class AppointmentController {
         }
         return "redirect:/appointments/" + id;
     }
-}
\ No newline at end of file
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
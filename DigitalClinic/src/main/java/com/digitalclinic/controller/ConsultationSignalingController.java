@@ -0,0 +1,273 @@
+package com.digitalclinic.controller;
+
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
+import com.digitalclinic.model.ConsultationMessage;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.service.ConsultationMessageService;
+import com.digitalclinic.service.ConsultationPresenceService;
+import com.digitalclinic.service.ConsultationRoomRegistry;
+import com.digitalclinic.service.ConsultationRoomRegistry.Participant;
+import com.digitalclinic.service.ConsultationRoomRegistry.Room;
+import com.digitalclinic.service.PrincipalContextCache;
+import com.digitalclinic.service.VideoConsultationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Signaling hub for the /app/consultation.* destinations used by the video call pages
+@Controller
+public class ConsultationSignalingController {
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ConsultationRoomRegistry roomRegistry;
+
+    @Autowired
+    private VideoConsultationService videoConsultationService;
+
+    @Autowired
+    private ConsultationPresenceService presenceService;
+
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+
+    @Autowired
+    private ConsultationMessageService consultationMessageService;
+
+    @MessageMapping("consultation.join")
+    public void join(@Payload Map<String, Object> payload, Principal principal, SimpMessageHeaderAccessor headers) {
+        String roomId = requireRoomId(payload);
+        String email = requirePrincipal(principal).getName();
+
+        // Joining is the only signaling step that reads the database; every later message is served from memory
+        VideoConsultation consultation = videoConsultationService.getVideoConsultationByRoomId(roomId)
+            .orElseThrow(() -> new RuntimeException("Video consultation not found"));
+        UserSnapshot user = principalContextCache.get(email).orElseThrow(() -> new RuntimeException("User not found")).getUser();
+
+        String userType = participantType(consultation, email);
+        if (userType == null) {
+            throw new RuntimeException("Access denied to this consultation");
+        }
+        // Same rule as opening the call page; a reconnecting socket must not revive a finished or cancelled call
+        if (!videoConsultationService.canJoinConsultation(consultation)) {
+            throw new RuntimeException("Consultation cannot be joined at this time");
+        }
+
+        Object requestedName = payload.get("userName");
+        String userName = requestedName != null && !requestedName.toString().isBlank()
+            ? requestedName.toString() : user.getFullName();
+
+        presenceService.join(consultation, new Participant(headers.getSessionId(), email, user.getId(), userType, userName));
+    }
+
+    @MessageMapping("consultation.webrtc.offer")
+    public void relayOffer(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        relayToPeer(payload, headers.getSessionId(), "/queue/webrtc.offer");
+    }
+
+    @MessageMapping("consultation.webrtc.answer")
+    public void relayAnswer(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        relayToPeer(payload, headers.getSessionId(), "/queue/webrtc.answer");
+    }
+
+    @MessageMapping("consultation.webrtc.ice-candidate")
+    public void relayIceCandidate(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        relayToPeer(payload, headers.getSessionId(), "/queue/webrtc.ice-candidate");
+    }
+
+    @MessageMapping("consultation.chat")
+    public void chat(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        Room room = requireRoom(payload);
+        Participant sender = requireParticipant(room, headers.getSessionId());
+
+        Object content = payload.get("content");
+        if (content == null || content.toString().isBlank()) {
+            return;
+        }
+
+        ConsultationMessage.MessageType messageType = messageType(payload.get("messageType"));
+        LocalDateTime sentAt = LocalDateTime.now();
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("roomId", room.getRoomId());
+        message.put("senderId", sender.getUserId());
+        message.put("senderType", sender.getUserType());
+        message.put("senderName", sender.getUserName());
+        message.put("content", content.toString());
+        message.put("messageType", messageType.name());
+        message.put("timestamp", sentAt.atZone(ZoneId.systemDefault()).toInstant().toString());
+
+        // Fan out first, persistence happens behind the subscribers' backs
+        messagingTemplate.convertAndSend(topic(room, "chat"), message);
+        consultationMessageService.recordMessage(room.getConsultationId(), sender.getUserId(), sender.getUserType(),
+            sender.getUserName(), content.toString(), messageType, sentAt);
+    }
+
+    @MessageMapping("consultation.media.toggle")
+    public void toggleMedia(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        Room room = requireRoom(payload);
+        Participant sender = requireParticipant(room, headers.getSessionId());
+
+        String mediaType = String.valueOf(payload.get("mediaType"));
+        boolean enabled = Boolean.parseBoolean(String.valueOf(payload.get("enabled")));
+        if ("video".equals(mediaType)) {
+            sender.setVideoEnabled(enabled);
+        } else if ("audio".equals(mediaType)) {
+            sender.setAudioEnabled(enabled);
+        } else {
+            throw new RuntimeException("Unknown media type: " + mediaType);
+        }
+
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("userId", String.valueOf(sender.getUserId()));
+        update.put("userType", sender.getUserType());
+        update.put("mediaType", mediaType);
+        update.put("enabled", enabled);
+        messagingTemplate.convertAndSend(topic(room, "media"), update);
+    }
+
+    @MessageMapping("consultation.status.update")
+    public void updateStatus(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        Room room = requireRoom(payload);
+        Participant sender = requireDoctor(room, headers.getSessionId());
+
+        VideoConsultation.ConsultationStatus status;
+        try {
+            status = VideoConsultation.ConsultationStatus.valueOf(String.valueOf(payload.get("status")));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid consultation status");
+        }
+
+        videoConsultationService.updateConsultationStatus(room.getConsultationId(), status);
+
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("status", status.name());
+        update.put("updatedBy", sender.getUserName());
+        messagingTemplate.convertAndSend(topic(room, "status"), update);
+    }
+
+    @MessageMapping("consultation.end")
+    public void end(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headers) {
+        Room room = requireRoom(payload);
+        Participant sender = requireDoctor(room, headers.getSessionId());
+
+        // The doctor page submits the completion form itself once it receives this message
+        Map<String, Object> ended = new LinkedHashMap<>();
+        ended.put("roomId", room.getRoomId());
+        ended.put("endedBy", sender.getUserType());
+        ended.put("endedByUser", sender.getUserName());
+        messagingTemplate.convertAndSend(topic(room, "end"), ended);
+
+        roomRegistry.closeRoom(room.getRoomId());
+    }
+
+    @MessageMapping("consultation.leave")
+    public void leave(SimpMessageHeaderAccessor headers) {
+        presenceService.leave(headers.getSessionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        presenceService.leave(event.getSessionId());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public Map<String, Object> handleError(Exception e) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", e.getMessage() != null ? e.getMessage() : "Unexpected signaling error");
+        return error;
+    }
+
+    private void relayToPeer(Map<String, Object> payload, String sessionId, String queue) {
+        Room room = requireRoom(payload);
+        Participant sender = requireParticipant(room, sessionId);
+
+        Object targetUserId = payload.get("targetUserId");
+        String target = (targetUserId != null
+                ? room.findByUserId(targetUserId.toString())
+                : room.findPeer(sessionId))
+            .map(Participant::getPrincipalName)
+            // Not connected to this node, possibly to another one: the user destination reaches it
+            // there through the broker, or nowhere if it has not joined yet
+            .or(() -> room.findCounterpartPrincipal(sender.getUserType()))
+            .orElseThrow(() -> new RuntimeException("This consultation has no other participant"));
+
+        Map<String, Object> relayed = new LinkedHashMap<>(payload);
+        relayed.put("fromUserId", String.valueOf(sender.getUserId()));
+        relayed.put("fromUserType", sender.getUserType());
+        messagingTemplate.convertAndSendToUser(target, queue, relayed);
+    }
+
+    private Room requireRoom(Map<String, Object> payload) {
+        String roomId = requireRoomId(payload);
+        return roomRegistry.getRoom(roomId)
+            .orElseThrow(() -> new RuntimeException("Join the consultation before sending messages"));
+    }
+
+    private Participant requireParticipant(Room room, String sessionId) {
+        return room.findBySession(sessionId)
+            .orElseThrow(() -> new RuntimeException("Join the consultation before sending messages"));
+    }
+
+    private Participant requireDoctor(Room room, String sessionId) {
+        Participant participant = requireParticipant(room, sessionId);
+        if (!"DOCTOR".equals(participant.getUserType())) {
+            throw new RuntimeException("Only the doctor can do this");
+        }
+        return participant;
+    }
+
+    private static String requireRoomId(Map<String, Object> payload) {
+        Object roomId = payload.get("roomId");
+        if (roomId == null || roomId.toString().isBlank()) {
+            throw new RuntimeException("roomId is required");
+        }
+        return roomId.toString();
+    }
+
+    private static Principal requirePrincipal(Principal principal) {
+        if (principal == null) {
+            throw new RuntimeException("Authentication required");
+        }
+        return principal;
+    }
+
+    private static String participantType(VideoConsultation consultation, String email) {
+        for (Map.Entry<String, String> member : ConsultationPresenceService.members(consultation).entrySet()) {
+            if (email.equals(member.getValue())) {
+                return member.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static ConsultationMessage.MessageType messageType(Object requested) {
+        if (requested != null) {
+            for (ConsultationMessage.MessageType type : ConsultationMessage.MessageType.values()) {
+                if (type.name().equals(requested.toString())) {
+                    return type;
+                }
+            }
+        }
+        return ConsultationMessage.MessageType.TEXT;
+    }
+
+    private static String topic(Room room, String suffix) {
+        return "/topic/consultation." + room.getRoomId() + "." + suffix;
+    }
+}
@@ -1,14 +1,24 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.config.CurrentPrincipal;
+import com.digitalclinic.dto.PrincipalContext.DoctorSnapshot;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
 import com.digitalclinic.model.Doctor;
 import com.digitalclinic.model.User;
+import com.digitalclinic.service.DoctorScheduleService;
 import com.digitalclinic.service.DoctorService;
+import com.digitalclinic.service.HealthPodService;
 import com.digitalclinic.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Controller
 @RequestMapping("/doctor")
@@ -20,11 +30,19 @@ public class DoctorController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DoctorScheduleService doctorScheduleService;
+    
+    @Autowired
+    private HealthPodService healthPodService;
+    
+    @Autowired
+    private CurrentPrincipal currentPrincipal;
+    
     @GetMapping("/dashboard")
-    public String doctorDashboard(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Doctor doctor = doctorService.getDoctorByEmail(email).orElseThrow();
+    public String doctorDashboard(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        DoctorSnapshot doctor = currentPrincipal.getDoctor();
         
         model.addAttribute("user", user);
         model.addAttribute("doctor", doctor);
@@ -33,10 +51,9 @@ public class DoctorController {
     }
     
     @GetMapping("/profile")
-    public String viewProfile(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Doctor doctor = doctorService.getDoctorByEmail(email).orElseThrow();
+    public String viewProfile(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        DoctorSnapshot doctor = currentPrincipal.getDoctor();
         
         model.addAttribute("user", user);
         model.addAttribute("doctor", doctor);
@@ -45,10 +62,9 @@ public class DoctorController {
     }
     
     @GetMapping("/profile/edit")
-    public String editProfileForm(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Doctor doctor = doctorService.getDoctorByEmail(email).orElseThrow();
+    public String editProfileForm(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        DoctorSnapshot doctor = currentPrincipal.getDoctor();
         
         model.addAttribute("user", user);
         model.addAttribute("doctor", doctor);
@@ -75,4 +91,71 @@ public class DoctorController {
         
         return "redirect:/doctor/profile?success=true";
     }
+    
+    // Working hours and leave, read by the availability search
+    @GetMapping("/schedule")
+    public String schedule(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        DoctorSnapshot doctor = currentPrincipal.getDoctor();
+        
+        model.addAttribute("user", user);
+        model.addAttribute("doctor", doctor);
+        model.addAttribute("schedules", doctorScheduleService.getSchedule(doctor.getId()));
+        model.addAttribute("leaves", doctorScheduleService.getUpcomingLeaves(doctor.getId()));
+        model.addAttribute("healthPods", healthPodService.getAllActivePods());
+        model.addAttribute("daysOfWeek", DayOfWeek.values());
+        model.addAttribute("title", "My Schedule");
+        return "doctor/schedule";
+    }
+    
+    @PostMapping("/schedule/add")
+    public String addWorkingHours(@RequestParam DayOfWeek dayOfWeek,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+                                  @RequestParam(required = false) Long podId,
+                                  RedirectAttributes redirectAttributes) {
+        try {
+            doctorScheduleService.addWorkingHours(currentPrincipal.getDoctor().getId(), dayOfWeek, startTime, endTime, podId);
+            redirectAttributes.addFlashAttribute("success", "Working hours added");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to add working hours: " + e.getMessage());
+        }
+        return "redirect:/doctor/schedule";
+    }
+    
+    @PostMapping("/schedule/{id}/delete")
+    public String removeWorkingHours(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            doctorScheduleService.removeWorkingHours(currentPrincipal.getDoctor().getId(), id);
+            redirectAttributes.addFlashAttribute("success", "Working hours removed");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to remove working hours: " + e.getMessage());
+        }
+        return "redirect:/doctor/schedule";
+    }
+    
+    @PostMapping("/leave/add")
+    public String addLeave(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
+                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
+                           @RequestParam(required = false) String reason,
+                           RedirectAttributes redirectAttributes) {
+        try {
+            doctorScheduleService.addLeave(currentPrincipal.getDoctor().getId(), startDateTime, endDateTime, reason);
+            redirectAttributes.addFlashAttribute("success", "Leave added");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to add leave: " + e.getMessage());
+        }
+        return "redirect:/doctor/schedule";
+    }
+    
+    @PostMapping("/leave/{id}/delete")
+    public String removeLeave(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            doctorScheduleService.removeLeave(currentPrincipal.getDoctor().getId(), id);
+            redirectAttributes.addFlashAttribute("success", "Leave removed");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to remove leave: " + e.getMessage());
+        }
+        return "redirect:/doctor/schedule";
+    }
 }
\ No newline at end of file
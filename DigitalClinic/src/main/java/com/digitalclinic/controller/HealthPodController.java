@@ -1,5 +1,7 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.dto.NearbyPod;
+import com.digitalclinic.dto.PodLocation;
 import com.digitalclinic.model.HealthPod;
 import com.digitalclinic.service.HealthPodService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,11 +61,56 @@ public class HealthPodController {
     }
     
     @GetMapping("/near-me")
-    public String healthPodsNearMe(Model model) {
-        // For now, show all pods. Later we can implement location-based filtering
-        List<HealthPod> healthPods = healthPodService.getAllActivePods();
+    public String healthPodsNearMe(@RequestParam(required = false) Double lat,
+                                 @RequestParam(required = false) Double lng,
+                                 @RequestParam(required = false) Double radiusKm,
+                                 @RequestParam(defaultValue = "10") int limit,
+                                 @RequestParam(required = false) Boolean hasLab,
+                                 @RequestParam(required = false) Boolean hasPharmacy,
+                                 @RequestParam(defaultValue = "false") boolean openNow,
+                                 Model model) {
+        List<NearbyPod> healthPods;
+        if (lat != null && lng != null) {
+            healthPods = radiusKm != null
+                ? healthPodService.getPodsWithinRadius(lat, lng, radiusKm, hasLab, hasPharmacy, openNow)
+                : healthPodService.getNearestPods(lat, lng, limit, hasLab, hasPharmacy, openNow);
+            model.addAttribute("lat", lat);
+            model.addAttribute("lng", lng);
+        } else {
+            // No location shared yet: list every active pod without a distance
+            healthPods = healthPodService.getAllActivePods().stream()
+                .map(pod -> new NearbyPod(new PodLocation(pod), null))
+                .toList();
+        }
         model.addAttribute("healthPods", healthPods);
+        model.addAttribute("radiusKm", radiusKm);
+        model.addAttribute("hasLab", hasLab);
+        model.addAttribute("hasPharmacy", hasPharmacy);
+        model.addAttribute("openNow", openNow);
         model.addAttribute("title", "Health Pods Near You");
         return "health-pods/near-me";
     }
+    
+    // JSON lookups for the map and booking pages
+    @GetMapping("/api/nearest")
+    @ResponseBody
+    public List<NearbyPod> nearestPods(@RequestParam double lat,
+                                       @RequestParam double lng,
+                                       @RequestParam(defaultValue = "5") int limit,
+                                       @RequestParam(required = false) Boolean hasLab,
+                                       @RequestParam(required = false) Boolean hasPharmacy,
+                                       @RequestParam(defaultValue = "false") boolean openNow) {
+        return healthPodService.getNearestPods(lat, lng, limit, hasLab, hasPharmacy, openNow);
+    }
+    
+    @GetMapping("/api/within")
+    @ResponseBody
+    public List<NearbyPod> podsWithinRadius(@RequestParam double lat,
+                                            @RequestParam double lng,
+                                            @RequestParam double radiusKm,
+                                            @RequestParam(required = false) Boolean hasLab,
+                                            @RequestParam(required = false) Boolean hasPharmacy,
+                                            @RequestParam(defaultValue = "false") boolean openNow) {
+        return healthPodService.getPodsWithinRadius(lat, lng, radiusKm, hasLab, hasPharmacy, openNow);
+    }
 }
\ No newline at end of file
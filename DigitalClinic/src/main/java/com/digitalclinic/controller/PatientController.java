@@ -1,5 +1,8 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.config.CurrentPrincipal;
+import com.digitalclinic.dto.PrincipalContext.PatientSnapshot;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
 import com.digitalclinic.model.Patient;
 import com.digitalclinic.model.User;
 import com.digitalclinic.service.PatientService;
@@ -20,11 +23,13 @@ public class PatientController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private CurrentPrincipal currentPrincipal;
+    
     @GetMapping("/dashboard")
-    public String patientDashboard(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Patient patient = patientService.getPatientByEmail(email).orElseThrow();
+    public String patientDashboard(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        PatientSnapshot patient = currentPrincipal.getPatient();
         
         model.addAttribute("user", user);
         model.addAttribute("patient", patient);
@@ -33,10 +38,9 @@ public class PatientController {
     }
     
     @GetMapping("/profile")
-    public String viewProfile(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Patient patient = patientService.getPatientByEmail(email).orElseThrow();
+    public String viewProfile(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        PatientSnapshot patient = currentPrincipal.getPatient();
         
         model.addAttribute("user", user);
         model.addAttribute("patient", patient);
@@ -45,10 +49,9 @@ public class PatientController {
     }
     
     @GetMapping("/profile/edit")
-    public String editProfileForm(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Patient patient = patientService.getPatientByEmail(email).orElseThrow();
+    public String editProfileForm(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        PatientSnapshot patient = currentPrincipal.getPatient();
         
         model.addAttribute("user", user);
         model.addAttribute("patient", patient);
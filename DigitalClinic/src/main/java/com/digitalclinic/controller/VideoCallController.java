@@ -1,5 +1,9 @@
 package com.digitalclinic.controller;
 
+import com.digitalclinic.config.CurrentPrincipal;
+import com.digitalclinic.dto.PrincipalContext.DoctorSnapshot;
+import com.digitalclinic.dto.PrincipalContext.PatientSnapshot;
+import com.digitalclinic.dto.PrincipalContext.UserSnapshot;
 import com.digitalclinic.model.*;
 import com.digitalclinic.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +27,9 @@ public class VideoCallController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private CurrentPrincipal currentPrincipal;
+    
     @Autowired
     private PatientService patientService;
     
@@ -42,7 +49,7 @@ public class VideoCallController {
                                      Model model,
                                      RedirectAttributes redirectAttributes) {
         String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+        UserSnapshot user = currentPrincipal.getUser();
         
         if (!user.getRole().equals("PATIENT")) {
             redirectAttributes.addFlashAttribute("error", "Access denied");
@@ -68,12 +75,9 @@ public class VideoCallController {
                 return "redirect:/appointments/" + consultation.getAppointment().getId();
             }
             
-            // Update consultation status
-            videoConsultationService.patientJoined(consultation.getId());
-            
             model.addAttribute("consultation", consultation);
             model.addAttribute("user", user);
-            model.addAttribute("patient", patientService.getPatientByEmail(email).orElseThrow());
+            model.addAttribute("patient", currentPrincipal.getPatient());
             model.addAttribute("title", "Video Consultation - Waiting Room");
             
             return "video-call/patient-waiting";
@@ -90,7 +94,7 @@ public class VideoCallController {
                                     Model model,
                                     RedirectAttributes redirectAttributes) {
         String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+        UserSnapshot user = currentPrincipal.getUser();
         
         if (!user.getRole().equals("DOCTOR")) {
             redirectAttributes.addFlashAttribute("error", "Access denied");
@@ -117,12 +121,9 @@ public class VideoCallController {
                 return "redirect:/appointments/" + consultation.getAppointment().getId();
             }
             
-            // Update consultation status
-            videoConsultationService.doctorJoined(consultation.getId());
-            
             model.addAttribute("consultation", consultation);
             model.addAttribute("user", user);
-            model.addAttribute("doctor", doctorService.getDoctorByEmail(email).orElseThrow());
+            model.addAttribute("doctor", currentPrincipal.getDoctor());
             model.addAttribute("patient", consultation.getAppointment().getPatient());
             model.addAttribute("title", "Video Consultation - Doctor Panel");
             
@@ -140,7 +141,7 @@ public class VideoCallController {
                                    Model model,
                                    RedirectAttributes redirectAttributes) {
         String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+        UserSnapshot user = currentPrincipal.getUser();
         
         Optional<VideoConsultation> consultationOpt = 
             videoConsultationService.getVideoConsultationByRoomId(roomId);
@@ -169,10 +170,10 @@ public class VideoCallController {
             model.addAttribute("title", "Video Consultation");
             
             if (user.getRole().equals("PATIENT")) {
-                model.addAttribute("patient", patientService.getPatientByEmail(email).orElseThrow());
+                model.addAttribute("patient", currentPrincipal.getPatient());
                 return "video-call/patient-interface";
             } else {
-                model.addAttribute("doctor", doctorService.getDoctorByEmail(email).orElseThrow());
+                model.addAttribute("doctor", currentPrincipal.getDoctor());
                 model.addAttribute("patient", consultation.getAppointment().getPatient());
                 return "video-call/doctor-interface";
             }
@@ -226,12 +227,11 @@ public class VideoCallController {
     
     // Video consultations list for patients
     @GetMapping("/patient/consultations")
-    public String patientConsultations(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Patient patient = patientService.getPatientByEmail(email).orElseThrow();
+    public String patientConsultations(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        PatientSnapshot patient = currentPrincipal.getPatient();
         
-        var consultations = videoConsultationService.getPatientConsultations(patient.getUser().getId());
+        var consultations = videoConsultationService.getPatientConsultationItems(patient.getUser().getId());
         
         model.addAttribute("consultations", consultations);
         model.addAttribute("user", user);
@@ -243,12 +243,11 @@ public class VideoCallController {
     
     // Video consultations list for doctors
     @GetMapping("/doctor/consultations")
-    public String doctorConsultations(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
-        Doctor doctor = doctorService.getDoctorByEmail(email).orElseThrow();
+    public String doctorConsultations(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
+        DoctorSnapshot doctor = currentPrincipal.getDoctor();
         
-        var consultations = videoConsultationService.getDoctorConsultations(doctor.getUser().getId());
+        var consultations = videoConsultationService.getDoctorConsultationItems(doctor.getUser().getId());
         
         model.addAttribute("consultations", consultations);
         model.addAttribute("user", user);
@@ -260,9 +259,8 @@ public class VideoCallController {
     
     // Video call test page
     @GetMapping("/test")
-    public String videoTestPage(Authentication authentication, Model model) {
-        String email = authentication.getName();
-        User user = userService.findByEmail(email).orElseThrow();
+    public String videoTestPage(Model model) {
+        UserSnapshot user = currentPrincipal.getUser();
         
         model.addAttribute("user", user);
         model.addAttribute("title", "Video Call Test");
@@ -0,0 +1,56 @@
+package com.digitalclinic.controller;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.service.VideoConsultationService;
+import com.digitalclinic.service.WaitingRoomService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Check-in for the patient waiting room page; queue updates come back on /user/queue/waiting-room
+@Controller
+public class WaitingRoomController {
+
+    @Autowired
+    private VideoConsultationService videoConsultationService;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @MessageMapping("waiting-room.join")
+    public void join(@Payload Map<String, Object> payload, Principal principal, SimpMessageHeaderAccessor headers) {
+        if (principal == null) {
+            throw new RuntimeException("Authentication required");
+        }
+        Object roomId = payload.get("roomId");
+        if (roomId == null || roomId.toString().isBlank()) {
+            throw new RuntimeException("roomId is required");
+        }
+
+        VideoConsultation consultation = videoConsultationService.getVideoConsultationByRoomId(roomId.toString())
+            .orElseThrow(() -> new RuntimeException("Video consultation not found"));
+        Appointment appointment = consultation.getAppointment();
+        if (appointment == null || appointment.getPatient() == null ||
+            !principal.getName().equals(appointment.getPatient().getUser().getEmail())) {
+            throw new RuntimeException("Access denied to this consultation");
+        }
+
+        waitingRoomService.checkIn(appointment, headers.getSessionId(), principal.getName());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public Map<String, Object> handleError(Exception e) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", e.getMessage() != null ? e.getMessage() : "Unexpected waiting room error");
+        return error;
+    }
+}
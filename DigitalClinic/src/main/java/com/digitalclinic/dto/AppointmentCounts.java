@@ -0,0 +1,20 @@
+package com.digitalclinic.dto;
+
+// Totals for the stat cards above an appointment list, built directly by a JPQL constructor expression
+public class AppointmentCounts {
+
+    private final long total;
+    private final long upcoming;
+    private final long completed;
+
+    // The sums are null when there is no row to add up
+    public AppointmentCounts(Long total, Long upcoming, Long completed) {
+        this.total = total != null ? total : 0;
+        this.upcoming = upcoming != null ? upcoming : 0;
+        this.completed = completed != null ? completed : 0;
+    }
+
+    public long getTotal() { return total; }
+    public long getUpcoming() { return upcoming; }
+    public long getCompleted() { return completed; }
+}
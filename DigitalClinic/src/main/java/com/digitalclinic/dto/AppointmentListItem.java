@@ -0,0 +1,96 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.Appointment;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model for appointment list pages. Built by a JPQL constructor expression that
+ * joins patient, doctor and pod in the same statement, so a page of rows is a single query
+ * instead of one select per associated entity.
+ */
+public class AppointmentListItem {
+
+    // Select list matching the constructor below, shared by the repository queries
+    public static final String SELECT =
+        "SELECT new com.digitalclinic.dto.AppointmentListItem(a.id, a.appointmentDateTime, a.type, a.status, " +
+        "a.symptoms, a.consultationFee, p.id, pu.fullName, p.age, p.gender, d.id, du.fullName, d.specialization, " +
+        "h.id, h.name) " +
+        "FROM Appointment a JOIN a.patient p JOIN p.user pu " +
+        "LEFT JOIN a.doctor d LEFT JOIN d.user du LEFT JOIN a.healthPod h ";
+
+    private final Long id;
+    private final LocalDateTime appointmentDateTime;
+    private final Appointment.AppointmentType type;
+    private final Appointment.AppointmentStatus status;
+    private final String symptoms;
+    private final Double consultationFee;
+    private final Long patientId;
+    private final String patientName;
+    private final Integer patientAge;
+    private final String patientGender;
+    private final Long doctorId;
+    private final String doctorName;
+    private final String doctorSpecialization;
+    private final Long podId;
+    private final String podName;
+
+    public AppointmentListItem(Long id, LocalDateTime appointmentDateTime, Appointment.AppointmentType type,
+                               Appointment.AppointmentStatus status, String symptoms, Double consultationFee,
+                               Long patientId, String patientName, Integer patientAge, String patientGender,
+                               Long doctorId, String doctorName, String doctorSpecialization,
+                               Long podId, String podName) {
+        this.id = id;
+        this.appointmentDateTime = appointmentDateTime;
+        this.type = type;
+        this.status = status;
+        this.symptoms = symptoms;
+        this.consultationFee = consultationFee;
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.patientAge = patientAge;
+        this.patientGender = patientGender;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.doctorSpecialization = doctorSpecialization;
+        this.podId = podId;
+        this.podName = podName;
+    }
+
+    public Long getId() { return id; }
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+    public Appointment.AppointmentType getType() { return type; }
+    public Appointment.AppointmentStatus getStatus() { return status; }
+    public String getSymptoms() { return symptoms; }
+    public Double getConsultationFee() { return consultationFee; }
+    public Long getPatientId() { return patientId; }
+    public String getPatientName() { return patientName; }
+    public Integer getPatientAge() { return patientAge; }
+    public String getPatientGender() { return patientGender; }
+    public Long getDoctorId() { return doctorId; }
+    public String getDoctorName() { return doctorName; }
+    public String getDoctorSpecialization() { return doctorSpecialization; }
+    public Long getPodId() { return podId; }
+    public String getPodName() { return podName; }
+
+    // Same rules as the Appointment helpers the pages used before
+    public boolean isUpcoming() {
+        return (status == Appointment.AppointmentStatus.SCHEDULED || status == Appointment.AppointmentStatus.CONFIRMED)
+            && appointmentDateTime.isAfter(LocalDateTime.now());
+    }
+
+    public boolean isCompleted() {
+        return status == Appointment.AppointmentStatus.COMPLETED;
+    }
+
+    public boolean getCanBeCancelled() {
+        if (appointmentDateTime == null || status == null) {
+            return false;
+        }
+        return (status == Appointment.AppointmentStatus.SCHEDULED || status == Appointment.AppointmentStatus.CONFIRMED)
+            && appointmentDateTime.isAfter(LocalDateTime.now().plusHours(2));
+    }
+
+    public String getFormattedDateTime() {
+        return appointmentDateTime != null ? appointmentDateTime.toString() : "";
+    }
+}
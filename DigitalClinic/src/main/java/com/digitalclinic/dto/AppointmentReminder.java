@@ -0,0 +1,80 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.Appointment;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * What a reminder channel needs to tell a patient about an upcoming appointment. The JPQL
+ * constructor expression fills in the appointment; the reminder engine adds the kind.
+ */
+public class AppointmentReminder {
+
+    // Select list matching the constructor below
+    public static final String SELECT =
+        "SELECT new com.digitalclinic.dto.AppointmentReminder(a.id, a.appointmentDateTime, a.type, " +
+        "pu.fullName, pu.email, pu.phone, du.fullName, h.name, h.address) " +
+        "FROM Appointment a JOIN a.patient p JOIN p.user pu " +
+        "LEFT JOIN a.doctor d LEFT JOIN d.user du LEFT JOIN a.healthPod h ";
+
+    public enum Kind {
+        DAY_BEFORE(Duration.ofHours(24)), HOUR_BEFORE(Duration.ofHours(1));
+
+        private final Duration leadTime;
+
+        Kind(Duration leadTime) {
+            this.leadTime = leadTime;
+        }
+
+        public Duration getLeadTime() { return leadTime; }
+    }
+
+    private final Kind kind;
+    private final Long appointmentId;
+    private final LocalDateTime appointmentDateTime;
+    private final Appointment.AppointmentType type;
+    private final String patientName;
+    private final String patientEmail;
+    private final String patientPhone;
+    private final String doctorName;
+    private final String podName;
+    private final String podAddress;
+
+    public AppointmentReminder(Long appointmentId, LocalDateTime appointmentDateTime, Appointment.AppointmentType type,
+                               String patientName, String patientEmail, String patientPhone,
+                               String doctorName, String podName, String podAddress) {
+        this(null, appointmentId, appointmentDateTime, type, patientName, patientEmail, patientPhone,
+            doctorName, podName, podAddress);
+    }
+
+    private AppointmentReminder(Kind kind, Long appointmentId, LocalDateTime appointmentDateTime,
+                                Appointment.AppointmentType type, String patientName, String patientEmail,
+                                String patientPhone, String doctorName, String podName, String podAddress) {
+        this.kind = kind;
+        this.appointmentId = appointmentId;
+        this.appointmentDateTime = appointmentDateTime;
+        this.type = type;
+        this.patientName = patientName;
+        this.patientEmail = patientEmail;
+        this.patientPhone = patientPhone;
+        this.doctorName = doctorName;
+        this.podName = podName;
+        this.podAddress = podAddress;
+    }
+
+    public AppointmentReminder withKind(Kind kind) {
+        return new AppointmentReminder(kind, appointmentId, appointmentDateTime, type, patientName, patientEmail,
+            patientPhone, doctorName, podName, podAddress);
+    }
+
+    public Kind getKind() { return kind; }
+    public Long getAppointmentId() { return appointmentId; }
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+    public Appointment.AppointmentType getType() { return type; }
+    public String getPatientName() { return patientName; }
+    public String getPatientEmail() { return patientEmail; }
+    public String getPatientPhone() { return patientPhone; }
+    public String getDoctorName() { return doctorName; }
+    public String getPodName() { return podName; }
+    public String getPodAddress() { return podAddress; }
+}
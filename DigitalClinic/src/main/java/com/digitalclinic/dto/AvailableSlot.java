@@ -0,0 +1,48 @@
+package com.digitalclinic.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// One free, bookable slot of a doctor, optionally at a health pod
+public class AvailableSlot {
+
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("EEE dd MMM, hh:mm a");
+
+    private final Long doctorId;
+    private final String doctorName;
+    private final String specialization;
+    private final Double consultationFee;
+    private final Long podId;
+    private final String podName;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public AvailableSlot(Long doctorId, String doctorName, String specialization, Double consultationFee,
+                         Long podId, String podName, LocalDateTime start, LocalDateTime end) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.specialization = specialization;
+        this.consultationFee = consultationFee;
+        this.podId = podId;
+        this.podName = podName;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Long getDoctorId() { return doctorId; }
+    public String getDoctorName() { return doctorName; }
+    public String getSpecialization() { return specialization; }
+    public Double getConsultationFee() { return consultationFee; }
+    public Long getPodId() { return podId; }
+    public String getPodName() { return podName; }
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+
+    // Values for the booking form's date and time inputs
+    public String getDate() { return start.toLocalDate().toString(); }
+    public String getTime() { return start.toLocalTime().toString(); }
+
+    public String getFormattedStart() {
+        return start.format(DISPLAY_FORMAT);
+    }
+}
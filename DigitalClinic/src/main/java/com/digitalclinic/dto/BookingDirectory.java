@@ -0,0 +1,83 @@
+package com.digitalclinic.dto;
+
+import java.util.List;
+
+/**
+ * Immutable list of what the booking form offers: verified doctors and active health pods,
+ * reduced to the fields the form shows. A new instance replaces the old one whenever a
+ * doctor or pod changes, so it can be rendered and serialised without touching the database.
+ * It holds only content, so the same data always serialises to the same bytes and ETag.
+ */
+public class BookingDirectory {
+
+    private final List<DoctorEntry> doctors;
+    private final List<PodEntry> pods;
+
+    public BookingDirectory(List<DoctorEntry> doctors, List<PodEntry> pods) {
+        this.doctors = List.copyOf(doctors);
+        this.pods = List.copyOf(pods);
+    }
+
+    public List<DoctorEntry> getDoctors() { return doctors; }
+    public List<PodEntry> getPods() { return pods; }
+
+    public static class DoctorEntry {
+
+        private final Long id;
+        private final String fullName;
+        private final String specialization;
+        private final String qualification;
+        private final Double consultationFee;
+        private final Double rating;
+        private final long ratingCount;
+
+        public DoctorEntry(Long id, String fullName, String specialization, String qualification,
+                           Double consultationFee, Double rating, long ratingCount) {
+            this.id = id;
+            this.fullName = fullName;
+            this.specialization = specialization;
+            this.qualification = qualification;
+            this.consultationFee = consultationFee;
+            this.rating = rating;
+            this.ratingCount = ratingCount;
+        }
+
+        public Long getId() { return id; }
+        public String getFullName() { return fullName; }
+        public String getSpecialization() { return specialization; }
+        public String getQualification() { return qualification; }
+        public Double getConsultationFee() { return consultationFee; }
+        public Double getRating() { return rating; }
+        public long getRatingCount() { return ratingCount; }
+    }
+
+    public static class PodEntry {
+
+        private final Long id;
+        private final String name;
+        private final String city;
+        private final String state;
+        private final List<String> facilities;
+        private final String operatingHours;
+        private final String inchargeName;
+
+        public PodEntry(Long id, String name, String city, String state, List<String> facilities,
+                        String operatingHours, String inchargeName) {
+            this.id = id;
+            this.name = name;
+            this.city = city;
+            this.state = state;
+            this.facilities = List.copyOf(facilities);
+            this.operatingHours = operatingHours;
+            this.inchargeName = inchargeName;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getCity() { return city; }
+        public String getState() { return state; }
+        public List<String> getFacilities() { return facilities; }
+        public String getOperatingHours() { return operatingHours; }
+        public String getInchargeName() { return inchargeName; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import java.time.LocalDateTime;
+
+// Flat read model for the video consultation lists, loaded together with patient and doctor names in one query
+public class ConsultationListItem {
+
+    public static final String SELECT =
+        "SELECT new com.digitalclinic.dto.ConsultationListItem(vc.id, vc.roomId, vc.status, vc.scheduledStartTime, " +
+        "vc.actualStartTime, vc.endTime, a.id, a.type, pu.fullName, du.fullName, d.specialization) " +
+        "FROM VideoConsultation vc JOIN vc.appointment a JOIN a.patient p JOIN p.user pu " +
+        "LEFT JOIN a.doctor d LEFT JOIN d.user du ";
+
+    private final Long id;
+    private final String roomId;
+    private final VideoConsultation.ConsultationStatus status;
+    private final LocalDateTime scheduledStartTime;
+    private final LocalDateTime actualStartTime;
+    private final LocalDateTime endTime;
+    private final Long appointmentId;
+    private final Appointment.AppointmentType appointmentType;
+    private final String patientName;
+    private final String doctorName;
+    private final String doctorSpecialization;
+
+    public ConsultationListItem(Long id, String roomId, VideoConsultation.ConsultationStatus status,
+                                LocalDateTime scheduledStartTime, LocalDateTime actualStartTime, LocalDateTime endTime,
+                                Long appointmentId, Appointment.AppointmentType appointmentType,
+                                String patientName, String doctorName, String doctorSpecialization) {
+        this.id = id;
+        this.roomId = roomId;
+        this.status = status;
+        this.scheduledStartTime = scheduledStartTime;
+        this.actualStartTime = actualStartTime;
+        this.endTime = endTime;
+        this.appointmentId = appointmentId;
+        this.appointmentType = appointmentType;
+        this.patientName = patientName;
+        this.doctorName = doctorName;
+        this.doctorSpecialization = doctorSpecialization;
+    }
+
+    public Long getId() { return id; }
+    public String getRoomId() { return roomId; }
+    public VideoConsultation.ConsultationStatus getStatus() { return status; }
+    public LocalDateTime getScheduledStartTime() { return scheduledStartTime; }
+    public LocalDateTime getActualStartTime() { return actualStartTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public Long getAppointmentId() { return appointmentId; }
+    public Appointment.AppointmentType getAppointmentType() { return appointmentType; }
+    public String getPatientName() { return patientName; }
+    public String getDoctorName() { return doctorName; }
+    public String getDoctorSpecialization() { return doctorSpecialization; }
+
+    public boolean isActive() {
+        return status != null && VideoConsultation.ACTIVE_STATUSES.contains(status);
+    }
+}
@@ -0,0 +1,56 @@
+package com.digitalclinic.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable set of admin dashboard counters. A new instance is published for every
+ * refresh or event delta, so readers never see a half-updated set of numbers.
+ */
+public class DashboardStatistics {
+
+    private final long totalPatients;
+    private final long totalDoctors;
+    private final long verifiedDoctors;
+    private final long activePods;
+    private final long totalAppointments;
+    private final long completedAppointments;
+    private final long totalConsultations;
+    private final long activeConsultations;
+    private final LocalDateTime refreshedAt;
+
+    public DashboardStatistics(long totalPatients, long totalDoctors, long verifiedDoctors, long activePods,
+                               long totalAppointments, long completedAppointments,
+                               long totalConsultations, long activeConsultations, LocalDateTime refreshedAt) {
+        this.totalPatients = totalPatients;
+        this.totalDoctors = totalDoctors;
+        this.verifiedDoctors = verifiedDoctors;
+        this.activePods = activePods;
+        this.totalAppointments = totalAppointments;
+        this.completedAppointments = completedAppointments;
+        this.totalConsultations = totalConsultations;
+        this.activeConsultations = activeConsultations;
+        this.refreshedAt = refreshedAt;
+    }
+
+    public DashboardStatistics withAppointmentDelta(long totalDelta, long completedDelta) {
+        return new DashboardStatistics(totalPatients, totalDoctors, verifiedDoctors, activePods,
+            totalAppointments + totalDelta, completedAppointments + completedDelta,
+            totalConsultations, activeConsultations, refreshedAt);
+    }
+
+    public DashboardStatistics withConsultationDelta(long totalDelta, long activeDelta) {
+        return new DashboardStatistics(totalPatients, totalDoctors, verifiedDoctors, activePods,
+            totalAppointments, completedAppointments,
+            totalConsultations + totalDelta, activeConsultations + activeDelta, refreshedAt);
+    }
+
+    public long getTotalPatients() { return totalPatients; }
+    public long getTotalDoctors() { return totalDoctors; }
+    public long getVerifiedDoctors() { return verifiedDoctors; }
+    public long getActivePods() { return activePods; }
+    public long getTotalAppointments() { return totalAppointments; }
+    public long getCompletedAppointments() { return completedAppointments; }
+    public long getTotalConsultations() { return totalConsultations; }
+    public long getActiveConsultations() { return activeConsultations; }
+    public LocalDateTime getRefreshedAt() { return refreshedAt; }
+}
@@ -0,0 +1,19 @@
+package com.digitalclinic.dto;
+
+// Average patient rating of one doctor, built directly by the JPQL constructor expression
+public class DoctorRating {
+
+    private final Long doctorId;
+    private final double average;
+    private final long count;
+
+    public DoctorRating(Long doctorId, Double average, Long count) {
+        this.doctorId = doctorId;
+        this.average = average != null ? average : 0;
+        this.count = count != null ? count : 0;
+    }
+
+    public Long getDoctorId() { return doctorId; }
+    public double getAverage() { return average; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,33 @@
+package com.digitalclinic.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a (appointmentDateTime, id) seek query, newest first.
+ * The next page starts strictly after the last row of this one, so the cost
+ * of a page does not depend on how far the user has scrolled.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final int pageSize;
+    private final boolean hasMore;
+    private final LocalDateTime nextBefore;
+    private final Long nextBeforeId;
+
+    public KeysetPage(List<T> items, int pageSize, boolean hasMore, LocalDateTime nextBefore, Long nextBeforeId) {
+        this.items = List.copyOf(items);
+        this.pageSize = pageSize;
+        this.hasMore = hasMore;
+        this.nextBefore = nextBefore;
+        this.nextBeforeId = nextBeforeId;
+    }
+
+    public List<T> getItems() { return items; }
+    // The size this page was asked for, carried into the link to the next one
+    public int getPageSize() { return pageSize; }
+    public boolean isHasMore() { return hasMore; }
+    public LocalDateTime getNextBefore() { return nextBefore; }
+    public Long getNextBeforeId() { return nextBeforeId; }
+}
@@ -0,0 +1,201 @@
+package com.digitalclinic.dto;
+
+import java.util.List;
+
+/**
+ * Point-in-time view of the meter registry for the admin metrics page. Latencies are
+ * cumulative since startup; gauges (pool and queue sizes) are current values.
+ */
+public class MetricsOverview {
+
+    private final List<LatencySummary> requests;
+    private final List<LatencySummary> repositories;
+    private final List<LatencySummary> stompDestinations;
+    private final List<PoolUsage> connectionPools;
+    private final List<ChannelUsage> channels;
+    private final HibernateUsage hibernate;
+    private final List<CacheRegionUsage> cacheRegions;
+
+    public MetricsOverview(List<LatencySummary> requests, List<LatencySummary> repositories,
+                           List<LatencySummary> stompDestinations, List<PoolUsage> connectionPools,
+                           List<ChannelUsage> channels, HibernateUsage hibernate, List<CacheRegionUsage> cacheRegions) {
+        this.requests = requests;
+        this.repositories = repositories;
+        this.stompDestinations = stompDestinations;
+        this.connectionPools = connectionPools;
+        this.channels = channels;
+        this.hibernate = hibernate;
+        this.cacheRegions = cacheRegions;
+    }
+
+    public List<LatencySummary> getRequests() { return requests; }
+    public List<LatencySummary> getRepositories() { return repositories; }
+    public List<LatencySummary> getStompDestinations() { return stompDestinations; }
+    public List<PoolUsage> getConnectionPools() { return connectionPools; }
+    public List<ChannelUsage> getChannels() { return channels; }
+    public HibernateUsage getHibernate() { return hibernate; }
+    public List<CacheRegionUsage> getCacheRegions() { return cacheRegions; }
+
+    // One timer (all of its tag combinations merged), e.g. AppointmentController#bookAppointment
+    public static class LatencySummary {
+
+        private final String name;
+        private final long count;
+        private final long errors;
+        private final double meanMs;
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double p99Ms;
+        private final double maxMs;
+
+        public LatencySummary(String name, long count, long errors, double meanMs,
+                              double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+            this.name = name;
+            this.count = count;
+            this.errors = errors;
+            this.meanMs = meanMs;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public double getMeanMs() { return meanMs; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP95Ms() { return p95Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getMaxMs() { return maxMs; }
+    }
+
+    public static class PoolUsage {
+
+        private final String pool;
+        private final int active;
+        private final int idle;
+        private final int pending;
+        private final int max;
+        private final long timeouts;
+        private final LatencySummary acquire;
+
+        public PoolUsage(String pool, int active, int idle, int pending, int max, long timeouts, LatencySummary acquire) {
+            this.pool = pool;
+            this.active = active;
+            this.idle = idle;
+            this.pending = pending;
+            this.max = max;
+            this.timeouts = timeouts;
+            this.acquire = acquire;
+        }
+
+        public String getPool() { return pool; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getPending() { return pending; }
+        public int getMax() { return max; }
+        public long getTimeouts() { return timeouts; }
+        public LatencySummary getAcquire() { return acquire; }
+        public int getUtilizationPercent() { return max > 0 ? Math.round(100f * active / max) : 0; }
+    }
+
+    // A STOMP channel executor; queued is the broker backlog waiting for a thread
+    public static class ChannelUsage {
+
+        private final String name;
+        private final int queued;
+        private final int active;
+        private final int poolSize;
+        private final long completed;
+
+        public ChannelUsage(String name, int queued, int active, int poolSize, long completed) {
+            this.name = name;
+            this.queued = queued;
+            this.active = active;
+            this.poolSize = poolSize;
+            this.completed = completed;
+        }
+
+        public String getName() { return name; }
+        public int getQueued() { return queued; }
+        public int getActive() { return active; }
+        public int getPoolSize() { return poolSize; }
+        public long getCompleted() { return completed; }
+    }
+
+    public static class HibernateUsage {
+
+        private final long sessionsOpened;
+        private final long transactions;
+        private final long queries;
+        private final double slowestQueryMs;
+        private final String slowestQuery;
+        private final long entityLoads;
+        private final long entityFetches;
+        private final long entityInserts;
+        private final long entityUpdates;
+        private final long secondLevelCacheHits;
+        private final long secondLevelCacheMisses;
+        private final long queryCacheHits;
+        private final long queryCacheMisses;
+        private final long optimisticFailures;
+
+        public HibernateUsage(long sessionsOpened, long transactions, long queries, double slowestQueryMs,
+                              String slowestQuery, long entityLoads, long entityFetches, long entityInserts,
+                              long entityUpdates, long secondLevelCacheHits, long secondLevelCacheMisses,
+                              long queryCacheHits, long queryCacheMisses, long optimisticFailures) {
+            this.sessionsOpened = sessionsOpened;
+            this.transactions = transactions;
+            this.queries = queries;
+            this.slowestQueryMs = slowestQueryMs;
+            this.slowestQuery = slowestQuery;
+            this.entityLoads = entityLoads;
+            this.entityFetches = entityFetches;
+            this.entityInserts = entityInserts;
+            this.entityUpdates = entityUpdates;
+            this.secondLevelCacheHits = secondLevelCacheHits;
+            this.secondLevelCacheMisses = secondLevelCacheMisses;
+            this.queryCacheHits = queryCacheHits;
+            this.queryCacheMisses = queryCacheMisses;
+            this.optimisticFailures = optimisticFailures;
+        }
+
+        public long getSessionsOpened() { return sessionsOpened; }
+        public long getTransactions() { return transactions; }
+        public long getQueries() { return queries; }
+        public double getSlowestQueryMs() { return slowestQueryMs; }
+        public String getSlowestQuery() { return slowestQuery; }
+        public long getEntityLoads() { return entityLoads; }
+        public long getEntityFetches() { return entityFetches; }
+        public long getEntityInserts() { return entityInserts; }
+        public long getEntityUpdates() { return entityUpdates; }
+        public long getSecondLevelCacheHits() { return secondLevelCacheHits; }
+        public long getSecondLevelCacheMisses() { return secondLevelCacheMisses; }
+        public long getQueryCacheHits() { return queryCacheHits; }
+        public long getQueryCacheMisses() { return queryCacheMisses; }
+        public long getOptimisticFailures() { return optimisticFailures; }
+    }
+
+    // One second-level cache region (entity, collection or query results)
+    public static class CacheRegionUsage {
+
+        private final String region;
+        private final long hits;
+        private final long misses;
+        private final long puts;
+
+        public CacheRegionUsage(String region, long hits, long misses, long puts) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+        }
+
+        public String getRegion() { return region; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getPuts() { return puts; }
+        public int getHitPercent() { return hits + misses > 0 ? Math.round(100f * hits / (hits + misses)) : 0; }
+    }
+}
@@ -0,0 +1,32 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.Appointment;
+import java.time.LocalDateTime;
+
+// What the lifecycle sweeper needs of an appointment it is about to mark NO_SHOW: enough for its event
+public class MissedAppointment {
+
+    private final Long id;
+    private final Long patientId;
+    private final Long doctorId;
+    private final Long podId;
+    private final Appointment.AppointmentStatus status;
+    private final LocalDateTime appointmentDateTime;
+
+    public MissedAppointment(Long id, Long patientId, Long doctorId, Long podId,
+                             Appointment.AppointmentStatus status, LocalDateTime appointmentDateTime) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.podId = podId;
+        this.status = status;
+        this.appointmentDateTime = appointmentDateTime;
+    }
+
+    public Long getId() { return id; }
+    public Long getPatientId() { return patientId; }
+    public Long getDoctorId() { return doctorId; }
+    public Long getPodId() { return podId; }
+    public Appointment.AppointmentStatus getStatus() { return status; }
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+}
@@ -0,0 +1,23 @@
+package com.digitalclinic.dto;
+
+// A pod together with its great-circle distance from the searched point, null when no point was given
+public class NearbyPod {
+
+    private final PodLocation pod;
+    private final Double distanceKm;
+
+    public NearbyPod(PodLocation pod, Double distanceKm) {
+        this.pod = pod;
+        this.distanceKm = distanceKm;
+    }
+
+    public PodLocation getPod() { return pod; }
+    public Double getDistanceKm() { return distanceKm; }
+
+    public String getFormattedDistance() {
+        if (distanceKm == null) {
+            return null;
+        }
+        return distanceKm < 1 ? String.format("%d m", Math.round(distanceKm * 1000)) : String.format("%.1f km", distanceKm);
+    }
+}
@@ -0,0 +1,79 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.HealthPod;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Immutable copy of the parts of a health pod needed to list it by distance.
+ * Entries of the pod geo index are instances of this class, never managed entities.
+ */
+public class PodLocation {
+
+    private final Long id;
+    private final String name;
+    private final String address;
+    private final String city;
+    private final String state;
+    private final String inchargeName;
+    private final double latitude;
+    private final double longitude;
+    private final boolean hasLab;
+    private final boolean hasPharmacy;
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final List<String> facilities;
+
+    public PodLocation(HealthPod pod) {
+        this.id = pod.getId();
+        this.name = pod.getName();
+        this.address = pod.getAddress();
+        this.city = pod.getCity();
+        this.state = pod.getState();
+        this.inchargeName = pod.getInchargeName();
+        this.latitude = pod.getLatitude() != null ? pod.getLatitude() : Double.NaN;
+        this.longitude = pod.getLongitude() != null ? pod.getLongitude() : Double.NaN;
+        this.hasLab = Boolean.TRUE.equals(pod.getHasLab());
+        this.hasPharmacy = Boolean.TRUE.equals(pod.getHasPharmacy());
+        this.openingTime = pod.getOpeningTime();
+        this.closingTime = pod.getClosingTime();
+        this.facilities = pod.getFacilities() != null ? List.copyOf(pod.getFacilities()) : List.of();
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getAddress() { return address; }
+    public String getCity() { return city; }
+    public String getState() { return state; }
+    public String getInchargeName() { return inchargeName; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public boolean getHasLab() { return hasLab; }
+    public boolean getHasPharmacy() { return hasPharmacy; }
+    public LocalTime getOpeningTime() { return openingTime; }
+    public LocalTime getClosingTime() { return closingTime; }
+    public List<String> getFacilities() { return facilities; }
+
+    public boolean isLocated() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    // Pods without published hours are never reported as open
+    public boolean isOpenAt(LocalTime time) {
+        if (openingTime == null || closingTime == null) {
+            return false;
+        }
+        if (closingTime.isAfter(openingTime)) {
+            return !time.isBefore(openingTime) && time.isBefore(closingTime);
+        }
+        // Overnight hours, e.g. 20:00 - 06:00
+        return !time.isBefore(openingTime) || time.isBefore(closingTime);
+    }
+
+    public String getOperatingHours() {
+        if (openingTime != null && closingTime != null) {
+            return String.format("%s - %s", openingTime, closingTime);
+        }
+        return "Not specified";
+    }
+}
@@ -0,0 +1,158 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the logged-in user and, depending on the role, their patient or doctor
+ * profile. The snapshots keep the entity getter names so pages can render them unchanged; the
+ * password hash is left out, login reads it from the database.
+ */
+public class PrincipalContext {
+
+    private final UserSnapshot user;
+    private final PatientSnapshot patient;
+    private final DoctorSnapshot doctor;
+
+    public PrincipalContext(User user, Patient patient, Doctor doctor) {
+        this.user = new UserSnapshot(user);
+        this.patient = patient != null ? new PatientSnapshot(patient, this.user) : null;
+        this.doctor = doctor != null ? new DoctorSnapshot(doctor, this.user) : null;
+    }
+
+    public UserSnapshot getUser() { return user; }
+    public PatientSnapshot getPatient() { return patient; }
+    public DoctorSnapshot getDoctor() { return doctor; }
+
+    public static class UserSnapshot {
+        private final Long id;
+        private final String email;
+        private final String role;
+        private final String fullName;
+        private final String phone;
+        private final String address;
+        private final String profileImage;
+        private final boolean active;
+        private final boolean emailVerified;
+        private final LocalDateTime createdAt;
+
+        UserSnapshot(User user) {
+            this.id = user.getId();
+            this.email = user.getEmail();
+            this.role = user.getRole();
+            this.fullName = user.getFullName();
+            this.phone = user.getPhone();
+            this.address = user.getAddress();
+            this.profileImage = user.getProfileImage();
+            this.active = user.isActive();
+            this.emailVerified = user.isEmailVerified();
+            this.createdAt = user.getCreatedAt();
+        }
+
+        public Long getId() { return id; }
+        public String getEmail() { return email; }
+        public String getRole() { return role; }
+        public String getFullName() { return fullName; }
+        public String getPhone() { return phone; }
+        public String getAddress() { return address; }
+        public String getProfileImage() { return profileImage; }
+        public boolean isActive() { return active; }
+        public boolean isEmailVerified() { return emailVerified; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+    }
+
+    public static class PatientSnapshot {
+        private final Long id;
+        private final UserSnapshot user;
+        private final LocalDate dateOfBirth;
+        private final Integer age;
+        private final String gender;
+        private final String bloodGroup;
+        private final Double height;
+        private final Double weight;
+        private final String medicalHistory;
+        private final String allergies;
+        private final String currentMedications;
+        private final String emergencyContactName;
+        private final String emergencyContactPhone;
+        private final String insuranceProvider;
+        private final String insuranceNumber;
+
+        PatientSnapshot(Patient patient, UserSnapshot user) {
+            this.id = patient.getId();
+            this.user = user;
+            this.dateOfBirth = patient.getDateOfBirth();
+            this.age = patient.getAge();
+            this.gender = patient.getGender();
+            this.bloodGroup = patient.getBloodGroup();
+            this.height = patient.getHeight();
+            this.weight = patient.getWeight();
+            this.medicalHistory = patient.getMedicalHistory();
+            this.allergies = patient.getAllergies();
+            this.currentMedications = patient.getCurrentMedications();
+            this.emergencyContactName = patient.getEmergencyContactName();
+            this.emergencyContactPhone = patient.getEmergencyContactPhone();
+            this.insuranceProvider = patient.getInsuranceProvider();
+            this.insuranceNumber = patient.getInsuranceNumber();
+        }
+
+        public Long getId() { return id; }
+        public UserSnapshot getUser() { return user; }
+        public LocalDate getDateOfBirth() { return dateOfBirth; }
+        public Integer getAge() { return age; }
+        public String getGender() { return gender; }
+        public String getBloodGroup() { return bloodGroup; }
+        public Double getHeight() { return height; }
+        public Double getWeight() { return weight; }
+        public String getMedicalHistory() { return medicalHistory; }
+        public String getAllergies() { return allergies; }
+        public String getCurrentMedications() { return currentMedications; }
+        public String getEmergencyContactName() { return emergencyContactName; }
+        public String getEmergencyContactPhone() { return emergencyContactPhone; }
+        public String getInsuranceProvider() { return insuranceProvider; }
+        public String getInsuranceNumber() { return insuranceNumber; }
+    }
+
+    public static class DoctorSnapshot {
+        private final Long id;
+        private final UserSnapshot user;
+        private final String specialization;
+        private final String qualification;
+        private final String licenseNumber;
+        private final Integer experienceYears;
+        private final String hospitalAffiliation;
+        private final String bio;
+        private final Double consultationFee;
+        private final Boolean verified;
+        private final String verificationStatus;
+
+        DoctorSnapshot(Doctor doctor, UserSnapshot user) {
+            this.id = doctor.getId();
+            this.user = user;
+            this.specialization = doctor.getSpecialization();
+            this.qualification = doctor.getQualification();
+            this.licenseNumber = doctor.getLicenseNumber();
+            this.experienceYears = doctor.getExperienceYears();
+            this.hospitalAffiliation = doctor.getHospitalAffiliation();
+            this.bio = doctor.getBio();
+            this.consultationFee = doctor.getConsultationFee();
+            this.verified = doctor.getVerified();
+            this.verificationStatus = doctor.getVerificationStatus();
+        }
+
+        public Long getId() { return id; }
+        public UserSnapshot getUser() { return user; }
+        public String getSpecialization() { return specialization; }
+        public String getQualification() { return qualification; }
+        public String getLicenseNumber() { return licenseNumber; }
+        public Integer getExperienceYears() { return experienceYears; }
+        public String getHospitalAffiliation() { return hospitalAffiliation; }
+        public String getBio() { return bio; }
+        public Double getConsultationFee() { return consultationFee; }
+        public Boolean getVerified() { return verified; }
+        public String getVerificationStatus() { return verificationStatus; }
+    }
+}
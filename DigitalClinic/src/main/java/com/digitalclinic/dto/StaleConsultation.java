@@ -0,0 +1,24 @@
+package com.digitalclinic.dto;
+
+import com.digitalclinic.model.VideoConsultation;
+
+// What the lifecycle sweeper needs of a consultation it is about to close: enough for its event
+public class StaleConsultation {
+
+    private final Long id;
+    private final String roomId;
+    private final Long appointmentId;
+    private final VideoConsultation.ConsultationStatus status;
+
+    public StaleConsultation(Long id, String roomId, Long appointmentId, VideoConsultation.ConsultationStatus status) {
+        this.id = id;
+        this.roomId = roomId;
+        this.appointmentId = appointmentId;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public String getRoomId() { return roomId; }
+    public Long getAppointmentId() { return appointmentId; }
+    public VideoConsultation.ConsultationStatus getStatus() { return status; }
+}
@@ -0,0 +1,16 @@
+package com.digitalclinic.dto;
+
+// One row of a "GROUP BY status" count, built directly by the JPQL constructor expression
+public class StatusCount {
+
+    private final String status;
+    private final long count;
+
+    public StatusCount(Enum<?> status, Long count) {
+        this.status = status != null ? status.name() : null;
+        this.count = count != null ? count : 0;
+    }
+
+    public String getStatus() { return status; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,18 @@
+package com.digitalclinic.dto;
+
+import java.time.LocalDateTime;
+
+// Id and start time of an appointment still ahead, all the reminder wheel keeps in memory
+public class UpcomingAppointment {
+
+    private final Long id;
+    private final LocalDateTime appointmentDateTime;
+
+    public UpcomingAppointment(Long id, LocalDateTime appointmentDateTime) {
+        this.id = id;
+        this.appointmentDateTime = appointmentDateTime;
+    }
+
+    public Long getId() { return id; }
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+}
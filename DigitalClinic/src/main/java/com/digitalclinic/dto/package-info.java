@@ -0,0 +1 @@
+package com.digitalclinic.dto;
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.digitalclinic.event;
+
+import com.digitalclinic.model.Appointment;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.time.LocalDateTime;
+
+// Written to the outbox with the appointment row (by AppointmentService or the lifecycle sweeper), delivered after commit
+public class AppointmentChangedEvent implements DomainEvent {
+
+    public enum ChangeType {
+        BOOKED, STATUS_CHANGED, RESCHEDULED, CANCELLED, COMPLETED, FEEDBACK_ADDED
+    }
+
+    private final ChangeType changeType;
+    private final Long appointmentId;
+    private final Long patientId;
+    private final Long doctorId;
+    private final Long podId;
+    private final Appointment.AppointmentStatus previousStatus;
+    private final Appointment.AppointmentStatus newStatus;
+    private final LocalDateTime previousDateTime;
+    private final LocalDateTime newDateTime;
+
+    public AppointmentChangedEvent(ChangeType changeType, Appointment appointment,
+                                   Appointment.AppointmentStatus previousStatus, LocalDateTime previousDateTime) {
+        this.changeType = changeType;
+        this.appointmentId = appointment.getId();
+        this.patientId = appointment.getPatient() != null ? appointment.getPatient().getId() : null;
+        this.doctorId = appointment.getDoctor() != null ? appointment.getDoctor().getId() : null;
+        this.podId = appointment.getHealthPod() != null ? appointment.getHealthPod().getId() : null;
+        this.previousStatus = previousStatus;
+        this.newStatus = appointment.getStatus();
+        this.previousDateTime = previousDateTime;
+        this.newDateTime = appointment.getAppointmentDateTime();
+    }
+
+    @JsonCreator
+    public AppointmentChangedEvent(ChangeType changeType, Long appointmentId, Long patientId, Long doctorId, Long podId,
+                                   Appointment.AppointmentStatus previousStatus, Appointment.AppointmentStatus newStatus,
+                                   LocalDateTime previousDateTime, LocalDateTime newDateTime) {
+        this.changeType = changeType;
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.podId = podId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.previousDateTime = previousDateTime;
+        this.newDateTime = newDateTime;
+    }
+
+    @Override
+    public String getAggregateType() { return "Appointment"; }
+
+    @Override
+    public Long getAggregateId() { return appointmentId; }
+
+    public ChangeType getChangeType() { return changeType; }
+    public Long getAppointmentId() { return appointmentId; }
+    public Long getPatientId() { return patientId; }
+    public Long getDoctorId() { return doctorId; }
+    public Long getPodId() { return podId; }
+    public Appointment.AppointmentStatus getPreviousStatus() { return previousStatus; }
+    public Appointment.AppointmentStatus getNewStatus() { return newStatus; }
+    public LocalDateTime getPreviousDateTime() { return previousDateTime; }
+    public LocalDateTime getNewDateTime() { return newDateTime; }
+}
@@ -0,0 +1,51 @@
+package com.digitalclinic.event;
+
+import com.digitalclinic.model.VideoConsultation;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Written to the outbox with the consultation row (by VideoConsultationService or the lifecycle sweeper), delivered after commit
+public class ConsultationChangedEvent implements DomainEvent {
+
+    private final Long consultationId;
+    private final String roomId;
+    private final Long appointmentId;
+    private final VideoConsultation.ConsultationStatus previousStatus;
+    private final VideoConsultation.ConsultationStatus newStatus;
+
+    public ConsultationChangedEvent(VideoConsultation consultation, VideoConsultation.ConsultationStatus previousStatus) {
+        this.consultationId = consultation.getId();
+        this.roomId = consultation.getRoomId();
+        this.appointmentId = consultation.getAppointment() != null ? consultation.getAppointment().getId() : null;
+        this.previousStatus = previousStatus;
+        this.newStatus = consultation.getStatus();
+    }
+
+    @JsonCreator
+    public ConsultationChangedEvent(Long consultationId, String roomId, Long appointmentId,
+                                    VideoConsultation.ConsultationStatus previousStatus,
+                                    VideoConsultation.ConsultationStatus newStatus) {
+        this.consultationId = consultationId;
+        this.roomId = roomId;
+        this.appointmentId = appointmentId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    @Override
+    public String getAggregateType() { return "VideoConsultation"; }
+
+    @Override
+    public Long getAggregateId() { return consultationId; }
+
+    public Long getConsultationId() { return consultationId; }
+    public String getRoomId() { return roomId; }
+    public Long getAppointmentId() { return appointmentId; }
+    public VideoConsultation.ConsultationStatus getPreviousStatus() { return previousStatus; }
+    public VideoConsultation.ConsultationStatus getNewStatus() { return newStatus; }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
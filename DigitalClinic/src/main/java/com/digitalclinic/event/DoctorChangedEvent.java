@@ -0,0 +1,13 @@
+package com.digitalclinic.event;
+
+// Published when a doctor's profile, verification, working hours or leave changes
+public class DoctorChangedEvent {
+
+    private final Long doctorId;
+
+    public DoctorChangedEvent(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getDoctorId() { return doctorId; }
+}
@@ -0,0 +1,17 @@
+package com.digitalclinic.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A lifecycle event that is written to the outbox in the same transaction as the change it
+ * describes and delivered to listeners later, in order per aggregate. Implementations are
+ * stored as JSON, so they need a Jackson creator.
+ */
+public interface DomainEvent {
+
+    @JsonIgnore
+    String getAggregateType();
+
+    @JsonIgnore
+    Long getAggregateId();
+}
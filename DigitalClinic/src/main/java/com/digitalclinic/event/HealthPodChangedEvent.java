@@ -0,0 +1,13 @@
+package com.digitalclinic.event;
+
+// Published by HealthPodService after a pod row has been created, updated or deactivated
+public class HealthPodChangedEvent {
+
+    private final Long podId;
+
+    public HealthPodChangedEvent(Long podId) {
+        this.podId = podId;
+    }
+
+    public Long getPodId() { return podId; }
+}
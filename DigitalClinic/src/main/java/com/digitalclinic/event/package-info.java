@@ -0,0 +1 @@
+package com.digitalclinic.event;
\ No newline at end of file
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Table(name = "consultation_messages")
 public class ConsultationMessage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultation_messages_seq")
+    @SequenceGenerator(name = "consultation_messages_seq", sequenceName = "consultation_messages_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
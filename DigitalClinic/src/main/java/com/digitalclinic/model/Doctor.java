@@ -1,12 +1,17 @@
 package com.digitalclinic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "doctors")
 public class Doctor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_seq")
+    @SequenceGenerator(name = "doctors_seq", sequenceName = "doctors_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne
@@ -0,0 +1,53 @@
+package com.digitalclinic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "doctor_leaves", indexes = {
+    @Index(name = "idx_doctor_leave_doctor_end", columnList = "doctor_id, endDateTime")
+})
+public class DoctorLeave {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_leaves_seq")
+    @SequenceGenerator(name = "doctor_leaves_seq", sequenceName = "doctor_leaves_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+    
+    @Column(nullable = false)
+    private LocalDateTime startDateTime;
+    
+    @Column(nullable = false)
+    private LocalDateTime endDateTime;
+    
+    private String reason;
+    
+    // Constructors
+    public DoctorLeave() {}
+    
+    public DoctorLeave(Doctor doctor, LocalDateTime startDateTime, LocalDateTime endDateTime, String reason) {
+        this.doctor = doctor;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.reason = reason;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Doctor getDoctor() { return doctor; }
+    public void setDoctor(Doctor doctor) { this.doctor = doctor; }
+    
+    public LocalDateTime getStartDateTime() { return startDateTime; }
+    public void setStartDateTime(LocalDateTime startDateTime) { this.startDateTime = startDateTime; }
+    
+    public LocalDateTime getEndDateTime() { return endDateTime; }
+    public void setEndDateTime(LocalDateTime endDateTime) { this.endDateTime = endDateTime; }
+    
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,64 @@
+package com.digitalclinic.model;
+
+import jakarta.persistence.*;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// A weekly working-hours block; without a health pod the block is for video consultations
+@Entity
+@Table(name = "doctor_schedules", indexes = {
+    @Index(name = "idx_doctor_schedule_doctor", columnList = "doctor_id, dayOfWeek")
+})
+public class DoctorSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_schedules_seq")
+    @SequenceGenerator(name = "doctor_schedules_seq", sequenceName = "doctor_schedules_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(nullable = false)
+    private LocalTime startTime;
+    
+    @Column(nullable = false)
+    private LocalTime endTime;
+    
+    @ManyToOne
+    @JoinColumn(name = "pod_id")
+    private HealthPod healthPod;
+    
+    // Constructors
+    public DoctorSchedule() {}
+    
+    public DoctorSchedule(Doctor doctor, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.doctor = doctor;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Doctor getDoctor() { return doctor; }
+    public void setDoctor(Doctor doctor) { this.doctor = doctor; }
+    
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+    
+    public HealthPod getHealthPod() { return healthPod; }
+    public void setHealthPod(HealthPod healthPod) { this.healthPod = healthPod; }
+}
@@ -1,15 +1,20 @@
  package com.digitalclinic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "health_pods")
 public class HealthPod {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "health_pods_seq")
+    @SequenceGenerator(name = "health_pods_seq", sequenceName = "health_pods_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -29,11 +34,13 @@ public class HealthPod {
     private String inchargeName;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "pod_facilities", joinColumns = @JoinColumn(name = "pod_id"))
     @Column(name = "facility")
     private List<String> facilities = new ArrayList<>();
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "pod_equipment", joinColumns = @JoinColumn(name = "pod_id"))
     @Column(name = "equipment")
     private List<String> equipment = new ArrayList<>();
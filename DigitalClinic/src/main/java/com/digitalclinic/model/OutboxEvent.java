@@ -0,0 +1,94 @@
+package com.digitalclinic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A domain event waiting for (or past) delivery by the outbox relay; payload is the event as JSON
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_status_id", columnList = "status, id"),
+    @Index(name = "idx_outbox_aggregate", columnList = "aggregateType, aggregateId, status, aggregateSequence"),
+    @Index(name = "idx_outbox_position", columnList = "position", unique = true)
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // Position among the aggregate's events in commit order; ids come from pooled sequences and do not follow it
+    @Column(nullable = false)
+    private long aggregateSequence;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Place in the published log that every node reads in order; set when the event is published
+    private Long position;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    public enum Status {
+        PENDING, PUBLISHED
+    }
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, Long aggregateId, long aggregateSequence, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.aggregateSequence = aggregateSequence;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAggregateType() { return aggregateType; }
+    public void setAggregateType(String aggregateType) { this.aggregateType = aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    public long getAggregateSequence() { return aggregateSequence; }
+    public void setAggregateSequence(long aggregateSequence) { this.aggregateSequence = aggregateSequence; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+}
@@ -0,0 +1,33 @@
+package com.digitalclinic.model;
+
+import jakarta.persistence.*;
+
+// Last outbox sequence number handed out to one aggregate, or under PUBLISHED_KEY the last position
+// in the published log; the row stays locked while a number is being handed out
+@Entity
+@Table(name = "outbox_sequences")
+public class OutboxSequence {
+
+    public static final String PUBLISHED_KEY = "published";
+
+    // aggregateType:aggregateId
+    @Id
+    @Column(length = 100)
+    private String aggregateKey;
+
+    private long lastSequence;
+
+    // Constructors
+    public OutboxSequence() {}
+
+    public OutboxSequence(String aggregateKey) {
+        this.aggregateKey = aggregateKey;
+    }
+
+    // Getters and Setters
+    public String getAggregateKey() { return aggregateKey; }
+    public void setAggregateKey(String aggregateKey) { this.aggregateKey = aggregateKey; }
+
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+}
@@ -7,7 +7,8 @@ import java.time.LocalDate;
 @Table(name = "patients")
 public class Patient {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne
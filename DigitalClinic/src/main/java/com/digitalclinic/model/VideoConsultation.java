@@ -2,12 +2,15 @@ package com.digitalclinic.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "video_consultations")
 public class VideoConsultation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "video_consultations_seq")
+    @SequenceGenerator(name = "video_consultations_seq", sequenceName = "video_consultations_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne
@@ -39,6 +42,11 @@ public class VideoConsultation {
         SCHEDULED, STARTED, IN_PROGRESS, COMPLETED, CANCELLED, PATIENT_WAITING, DOCTOR_JOINED
     }
     
+    // Statuses of a call that is currently running
+    public static final Set<ConsultationStatus> ACTIVE_STATUSES = EnumSet.of(
+        ConsultationStatus.STARTED, ConsultationStatus.IN_PROGRESS,
+        ConsultationStatus.DOCTOR_JOINED, ConsultationStatus.PATIENT_WAITING);
+    
     // Constructors
     public VideoConsultation() {
         this.createdAt = LocalDateTime.now();
@@ -115,12 +123,14 @@ public class VideoConsultation {
     
     // Helper methods
     public boolean isActive() {
-        return status == ConsultationStatus.STARTED || 
-               status == ConsultationStatus.IN_PROGRESS || 
-               status == ConsultationStatus.DOCTOR_JOINED ||
-               status == ConsultationStatus.PATIENT_WAITING;
+        return status != null && ACTIVE_STATUSES.contains(status);
     }
     
+    // Nobody has started the call yet: still scheduled, or the patient is already waiting
+    public boolean isAwaitingStart() {
+        return status == ConsultationStatus.SCHEDULED || status == ConsultationStatus.PATIENT_WAITING;
+    }
+
     public boolean canStart() {
         return status == ConsultationStatus.SCHEDULED && 
                scheduledStartTime.isBefore(LocalDateTime.now().plusMinutes(30));
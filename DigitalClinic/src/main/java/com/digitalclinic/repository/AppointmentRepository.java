@@ -1,10 +1,22 @@
 package com.digitalclinic.repository;
 
+import com.digitalclinic.dto.AppointmentCounts;
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.dto.AppointmentReminder;
+import com.digitalclinic.dto.DoctorRating;
+import com.digitalclinic.dto.MissedAppointment;
+import com.digitalclinic.dto.StatusCount;
+import com.digitalclinic.dto.UpcomingAppointment;
 import com.digitalclinic.model.Appointment;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -39,6 +51,14 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     long countByPatientUserId(Long patientUserId);
     long countByDoctorUserId(Long doctorUserId);
     long countByStatus(Appointment.AppointmentStatus status);
+    long countByAppointmentDateTimeAfter(LocalDateTime dateTime);
+    
+    @Query("SELECT new com.digitalclinic.dto.StatusCount(a.status, COUNT(a)) FROM Appointment a GROUP BY a.status")
+    List<StatusCount> countGroupedByStatus();
+    
+    @Query("SELECT new com.digitalclinic.dto.DoctorRating(a.doctor.id, AVG(a.rating), COUNT(a.rating)) " +
+           "FROM Appointment a WHERE a.rating IS NOT NULL AND a.doctor IS NOT NULL GROUP BY a.doctor.id")
+    List<DoctorRating> findDoctorRatings();
     
     @Query("SELECT a FROM Appointment a WHERE a.doctor.user.id = :doctorUserId AND a.appointmentDateTime BETWEEN :start AND :end ORDER BY a.appointmentDateTime ASC")
     List<Appointment> findDoctorAppointmentsBetweenDates(Long doctorUserId, LocalDateTime start, LocalDateTime end);
@@ -46,7 +66,71 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctor.user.id = :doctorUserId AND a.status = 'COMPLETED'")
     long countCompletedAppointmentsByDoctor(Long doctorUserId);
     
+    // Same rules as Appointment.isUpcoming() and isCompleted(), counted in one pass over the doctor's index
+    @Query("SELECT new com.digitalclinic.dto.AppointmentCounts(COUNT(a), " +
+           "SUM(CASE WHEN a.status IN ('SCHEDULED', 'CONFIRMED') AND a.appointmentDateTime > :now THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.status = 'COMPLETED' THEN 1 ELSE 0 END)) FROM Appointment a WHERE a.doctor.id = :doctorId")
+    AppointmentCounts countDoctorAppointments(Long doctorId, LocalDateTime now);
+    
+    // Keyset (seek) pagination over (appointmentDateTime, id), served by the patient/doctor composite indexes
+    @Query(AppointmentListItem.SELECT + "WHERE p.id = :patientId " +
+           "ORDER BY a.appointmentDateTime DESC, a.id DESC")
+    List<AppointmentListItem> findPatientHistoryFirstPage(Long patientId, Pageable page);
+    
+    @Query(AppointmentListItem.SELECT + "WHERE p.id = :patientId AND (a.appointmentDateTime < :before " +
+           "OR (a.appointmentDateTime = :before AND a.id < :beforeId)) ORDER BY a.appointmentDateTime DESC, a.id DESC")
+    List<AppointmentListItem> findPatientHistoryPageBefore(Long patientId, LocalDateTime before, Long beforeId, Pageable page);
+    
+    @Query(AppointmentListItem.SELECT + "WHERE d.id = :doctorId " +
+           "ORDER BY a.appointmentDateTime DESC, a.id DESC")
+    List<AppointmentListItem> findDoctorHistoryFirstPage(Long doctorId, Pageable page);
+    
+    @Query(AppointmentListItem.SELECT + "WHERE d.id = :doctorId AND (a.appointmentDateTime < :before " +
+           "OR (a.appointmentDateTime = :before AND a.id < :beforeId)) ORDER BY a.appointmentDateTime DESC, a.id DESC")
+    List<AppointmentListItem> findDoctorHistoryPageBefore(Long doctorId, LocalDateTime before, Long beforeId, Pageable page);
+    
+    @Query(AppointmentListItem.SELECT + "WHERE d.id = :doctorId AND a.appointmentDateTime BETWEEN :start AND :end " +
+           "ORDER BY a.appointmentDateTime ASC")
+    List<AppointmentListItem> findDoctorDayItems(Long doctorId, LocalDateTime start, LocalDateTime end);
+    
+    // Slot reservation - only the booked times are needed to rebuild a day's bitmap
+    @Query("SELECT a.appointmentDateTime FROM Appointment a WHERE a.doctor.id = :doctorId " +
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end AND a.status NOT IN :releasedStatuses")
+    List<LocalDateTime> findBookedDoctorSlotTimes(Long doctorId, LocalDateTime start, LocalDateTime end,
+                                                  Collection<Appointment.AppointmentStatus> releasedStatuses);
+    
+    @Query("SELECT a.appointmentDateTime FROM Appointment a WHERE a.healthPod.id = :podId " +
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end AND a.status NOT IN :releasedStatuses")
+    List<LocalDateTime> findBookedPodSlotTimes(Long podId, LocalDateTime start, LocalDateTime end,
+                                               Collection<Appointment.AppointmentStatus> releasedStatuses);
+    
     // FIX: Added method for today's appointments
     @Query("SELECT a FROM Appointment a WHERE a.patient.user.id = :patientUserId AND DATE(a.appointmentDateTime) = CURRENT_DATE ORDER BY a.appointmentDateTime ASC")
     List<Appointment> findTodayAppointmentsByPatient(Long patientUserId);
-}
\ No newline at end of file
+    
+    // Newest bookings first, walks the primary key instead of sorting on created_at
+    @Query(AppointmentListItem.SELECT + "ORDER BY a.id DESC")
+    List<AppointmentListItem> findRecentItems(Pageable page);
+
+    // Reminder wheel: loaded once at startup, then kept current from appointment events
+    @Query("SELECT new com.digitalclinic.dto.UpcomingAppointment(a.id, a.appointmentDateTime) FROM Appointment a " +
+           "WHERE a.appointmentDateTime > :after AND a.status IN :statuses")
+    List<UpcomingAppointment> findUpcoming(LocalDateTime after, Collection<Appointment.AppointmentStatus> statuses);
+
+    @Query(AppointmentReminder.SELECT + "WHERE a.id IN :ids AND a.status IN :statuses")
+    List<AppointmentReminder> findReminders(Collection<Long> ids, Collection<Appointment.AppointmentStatus> statuses);
+
+    // Lifecycle sweeper: one chunk of appointments nobody turned up to, locked until the chunk is marked.
+    // A video appointment whose call actually started is not a no-show, however long the call ran.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.digitalclinic.dto.MissedAppointment(a.id, a.patient.id, a.doctor.id, a.healthPod.id, " +
+           "a.status, a.appointmentDateTime) FROM Appointment a WHERE a.appointmentDateTime < :before " +
+           "AND a.status IN :statuses AND NOT EXISTS (SELECT vc.id FROM VideoConsultation vc " +
+           "WHERE vc.appointment.id = a.id AND vc.actualStartTime IS NOT NULL) ORDER BY a.id")
+    List<MissedAppointment> findMissedForUpdate(LocalDateTime before, Collection<Appointment.AppointmentStatus> statuses,
+                                                Pageable page);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :status, a.updatedAt = :now WHERE a.id IN :ids")
+    int updateStatus(Collection<Long> ids, Appointment.AppointmentStatus status, LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.model.ConsultationMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ConsultationMessageRepository extends JpaRepository<ConsultationMessage, Long> {
+    
+    List<ConsultationMessage> findByConsultationIdOrderByTimestampAsc(Long consultationId);
+    
+    long countByConsultationId(Long consultationId);
+}
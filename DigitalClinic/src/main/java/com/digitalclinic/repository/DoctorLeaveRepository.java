@@ -0,0 +1,17 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.model.DoctorLeave;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DoctorLeaveRepository extends JpaRepository<DoctorLeave, Long> {
+    
+    List<DoctorLeave> findByDoctorIdAndEndDateTimeAfterOrderByStartDateTimeAsc(Long doctorId, LocalDateTime after);
+    
+    @Query("SELECT l FROM DoctorLeave l JOIN FETCH l.doctor d JOIN FETCH d.user WHERE d.verified = true AND l.endDateTime > :after")
+    List<DoctorLeave> findUpcomingForVerifiedDoctors(LocalDateTime after);
+}
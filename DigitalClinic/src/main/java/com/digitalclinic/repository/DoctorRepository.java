@@ -1,8 +1,13 @@
 package com.digitalclinic.repository;
 
+import com.digitalclinic.config.SecondLevelCacheConfig;
 import com.digitalclinic.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +19,25 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     List<Doctor> findBySpecialization(String specialization);
     List<Doctor> findByVerificationStatus(String status);
     
+    // Admin lists: the user is fetched in the same select instead of one select per doctor
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT d FROM Doctor d")
+    List<Doctor> findAllWithUser();
+    
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findWithUserByVerificationStatus(String status);
+    
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findWithUserByVerifiedTrue();
+    
     // ADD THIS METHOD:
     long countByVerifiedTrue();
     
+    // Read on every page that offers a filter; invalidated whenever the table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_LOOKUPS_REGION)
+    })
     @Query("SELECT DISTINCT d.specialization FROM Doctor d WHERE d.verified = true")
     List<String> findDistinctSpecializations();
     
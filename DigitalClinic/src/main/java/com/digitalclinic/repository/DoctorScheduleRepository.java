@@ -0,0 +1,18 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.model.DoctorSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long> {
+    
+    List<DoctorSchedule> findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(Long doctorId);
+    
+    // Availability engine load: doctor and pod come back in the same select
+    @Query("SELECT s FROM DoctorSchedule s JOIN FETCH s.doctor d JOIN FETCH d.user LEFT JOIN FETCH s.healthPod " +
+           "WHERE d.verified = true")
+    List<DoctorSchedule> findAllForVerifiedDoctors();
+}
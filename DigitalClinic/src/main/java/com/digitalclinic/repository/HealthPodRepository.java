@@ -1,8 +1,13 @@
 package com.digitalclinic.repository;
 
+import com.digitalclinic.config.SecondLevelCacheConfig;
 import com.digitalclinic.model.HealthPod;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -14,16 +19,32 @@ public interface HealthPodRepository extends JpaRepository<HealthPod, Long> {
     List<HealthPod> findByCity(String city);
     List<HealthPod> findByCityAndIsActiveTrue(String city);
     
+    // Read on every page that offers a filter; invalidated whenever the table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_LOOKUPS_REGION)
+    })
     @Query("SELECT DISTINCT h.city FROM HealthPod h WHERE h.isActive = true ORDER BY h.city")
     List<String> findDistinctCities();
     
-    @Query("SELECT h FROM HealthPod h WHERE h.isActive = true AND (" +
-           "LOWER(h.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(h.city) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(h.address) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<HealthPod> searchActivePods(String search);
-    
     long countByIsActiveTrue();
     
+    // Source rows for the pod geo index
+    @EntityGraph(attributePaths = "facilities")
+    @Query("SELECT h FROM HealthPod h WHERE h.isActive = true AND h.latitude IS NOT NULL AND h.longitude IS NOT NULL")
+    List<HealthPod> findLocatedActivePods();
+    
+    @EntityGraph(attributePaths = "facilities")
+    Optional<HealthPod> findWithFacilitiesById(Long id);
+    
+    // Source rows for the pod search index, loaded in one transaction
+    @EntityGraph(attributePaths = "facilities")
+    @Query("SELECT h FROM HealthPod h WHERE h.isActive = true")
+    List<HealthPod> findActiveWithFacilities();
+    
+    @EntityGraph(attributePaths = "equipment")
+    @Query("SELECT h FROM HealthPod h WHERE h.isActive = true")
+    List<HealthPod> findActiveWithEquipment();
+    
     Optional<HealthPod> findByNameAndCity(String name, String city);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByStatusOrderByIdAsc(OutboxEvent.Status status, Pageable pageable);
+
+    List<OutboxEvent> findByStatusAndAggregateTypeAndAggregateIdInOrderByAggregateSequenceAsc(
+        OutboxEvent.Status status, String aggregateType, Collection<Long> aggregateIds);
+
+    List<OutboxEvent> findByPositionGreaterThanOrderByPositionAsc(long position, Pageable pageable);
+
+    boolean existsByStatus(OutboxEvent.Status status);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") OutboxEvent.Status status,
+                     @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.publishedAt < :before")
+    int deleteByStatusAndPublishedAtBefore(@Param("status") OutboxEvent.Status status,
+                                           @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,22 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.model.OutboxSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxSequenceRepository extends JpaRepository<OutboxSequence, String> {
+
+    // Upsert: creates the row or adds to it, and holds its lock until commit either way. Two
+    // transactions starting a new key never both insert it; the second waits and then adds.
+    @Modifying
+    @Query(value = "INSERT INTO outbox_sequences (aggregate_key, last_sequence) VALUES (:aggregateKey, :increment) " +
+                   "ON DUPLICATE KEY UPDATE last_sequence = last_sequence + :increment", nativeQuery = true)
+    int advance(@Param("aggregateKey") String aggregateKey, @Param("increment") long increment);
+
+    @Query("SELECT s.lastSequence FROM OutboxSequence s WHERE s.aggregateKey = :aggregateKey")
+    long findLastSequence(@Param("aggregateKey") String aggregateKey);
+}
@@ -1,13 +1,18 @@
 package com.digitalclinic.repository;
 
 import com.digitalclinic.model.Patient;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByUserEmail(String email);
     
-    
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT p FROM Patient p")
+    List<Patient> findAllWithUser();
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
 package com.digitalclinic.repository;
 
+import com.digitalclinic.dto.ConsultationListItem;
+import com.digitalclinic.dto.StaleConsultation;
+import com.digitalclinic.dto.StatusCount;
 import com.digitalclinic.model.VideoConsultation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,11 +36,44 @@ public interface VideoConsultationRepository extends JpaRepository<VideoConsulta
     @Query("SELECT vc FROM VideoConsultation vc WHERE vc.status IN ('STARTED', 'IN_PROGRESS', 'PATIENT_WAITING', 'DOCTOR_JOINED')")
     List<VideoConsultation> findActiveConsultations();
     
+    long countByStatus(VideoConsultation.ConsultationStatus status);
+    long countByStatusIn(Collection<VideoConsultation.ConsultationStatus> statuses);
+    
+    @Query("SELECT new com.digitalclinic.dto.StatusCount(vc.status, COUNT(vc)) FROM VideoConsultation vc GROUP BY vc.status")
+    List<StatusCount> countGroupedByStatus();
+    
     @Query("SELECT COUNT(vc) FROM VideoConsultation vc WHERE vc.appointment.doctor.user.id = :doctorUserId " +
            "AND vc.status = 'COMPLETED'")
     long countCompletedConsultationsByDoctor(Long doctorUserId);
     
+    @Query(ConsultationListItem.SELECT + "WHERE pu.id = :patientUserId ORDER BY vc.scheduledStartTime DESC")
+    List<ConsultationListItem> findPatientListItems(Long patientUserId);
+    
+    @Query(ConsultationListItem.SELECT + "WHERE du.id = :doctorUserId ORDER BY vc.scheduledStartTime DESC")
+    List<ConsultationListItem> findDoctorListItems(Long doctorUserId);
+    
     @Query("SELECT vc FROM VideoConsultation vc WHERE vc.appointment.doctor.user.id = :doctorUserId " +
            "AND vc.scheduledStartTime BETWEEN :start AND :end")
     List<VideoConsultation> findDoctorConsultationsBetweenDates(Long doctorUserId, LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+    
+    // Waiting room ETAs: the doctor's latest consultation lengths, newest first
+    @Query("SELECT vc.durationMinutes FROM VideoConsultation vc WHERE vc.appointment.doctor.user.id = :doctorUserId " +
+           "AND vc.durationMinutes IS NOT NULL ORDER BY vc.endTime DESC")
+    List<Integer> findRecentDurations(Long doctorUserId, Pageable page);
+    
+    // Lifecycle sweeper: one chunk of consultations in the given statuses that started (or were due to) before the
+    // cutoff, locked until the chunk is closed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.digitalclinic.dto.StaleConsultation(vc.id, vc.roomId, vc.appointment.id, vc.status) " +
+           "FROM VideoConsultation vc WHERE vc.status IN :statuses " +
+           "AND COALESCE(vc.actualStartTime, vc.scheduledStartTime) < :before ORDER BY vc.id")
+    List<StaleConsultation> findStaleForUpdate(Collection<VideoConsultation.ConsultationStatus> statuses,
+                                               LocalDateTime before, Pageable page);
+    
+    @Modifying
+    @Query("UPDATE VideoConsultation vc SET vc.status = :status, vc.endTime = :now, vc.updatedAt = :now WHERE vc.id IN :ids")
+    int closeConsultations(Collection<Long> ids, VideoConsultation.ConsultationStatus status, LocalDateTime now);
+    
+    @Query("SELECT vc.id FROM VideoConsultation vc WHERE vc.id IN :ids AND vc.status IN :statuses")
+    List<Long> findIdsByIdInAndStatusIn(Collection<Long> ids, Collection<VideoConsultation.ConsultationStatus> statuses);
+}
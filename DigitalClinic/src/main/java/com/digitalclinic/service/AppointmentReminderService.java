@@ -0,0 +1,229 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AppointmentReminder;
+import com.digitalclinic.dto.UpcomingAppointment;
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Day-before and hour-before reminders for every scheduled or confirmed appointment. Upcoming
+ * appointments are read once at startup into a {@link TimingWheel}; after that, bookings,
+ * cancellations and reschedules arrive as appointment events and each costs a constant-time
+ * wheel update, so no query runs until reminders actually come due. The reminders due in a tick
+ * are looked up together (which also drops appointments cancelled in the meantime) and handed
+ * to the {@link ReminderChannel} on a thread of their own.
+ *
+ * Reminders whose time has passed are not sent, so a restart never repeats one; those that fell
+ * due while the application was down are lost.
+ */
+@Service
+@DependsOn("outboxRelay")
+public class AppointmentReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentReminderService.class);
+
+    // Statuses that still expect the patient to turn up
+    public static final List<Appointment.AppointmentStatus> REMINDED_STATUSES = List.of(
+        Appointment.AppointmentStatus.SCHEDULED, Appointment.AppointmentStatus.CONFIRMED);
+
+    // Appointments per reminder lookup query when many reminders come due in the same tick
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ReminderChannel reminderChannel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clinic.reminders.tick-ms:1000}")
+    private long tickMillis;
+
+    private final Object lock = new Object();
+    private TimingWheel<PendingReminder> wheel;
+    // Per appointment, its scheduled reminders, so a change can cancel them without searching the wheel
+    private final Map<Long, List<TimingWheel.Timeout<PendingReminder>>> byAppointment = new HashMap<>();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService delivery;
+    private Counter sent;
+    private Counter failed;
+
+    @PostConstruct
+    public void start() {
+        long now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(tickMillis, now);
+
+        // Runs after the relay has placed its cursor and before it starts, so no event since the cursor is missed
+        List<UpcomingAppointment> upcoming = appointmentRepository.findUpcoming(LocalDateTime.now(), REMINDED_STATUSES);
+        synchronized (lock) {
+            for (UpcomingAppointment appointment : upcoming) {
+                schedule(appointment.getId(), appointment.getAppointmentDateTime(), now);
+            }
+        }
+        log.info("Reminder wheel loaded {} reminders for {} upcoming appointments", wheel.size(), byAppointment.size());
+
+        Gauge.builder("clinic.reminders.pending", this, service -> service.pendingCount())
+            .description("Reminders waiting in the timing wheel")
+            .register(meterRegistry);
+        sent = Counter.builder("clinic.reminders.sent").register(meterRegistry);
+        failed = Counter.builder("clinic.reminders.failed").register(meterRegistry);
+
+        delivery = Executors.newSingleThreadExecutor(task -> daemon(task, "reminder-delivery"));
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "reminder-wheel"));
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getChangeType() == AppointmentChangedEvent.ChangeType.FEEDBACK_ADDED) {
+            return;
+        }
+        synchronized (lock) {
+            if (REMINDED_STATUSES.contains(event.getNewStatus()) && event.getNewDateTime() != null) {
+                // Booked, rescheduled or back to scheduled: replaces whatever was pending
+                schedule(event.getAppointmentId(), event.getNewDateTime(), System.currentTimeMillis());
+            } else {
+                cancel(event.getAppointmentId());
+            }
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            delivery.shutdown();
+        }
+    }
+
+    // Caller holds the lock
+    private void schedule(Long appointmentId, LocalDateTime appointmentDateTime, long now) {
+        cancel(appointmentId);
+        long startsAt = appointmentDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<TimingWheel.Timeout<PendingReminder>> timeouts = new ArrayList<>(AppointmentReminder.Kind.values().length);
+        for (AppointmentReminder.Kind kind : AppointmentReminder.Kind.values()) {
+            long sendAt = startsAt - kind.getLeadTime().toMillis();
+            if (sendAt > now) {
+                timeouts.add(wheel.schedule(sendAt, new PendingReminder(appointmentId, kind)));
+            }
+        }
+        if (!timeouts.isEmpty()) {
+            byAppointment.put(appointmentId, timeouts);
+        }
+    }
+
+    // Caller holds the lock
+    private void cancel(Long appointmentId) {
+        List<TimingWheel.Timeout<PendingReminder>> timeouts = byAppointment.remove(appointmentId);
+        if (timeouts != null) {
+            timeouts.forEach(wheel::cancel);
+        }
+    }
+
+    private void tick() {
+        try {
+            List<PendingReminder> due = advance();
+            for (int from = 0; from < due.size(); from += LOOKUP_BATCH_SIZE) {
+                List<PendingReminder> batch = due.subList(from, Math.min(due.size(), from + LOOKUP_BATCH_SIZE));
+                delivery.execute(() -> deliver(batch));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate task and stop the wheel for good
+            log.error("Reminder wheel tick failed", e);
+        }
+    }
+
+    private List<PendingReminder> advance() {
+        List<PendingReminder> due;
+        synchronized (lock) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+            for (PendingReminder reminder : due) {
+                List<TimingWheel.Timeout<PendingReminder>> timeouts = byAppointment.get(reminder.appointmentId);
+                if (timeouts != null) {
+                    timeouts.removeIf(timeout -> timeout.getPayload() == reminder);
+                    if (timeouts.isEmpty()) {
+                        byAppointment.remove(reminder.appointmentId);
+                    }
+                }
+            }
+        }
+        return due;
+    }
+
+    private void deliver(List<PendingReminder> due) {
+        try {
+            // Only appointments still scheduled or confirmed come back
+            Map<Long, AppointmentReminder> reminders = appointmentRepository.findReminders(
+                    due.stream().map(reminder -> reminder.appointmentId).collect(Collectors.toSet()), REMINDED_STATUSES)
+                .stream()
+                .collect(Collectors.toMap(AppointmentReminder::getAppointmentId, Function.identity()));
+
+            for (PendingReminder pending : due) {
+                AppointmentReminder reminder = reminders.get(pending.appointmentId);
+                if (reminder == null) {
+                    continue;
+                }
+                try {
+                    reminderChannel.send(reminder.withKind(pending.kind));
+                    sent.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.error("Could not send {} reminder for appointment {}", pending.kind, pending.appointmentId, e);
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.increment(due.size());
+            log.error("Could not load {} due reminders", due.size(), e);
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class PendingReminder {
+        private final Long appointmentId;
+        private final AppointmentReminder.Kind kind;
+
+        PendingReminder(Long appointmentId, AppointmentReminder.Kind kind) {
+            this.appointmentId = appointmentId;
+            this.kind = kind;
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.digitalclinic.service;
 
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.dto.AppointmentCounts;
+import com.digitalclinic.dto.KeysetPage;
+import com.digitalclinic.event.AppointmentChangedEvent;
 import com.digitalclinic.model.*;
 import com.digitalclinic.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class AppointmentService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private AppointmentRepository appointmentRepository;
     
@@ -25,6 +40,18 @@ public class AppointmentService {
     @Autowired
     private HealthPodService healthPodService;
     
+    @Autowired
+    private SlotReservationService slotReservationService;
+    
+    @Autowired
+    private AvailabilityService availabilityService;
+    
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
     public Appointment bookAppointment(Appointment appointment) {
         // Validate appointment
         if (appointment.getPatient() == null) {
@@ -40,17 +67,50 @@ public class AppointmentService {
             appointment.setConsultationFee(appointment.getDoctor().getConsultationFee());
         }
         
-        return appointmentRepository.save(appointment);
+        availabilityService.checkBookable(doctorId(appointment), podId(appointment), appointment.getAppointmentDateTime());
+        
+        // Claim the doctor/pod slot in memory first, the row is only written if the slot is free
+        Appointment saved = slotReservationService.reserve(doctorId(appointment), podId(appointment),
+            appointment.getAppointmentDateTime(),
+            () -> saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.BOOKED, null, null));
+        return saved;
+    }
+    
+    // Bulk save for seeding and imports of already scheduled appointments: no availability
+    // check or slot claim, one transaction, inserts (rows and their events) sent in JDBC batches
+    public List<Appointment> saveAppointments(List<Appointment> appointments) {
+        return transactionTemplate.execute(status -> {
+            List<Appointment> saved = appointmentRepository.saveAll(appointments);
+            saved.forEach(appointment -> domainEventOutbox.append(
+                new AppointmentChangedEvent(AppointmentChangedEvent.ChangeType.BOOKED, appointment, null, null)));
+            return saved;
+        });
     }
     
     public Optional<Appointment> getAppointmentById(Long id) {
         return appointmentRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Appointment> getPatientAppointments(Long patientUserId) {
         return appointmentRepository.findByPatientUserIdOrderByAppointmentDateTimeDesc(patientUserId);
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<AppointmentListItem> getPatientAppointmentsPage(Long patientId, LocalDateTime before, Long beforeId, int size) {
+        int pageSize = clampPageSize(size);
+        // One extra row tells us whether there is a next page without a COUNT query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<AppointmentListItem> rows = before == null || beforeId == null
+            ? appointmentRepository.findPatientHistoryFirstPage(patientId, limit)
+            : appointmentRepository.findPatientHistoryPageBefore(patientId, before, beforeId, limit);
+        return toPage(rows, pageSize);
+    }
+    
+    public List<AppointmentListItem> getRecentAppointments(int limit) {
+        return appointmentRepository.findRecentItems(PageRequest.of(0, limit));
+    }
+    
     public List<Appointment> getPatientUpcomingAppointments(Long patientUserId) {
         return appointmentRepository.findByPatientUserIdAndAppointmentDateTimeAfterOrderByAppointmentDateTimeAsc(
             patientUserId, LocalDateTime.now());
@@ -61,15 +121,36 @@ public class AppointmentService {
             patientUserId, LocalDateTime.now());
     }
     
+    @Transactional(readOnly = true)
     public List<Appointment> getDoctorAppointments(Long doctorUserId) {
         return appointmentRepository.findByDoctorUserIdOrderByAppointmentDateTimeDesc(doctorUserId);
     }
     
+    // Totals over all of the doctor's appointments, not just the page on screen
+    @Transactional(readOnly = true)
+    public AppointmentCounts getDoctorAppointmentCounts(Long doctorId) {
+        return appointmentRepository.countDoctorAppointments(doctorId, LocalDateTime.now());
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<AppointmentListItem> getDoctorAppointmentsPage(Long doctorId, LocalDateTime before, Long beforeId, int size) {
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<AppointmentListItem> rows = before == null || beforeId == null
+            ? appointmentRepository.findDoctorHistoryFirstPage(doctorId, limit)
+            : appointmentRepository.findDoctorHistoryPageBefore(doctorId, before, beforeId, limit);
+        return toPage(rows, pageSize);
+    }
+    
     public List<Appointment> getDoctorUpcomingAppointments(Long doctorUserId) {
         return appointmentRepository.findByDoctorUserIdAndAppointmentDateTimeAfterOrderByAppointmentDateTimeAsc(
             doctorUserId, LocalDateTime.now());
     }
     
+    public List<AppointmentListItem> getDoctorDayItems(Long doctorId, LocalDate day) {
+        return appointmentRepository.findDoctorDayItems(doctorId, day.atStartOfDay(), day.atTime(LocalTime.MAX));
+    }
+    
     public List<Appointment> getDoctorTodayAppointments(Long doctorUserId) {
         LocalDate today = LocalDate.now();
         LocalDateTime startOfDay = today.atStartOfDay();
@@ -78,16 +159,21 @@ public class AppointmentService {
         return appointmentRepository.findDoctorAppointmentsBetweenDates(doctorUserId, startOfDay, endOfDay);
     }
     
+    @Transactional
     public Appointment updateAppointmentStatus(Long appointmentId, Appointment.AppointmentStatus status) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(appointmentId);
         if (appointmentOpt.isPresent()) {
             Appointment appointment = appointmentOpt.get();
+            Appointment.AppointmentStatus previousStatus = appointment.getStatus();
             appointment.setStatus(status);
-            return appointmentRepository.save(appointment);
+            return saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.STATUS_CHANGED,
+                previousStatus, appointment.getAppointmentDateTime());
         }
         throw new RuntimeException("Appointment not found");
     }
     
+    // Read-write throughout, so the appointment is read from the primary it is written back to
+    @Transactional
     public Appointment cancelAppointment(Long appointmentId, String reason) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(appointmentId);
         if (appointmentOpt.isPresent()) {
@@ -97,28 +183,40 @@ public class AppointmentService {
                 throw new RuntimeException("Appointment cannot be cancelled. Minimum 2 hours notice required.");
             }
             
+            Appointment.AppointmentStatus previousStatus = appointment.getStatus();
             appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
             appointment.setNotes((appointment.getNotes() != null ? appointment.getNotes() + "\n" : "") + 
                                "Cancelled: " + reason);
-            return appointmentRepository.save(appointment);
+            Appointment saved = saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.CANCELLED,
+                previousStatus, appointment.getAppointmentDateTime());
+            afterCompletion(committed -> {
+                if (committed) {
+                    slotReservationService.release(doctorId(saved), podId(saved), saved.getAppointmentDateTime());
+                }
+            });
+            return saved;
         }
         throw new RuntimeException("Appointment not found");
     }
     
+    @Transactional
     public Appointment completeAppointment(Long appointmentId, String prescription, String notes) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(appointmentId);
         if (appointmentOpt.isPresent()) {
             Appointment appointment = appointmentOpt.get();
+            Appointment.AppointmentStatus previousStatus = appointment.getStatus();
             appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
             appointment.setPrescription(prescription);
             appointment.setNotes(notes);
             appointment.setPaymentStatus(true); // Auto-mark as paid for completed appointments
             
-            return appointmentRepository.save(appointment);
+            return saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.COMPLETED,
+                previousStatus, appointment.getAppointmentDateTime());
         }
         throw new RuntimeException("Appointment not found");
     }
     
+    @Transactional
     public Appointment rescheduleAppointment(Long appointmentId, LocalDateTime newDateTime) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(appointmentId);
         if (appointmentOpt.isPresent()) {
@@ -128,16 +226,38 @@ public class AppointmentService {
                 throw new RuntimeException("Appointment cannot be rescheduled. Minimum 2 hours notice required.");
             }
             
-            appointment.setAppointmentDateTime(newDateTime);
-            appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
-            appointment.setNotes((appointment.getNotes() != null ? appointment.getNotes() + "\n" : "") + 
-                               "Rescheduled to: " + newDateTime);
+            availabilityService.checkBookable(doctorId(appointment), podId(appointment), newDateTime);
+            
+            LocalDateTime previousDateTime = appointment.getAppointmentDateTime();
+            Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+            boolean sameSlot = previousDateTime.toLocalDate().equals(newDateTime.toLocalDate())
+                && SlotReservationService.slotIndex(previousDateTime) == SlotReservationService.slotIndex(newDateTime);
+            
+            Supplier<Appointment> writeThrough = () -> {
+                appointment.setAppointmentDateTime(newDateTime);
+                appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+                appointment.setNotes((appointment.getNotes() != null ? appointment.getNotes() + "\n" : "") + 
+                                   "Rescheduled to: " + newDateTime);
+                return saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.RESCHEDULED,
+                    previousStatus, previousDateTime);
+            };
             
-            return appointmentRepository.save(appointment);
+            Appointment saved;
+            if (sameSlot) {
+                saved = writeThrough.get();
+            } else {
+                saved = slotReservationService.reserve(doctorId(appointment), podId(appointment),
+                    newDateTime, writeThrough);
+                // The new slot is held from now on; which of the two is given back depends on the commit
+                afterCompletion(committed -> slotReservationService.release(doctorId(appointment), podId(appointment),
+                    committed ? previousDateTime : newDateTime));
+            }
+            return saved;
         }
         throw new RuntimeException("Appointment not found");
     }
     
+    @Transactional
     public void addFeedback(Long appointmentId, Integer rating, String feedback) {
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(appointmentId);
         if (appointmentOpt.isPresent()) {
@@ -147,9 +267,11 @@ public class AppointmentService {
                 throw new RuntimeException("Feedback can only be added for completed appointments");
             }
             
+            Appointment.AppointmentStatus status = appointment.getStatus();
             appointment.setRating(rating);
             appointment.setFeedback(feedback);
-            appointmentRepository.save(appointment);
+            saveAndRecord(appointment, AppointmentChangedEvent.ChangeType.FEEDBACK_ADDED,
+                status, appointment.getAppointmentDateTime());
         } else {
             throw new RuntimeException("Appointment not found");
         }
@@ -165,9 +287,7 @@ public class AppointmentService {
     }
     
     public long getUpcomingAppointmentsCount() {
-        // FIX: Using the method we just added to repository
-        return appointmentRepository.findByAppointmentDateTimeAfterOrderByAppointmentDateTimeAsc(
-            LocalDateTime.now()).size();
+        return appointmentRepository.countByAppointmentDateTimeAfter(LocalDateTime.now());
     }
     
     public long getPatientAppointmentsCount(Long patientUserId) {
@@ -183,6 +303,46 @@ public class AppointmentService {
         return appointmentRepository.findTodayAppointmentsByPatient(patientUserId);
     }
     
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+    }
+    
+    private static KeysetPage<AppointmentListItem> toPage(List<AppointmentListItem> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentListItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+        AppointmentListItem last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return new KeysetPage<>(items, pageSize, hasMore,
+            hasMore ? last.getAppointmentDateTime() : null,
+            hasMore ? last.getId() : null);
+    }
+    
+    // The row and its event commit together; listeners see the event later, from the outbox relay
+    private Appointment saveAndRecord(Appointment appointment, AppointmentChangedEvent.ChangeType changeType,
+                                      Appointment.AppointmentStatus previousStatus, LocalDateTime previousDateTime) {
+        return transactionTemplate.execute(status -> {
+            Appointment saved = appointmentRepository.save(appointment);
+            domainEventOutbox.append(new AppointmentChangedEvent(changeType, saved, previousStatus, previousDateTime));
+            return saved;
+        });
+    }
+    
+    private static void afterCompletion(Consumer<Boolean> action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+    
+    private static Long doctorId(Appointment appointment) {
+        return appointment.getDoctor() != null ? appointment.getDoctor().getId() : null;
+    }
+    
+    private static Long podId(Appointment appointment) {
+        return appointment.getHealthPod() != null ? appointment.getHealthPod().getId() : null;
+    }
+    
     // Initialize sample appointments
     public void initializeSampleAppointments() {
         if (appointmentRepository.count() == 0) {
@@ -202,7 +362,6 @@ public class AppointmentService {
                 app1.setHealthPod(pods.get(0));
                 app1.setSymptoms("Fever and cough for 2 days");
                 app1.setConsultationFee(500.0);
-                appointmentRepository.save(app1);
                 
                 // Sample appointment 2 - Completed
                 Appointment app2 = new Appointment(patient1.get(), 
@@ -214,7 +373,6 @@ public class AppointmentService {
                 app2.setPrescription("Multivitamins once daily for 30 days");
                 app2.setConsultationFee(300.0);
                 app2.setPaymentStatus(true);
-                appointmentRepository.save(app2);
                 
                 // Sample appointment 3 - Today's appointment
                 Appointment app3 = new Appointment(patient1.get(), 
@@ -224,7 +382,7 @@ public class AppointmentService {
                 app3.setStatus(Appointment.AppointmentStatus.CONFIRMED);
                 app3.setSymptoms("Follow-up consultation");
                 app3.setConsultationFee(300.0);
-                appointmentRepository.save(app3);
+                saveAppointments(List.of(app1, app2, app3));
             }
         }
     }
@@ -0,0 +1,377 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AvailableSlot;
+import com.digitalclinic.event.DoctorChangedEvent;
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.DoctorLeave;
+import com.digitalclinic.model.DoctorSchedule;
+import com.digitalclinic.repository.DoctorLeaveRepository;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.DoctorScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers "earliest free slots" questions in memory. Each verified doctor's weekly working
+ * hours and upcoming leave are compiled into sorted interval arrays; a query walks every
+ * candidate doctor's free slots lazily and merges them with a heap, so only as many slots
+ * as requested are ever materialized. Booked slots come from {@link SlotReservationService}.
+ */
+@Service
+public class AvailabilityService {
+
+    public static final int MIN_LEAD_MINUTES = 60;
+    public static final int MAX_SEARCH_DAYS = 31;
+    public static final int MAX_RESULTS = 50;
+
+    private static final int SLOT_MINUTES = SlotReservationService.SLOT_MINUTES;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Autowired
+    private DoctorLeaveRepository doctorLeaveRepository;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    // Verified doctors only
+    private final ConcurrentHashMap<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Up to {@code limit} free slots between {@code from} and {@code to}, earliest first.
+     * Every filter is optional; {@code podId} restricts the search to hours worked at that pod.
+     */
+    public List<AvailableSlot> findEarliestSlots(String specialization, Long doctorId, Long podId,
+                                                 LocalDateTime from, LocalDateTime to, int limit) {
+        ensureLoaded();
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+        LocalDateTime earliest = LocalDateTime.now().plusMinutes(MIN_LEAD_MINUTES);
+        LocalDateTime start = roundUpToSlot(from.isAfter(earliest) ? from : earliest);
+        LocalDateTime end = to.isAfter(start.plusDays(MAX_SEARCH_DAYS)) ? start.plusDays(MAX_SEARCH_DAYS) : to;
+
+        PriorityQueue<SlotCursor> heap = new PriorityQueue<>(Comparator
+            .comparing((SlotCursor cursor) -> cursor.current.getStart())
+            .thenComparing(cursor -> cursor.calendar.doctorId));
+        for (DoctorCalendar calendar : calendars.values()) {
+            if (calendar.matches(specialization, doctorId, podId)) {
+                SlotCursor cursor = new SlotCursor(calendar, podId, start, end);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+        }
+
+        List<AvailableSlot> slots = new ArrayList<>(boundedLimit);
+        while (slots.size() < boundedLimit && !heap.isEmpty()) {
+            SlotCursor cursor = heap.poll();
+            slots.add(cursor.current);
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Rejects a booking outside the doctor's working hours or during their leave.
+     * Doctors who have not set up working hours yet can still be booked at any time.
+     */
+    public void checkBookable(Long doctorId, Long podId, LocalDateTime dateTime) {
+        if (doctorId == null) {
+            return;
+        }
+        ensureLoaded();
+        DoctorCalendar calendar = calendars.get(doctorId);
+        if (calendar == null || !calendar.hasWorkingHours()) {
+            return;
+        }
+
+        int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+        Block block = calendar.blockAtOrAfter(dateTime.getDayOfWeek(), minute, podId);
+        if (block == null || block.startMinute > minute || block.endMinute < minute + SLOT_MINUTES) {
+            throw new RuntimeException("Dr. " + calendar.doctorName + " is not available at " + dateTime
+                + ". Please choose one of the available slots.");
+        }
+        if (calendar.leaveEndOverlapping(dateTime, dateTime.plusMinutes(SLOT_MINUTES)) != null) {
+            throw new RuntimeException("Dr. " + calendar.doctorName + " is on leave at " + dateTime
+                + ". Please choose one of the available slots.");
+        }
+    }
+
+    @EventListener
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        synchronized (writeLock) {
+            // Not loaded yet: the first query reads the change from the database
+            if (!loaded) {
+                return;
+            }
+            Doctor doctor = doctorRepository.findById(event.getDoctorId()).orElse(null);
+            if (doctor == null || !Boolean.TRUE.equals(doctor.getVerified())) {
+                calendars.remove(event.getDoctorId());
+                return;
+            }
+            calendars.put(doctor.getId(), compile(doctor,
+                doctorScheduleRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctor.getId()),
+                doctorLeaveRepository.findByDoctorIdAndEndDateTimeAfterOrderByStartDateTimeAsc(doctor.getId(), LocalDateTime.now())));
+        }
+    }
+
+    // Pod renames and deactivations touch many doctors' hours, recompile everything on next use
+    @EventListener
+    public void onHealthPodChanged(HealthPodChangedEvent event) {
+        synchronized (writeLock) {
+            loaded = false;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void load() {
+        Map<Long, List<DoctorSchedule>> schedules = new HashMap<>();
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllForVerifiedDoctors()) {
+            schedules.computeIfAbsent(schedule.getDoctor().getId(), id -> new ArrayList<>()).add(schedule);
+        }
+        Map<Long, List<DoctorLeave>> leaves = new HashMap<>();
+        for (DoctorLeave leave : doctorLeaveRepository.findUpcomingForVerifiedDoctors(LocalDateTime.now())) {
+            leaves.computeIfAbsent(leave.getDoctor().getId(), id -> new ArrayList<>()).add(leave);
+        }
+
+        Map<Long, DoctorCalendar> compiled = new HashMap<>();
+        for (Doctor doctor : doctorRepository.findWithUserByVerifiedTrue()) {
+            compiled.put(doctor.getId(), compile(doctor,
+                schedules.getOrDefault(doctor.getId(), List.of()),
+                leaves.getOrDefault(doctor.getId(), List.of())));
+        }
+        calendars.keySet().retainAll(compiled.keySet());
+        calendars.putAll(compiled);
+        loaded = true;
+    }
+
+    private static DoctorCalendar compile(Doctor doctor, List<DoctorSchedule> schedules, List<DoctorLeave> leaves) {
+        List<List<Block>> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            week.add(new ArrayList<>());
+        }
+        for (DoctorSchedule schedule : schedules) {
+            // Hours at a deactivated pod are not bookable
+            if (schedule.getHealthPod() != null && !Boolean.TRUE.equals(schedule.getHealthPod().getIsActive())) {
+                continue;
+            }
+            week.get(schedule.getDayOfWeek().getValue() - 1).add(new Block(
+                schedule.getStartTime().getHour() * 60 + schedule.getStartTime().getMinute(),
+                schedule.getEndTime().getHour() * 60 + schedule.getEndTime().getMinute(),
+                schedule.getHealthPod() != null ? schedule.getHealthPod().getId() : null,
+                schedule.getHealthPod() != null ? schedule.getHealthPod().getName() : null));
+        }
+
+        Block[][] blocks = new Block[7][];
+        for (int day = 0; day < 7; day++) {
+            List<Block> dayBlocks = week.get(day);
+            dayBlocks.sort(Comparator.comparingInt(block -> block.startMinute));
+            blocks[day] = dayBlocks.toArray(new Block[0]);
+        }
+
+        // Overlapping or touching leaves are merged so a lookup only ever has to look at one interval
+        List<DoctorLeave> sortedLeaves = new ArrayList<>(leaves);
+        sortedLeaves.sort(Comparator.comparing(DoctorLeave::getStartDateTime));
+        List<LocalDateTime[]> merged = new ArrayList<>();
+        for (DoctorLeave leave : sortedLeaves) {
+            LocalDateTime[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !leave.getStartDateTime().isAfter(last[1])) {
+                if (leave.getEndDateTime().isAfter(last[1])) {
+                    last[1] = leave.getEndDateTime();
+                }
+            } else {
+                merged.add(new LocalDateTime[] { leave.getStartDateTime(), leave.getEndDateTime() });
+            }
+        }
+        LocalDateTime[] leaveStarts = new LocalDateTime[merged.size()];
+        LocalDateTime[] leaveEnds = new LocalDateTime[merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            leaveStarts[i] = merged.get(i)[0];
+            leaveEnds[i] = merged.get(i)[1];
+        }
+
+        String doctorName = doctor.getUser() != null ? doctor.getUser().getFullName() : null;
+        return new DoctorCalendar(doctor.getId(), doctorName, doctor.getSpecialization(),
+            doctor.getConsultationFee(), blocks, leaveStarts, leaveEnds);
+    }
+
+    private static LocalDateTime roundUpToSlot(LocalDateTime time) {
+        LocalDateTime truncated = time.withSecond(0).withNano(0);
+        int minute = truncated.getHour() * 60 + truncated.getMinute();
+        int remainder = minute % SLOT_MINUTES;
+        LocalDateTime aligned = remainder == 0 ? truncated : truncated.plusMinutes(SLOT_MINUTES - remainder);
+        return aligned.isBefore(time) ? aligned.plusMinutes(SLOT_MINUTES) : aligned;
+    }
+
+    // A working-hours block of one weekday, in minutes since midnight
+    private static final class Block {
+        private final int startMinute;
+        private final int endMinute;
+        private final Long podId;
+        private final String podName;
+
+        Block(int startMinute, int endMinute, Long podId, String podName) {
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.podId = podId;
+            this.podName = podName;
+        }
+    }
+
+    private static final class DoctorCalendar {
+        private final Long doctorId;
+        private final String doctorName;
+        private final String specialization;
+        private final Double consultationFee;
+        private final Block[][] week;
+        private final LocalDateTime[] leaveStarts;
+        private final LocalDateTime[] leaveEnds;
+
+        DoctorCalendar(Long doctorId, String doctorName, String specialization, Double consultationFee,
+                       Block[][] week, LocalDateTime[] leaveStarts, LocalDateTime[] leaveEnds) {
+            this.doctorId = doctorId;
+            this.doctorName = doctorName;
+            this.specialization = specialization;
+            this.consultationFee = consultationFee;
+            this.week = week;
+            this.leaveStarts = leaveStarts;
+            this.leaveEnds = leaveEnds;
+        }
+
+        boolean hasWorkingHours() {
+            return Arrays.stream(week).anyMatch(blocks -> blocks.length > 0);
+        }
+
+        boolean matches(String wantedSpecialization, Long wantedDoctorId, Long wantedPodId) {
+            if (wantedDoctorId != null && !wantedDoctorId.equals(doctorId)) {
+                return false;
+            }
+            if (wantedSpecialization != null && !wantedSpecialization.isBlank()
+                && (specialization == null || !specialization.equalsIgnoreCase(wantedSpecialization.trim()))) {
+                return false;
+            }
+            for (Block[] blocks : week) {
+                for (Block block : blocks) {
+                    if (wantedPodId == null || wantedPodId.equals(block.podId)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // First block of the day that is still running at or starts after {@code minute}
+        Block blockAtOrAfter(DayOfWeek day, int minute, Long podId) {
+            for (Block block : week[day.getValue() - 1]) {
+                if (block.endMinute > minute && (podId == null || podId.equals(block.podId))) {
+                    return block;
+                }
+            }
+            return null;
+        }
+
+        // End of the leave overlapping [start, end), or null when the doctor is working
+        LocalDateTime leaveEndOverlapping(LocalDateTime start, LocalDateTime end) {
+            // Binary search for the last leave starting before {@code end}; leaves are disjoint
+            int low = 0;
+            int high = leaveStarts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (leaveStarts[mid].isBefore(end)) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found >= 0 && leaveEnds[found].isAfter(start) ? leaveEnds[found] : null;
+        }
+    }
+
+    // Lazily walks one doctor's free slots in time order
+    private final class SlotCursor {
+        private final DoctorCalendar calendar;
+        private final Long podId;
+        private final LocalDateTime end;
+        private LocalDateTime position;
+        private AvailableSlot current;
+
+        SlotCursor(DoctorCalendar calendar, Long podId, LocalDateTime start, LocalDateTime end) {
+            this.calendar = calendar;
+            this.podId = podId;
+            this.end = end;
+            this.position = start;
+        }
+
+        boolean advance() {
+            while (position.isBefore(end)) {
+                LocalDate day = position.toLocalDate();
+                int minute = position.getHour() * 60 + position.getMinute();
+                Block block = calendar.blockAtOrAfter(day.getDayOfWeek(), minute, podId);
+                if (block == null) {
+                    position = day.plusDays(1).atStartOfDay();
+                    continue;
+                }
+
+                int slotMinute = Math.max(minute, block.startMinute);
+                slotMinute = (slotMinute + SLOT_MINUTES - 1) / SLOT_MINUTES * SLOT_MINUTES;
+                if (slotMinute + SLOT_MINUTES > block.endMinute) {
+                    position = day.atStartOfDay().plusMinutes(block.endMinute);
+                    continue;
+                }
+
+                LocalDateTime slotStart = day.atStartOfDay().plusMinutes(slotMinute);
+                LocalDateTime slotEnd = slotStart.plusMinutes(SLOT_MINUTES);
+                if (!slotStart.isBefore(end)) {
+                    break;
+                }
+                LocalDateTime leaveEnd = calendar.leaveEndOverlapping(slotStart, slotEnd);
+                if (leaveEnd != null) {
+                    position = leaveEnd;
+                    continue;
+                }
+
+                position = slotEnd;
+                if (slotReservationService.isDoctorSlotFree(calendar.doctorId, slotStart)
+                    && (block.podId == null || slotReservationService.isPodSlotFree(block.podId, slotStart))) {
+                    current = new AvailableSlot(calendar.doctorId, calendar.doctorName, calendar.specialization,
+                        calendar.consultationFee, block.podId, block.podName, slotStart, slotEnd);
+                    return true;
+                }
+            }
+            current = null;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.BookingDirectory;
+import com.digitalclinic.dto.BookingDirectory.DoctorEntry;
+import com.digitalclinic.dto.BookingDirectory.PodEntry;
+import com.digitalclinic.dto.DoctorRating;
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.event.DoctorChangedEvent;
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.repository.AppointmentRepository;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.HealthPodRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Booking form directory (verified doctors and active pods) kept as an immutable snapshot,
+ * together with its JSON and gzip encodings and their ETags. Doctor, pod and feedback events
+ * only mark the snapshot stale; the next reader rebuilds it with three queries, so a burst
+ * of edits costs one rebuild and a form view costs none.
+ */
+@Service
+public class BookingDirectoryService {
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private HealthPodRepository healthPodRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Bumped by every change event; a snapshot is current while it was built at the latest generation
+    private final AtomicLong generation = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public BookingDirectory getDirectory() {
+        return current().directory;
+    }
+
+    public Snapshot getSnapshot() {
+        return current();
+    }
+
+    @EventListener
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @EventListener
+    public void onHealthPodChanged(HealthPodChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    // Ratings are the only appointment data in the directory
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getChangeType() == AppointmentChangedEvent.ChangeType.FEEDBACK_ADDED) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation == generation.get()) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            long target = generation.get();
+            if (current == null || current.generation != target) {
+                // An event arriving during the build bumps the generation again, so it is never lost
+                current = build(target);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(long target) {
+        // Not read-only on purpose: a replica that has not caught up yet would be cached until the next change
+        BookingDirectory directory = transactionTemplate.execute(status -> load());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(directory);
+            byte[] gzip = gzip(json);
+            String hash = sha256(json);
+            return new Snapshot(target, directory, json, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialise the booking directory", e);
+        }
+    }
+
+    private BookingDirectory load() {
+        Map<Long, DoctorRating> ratings = appointmentRepository.findDoctorRatings().stream()
+            .collect(Collectors.toMap(DoctorRating::getDoctorId, Function.identity()));
+
+        List<DoctorEntry> doctors = doctorRepository.findWithUserByVerifiedTrue().stream()
+            .sorted(Comparator.comparing(Doctor::getId))
+            .map(doctor -> {
+                DoctorRating rating = ratings.get(doctor.getId());
+                return new DoctorEntry(doctor.getId(),
+                    doctor.getUser() != null ? doctor.getUser().getFullName() : null,
+                    doctor.getSpecialization(), doctor.getQualification(), doctor.getConsultationFee(),
+                    rating != null ? Math.round(rating.getAverage() * 10) / 10.0 : null,
+                    rating != null ? rating.getCount() : 0);
+            })
+            .collect(Collectors.toList());
+
+        List<PodEntry> pods = healthPodRepository.findActiveWithFacilities().stream()
+            .sorted(Comparator.comparing(HealthPod::getId))
+            .map(pod -> new PodEntry(pod.getId(), pod.getName(), pod.getCity(), pod.getState(),
+                pod.getFacilities().stream().filter(Objects::nonNull).collect(Collectors.toList()),
+                pod.getOperatingHours(), pod.getInchargeName()))
+            .collect(Collectors.toList());
+
+        return new BookingDirectory(doctors, pods);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // One encoded version of the directory; the gzip body has its own strong ETag
+    public static class Snapshot {
+
+        private final long generation;
+        private final BookingDirectory directory;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+
+        Snapshot(long generation, BookingDirectory directory, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+            this.generation = generation;
+            this.directory = directory;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+        }
+
+        public BookingDirectory getDirectory() { return directory; }
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+        public String getEtag() { return etag; }
+        public String getGzipEtag() { return gzipEtag; }
+    }
+}
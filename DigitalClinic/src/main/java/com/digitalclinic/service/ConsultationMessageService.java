@@ -0,0 +1,237 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.model.ConsultationMessage;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.repository.ConsultationMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for consultation chat. Messages are fanned out to subscribers
+ * by the signaling hub first, then queued here in a bounded ring buffer and written to
+ * consultation_messages when the batch fills up or the flush interval passes. Ids come from the
+ * pooled sequence, so each batch goes out as a single JDBC batch insert.
+ */
+@Service
+public class ConsultationMessageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultationMessageService.class);
+
+    @Autowired
+    private ConsultationMessageRepository consultationMessageRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${clinic.chat.buffer-capacity:4096}")
+    private int bufferCapacity;
+
+    @Value("${clinic.chat.batch-size:100}")
+    private int batchSize;
+
+    @Value("${clinic.chat.flush-interval-ms:500}")
+    private long flushIntervalMillis;
+
+    @Value("${clinic.chat.enqueue-timeout-ms:20}")
+    private long enqueueTimeoutMillis;
+
+    @Value("${clinic.chat.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private ArrayBlockingQueue<PendingMessage> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong backPressureWrites = new AtomicLong();
+    private final AtomicLong highWatermark = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        running = true;
+        writer = new Thread(this::runWriter, "chat-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void recordMessage(Long consultationId, Long senderId, String senderType, String senderName,
+                              String content, ConsultationMessage.MessageType messageType, LocalDateTime timestamp) {
+        PendingMessage message = new PendingMessage(consultationId, senderId, senderType, senderName,
+            content, messageType, timestamp);
+        enqueued.incrementAndGet();
+
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = buffer.offer(message, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            // Buffer is full (or shutting down): push back on the sender by writing on its own thread
+            backPressureWrites.incrementAndGet();
+            writeBatch(List.of(message));
+            return;
+        }
+        highWatermark.accumulateAndGet(buffer.size(), Math::max);
+    }
+
+    public List<ConsultationMessage> getConsultationMessages(Long consultationId) {
+        return consultationMessageRepository.findByConsultationIdOrderByTimestampAsc(consultationId);
+    }
+
+    public Map<String, Object> getPipelineStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", buffer.size());
+        stats.put("queueCapacity", bufferCapacity);
+        stats.put("queueHighWatermark", highWatermark.get());
+        stats.put("enqueued", enqueued.get());
+        stats.put("persisted", persisted.get());
+        stats.put("batches", batches.get());
+        stats.put("failed", failed.get());
+        stats.put("backPressureWrites", backPressureWrites.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // The writer notices within one flush interval; it is not interrupted mid-batch
+        running = false;
+        writer.join(shutdownTimeoutMillis);
+
+        // Whatever the writer did not get to is flushed here before the context goes away
+        List<PendingMessage> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        flushInBatches(remaining);
+        log.info("Chat write-behind stopped, {} messages persisted in {} batches", persisted.get(), batches.get());
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                PendingMessage first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush interval runs out
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Interrupted: stop and flush the partial batch below
+                running = false;
+            }
+        }
+        flushInBatches(batch);
+    }
+
+    private void flushInBatches(List<PendingMessage> messages) {
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            writeBatch(messages.subList(from, Math.min(messages.size(), from + batchSize)));
+        }
+    }
+
+    private void writeBatch(List<PendingMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // One JDBC batch per chat batch, whatever the global batch size is. A back-pressure
+                // write joins the request's open session, so its setting is put back afterwards.
+                Session session = entityManager.unwrap(Session.class);
+                Integer previousBatchSize = session.getJdbcBatchSize();
+                session.setJdbcBatchSize(batch.size());
+                try {
+                    for (PendingMessage message : batch) {
+                        entityManager.persist(message.toEntity(entityManager));
+                    }
+                    entityManager.flush();
+                } finally {
+                    session.setJdbcBatchSize(previousBatchSize);
+                }
+            });
+            persisted.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to persist {} consultation chat messages", batch.size(), e);
+        } finally {
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    private static final class PendingMessage {
+        private final Long consultationId;
+        private final Long senderId;
+        private final String senderType;
+        private final String senderName;
+        private final String content;
+        private final ConsultationMessage.MessageType messageType;
+        private final LocalDateTime timestamp;
+
+        PendingMessage(Long consultationId, Long senderId, String senderType, String senderName,
+                       String content, ConsultationMessage.MessageType messageType, LocalDateTime timestamp) {
+            this.consultationId = consultationId;
+            this.senderId = senderId;
+            this.senderType = senderType;
+            this.senderName = senderName;
+            this.content = content;
+            this.messageType = messageType;
+            this.timestamp = timestamp;
+        }
+
+        ConsultationMessage toEntity(EntityManager entityManager) {
+            // A reference is enough for the foreign key, the consultation itself is never loaded
+            ConsultationMessage entity = new ConsultationMessage(
+                entityManager.getReference(VideoConsultation.class, consultationId),
+                senderId, senderType, senderName, content);
+            entity.setMessageType(messageType);
+            entity.setTimestamp(timestamp);
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.service.ConsultationRoomRegistry.Participant;
+import com.digitalclinic.service.ConsultationRoomRegistry.Room;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Who is in which consultation room, and whether they are still there, kept in the
+ * {@link ConsultationRoomRegistry}. A join puts a participant in its room, every frame its STOMP
+ * session sends afterwards (heart-beats included) refreshes its last-seen time, and a leave or a
+ * disconnect takes it out. A participant silent for longer than away-after-ms is shown as away
+ * until it is heard from again. Every change goes to /topic/consultation.{roomId}.participants.
+ *
+ * The consultation row is only written when presence moves it on: the patient arriving while it
+ * is still scheduled, or the doctor arriving while it is scheduled or the patient is waiting.
+ * Rejoins and page refreshes cost no write, and a finished or cancelled consultation is never
+ * moved back.
+ */
+@Service
+public class ConsultationPresenceService {
+
+    @Autowired
+    private ConsultationRoomRegistry roomRegistry;
+
+    @Autowired
+    private VideoConsultationService videoConsultationService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${clinic.presence.away-after-ms:25000}")
+    private long awayAfterMillis;
+
+    public void join(VideoConsultation consultation, Participant participant) {
+        Room room = roomRegistry.join(consultation.getRoomId(), consultation.getId(), members(consultation), participant);
+
+        boolean firstOfType = room.getParticipants().stream()
+            .filter(present -> present.getUserType().equals(participant.getUserType()))
+            .count() == 1;
+        if (firstOfType) {
+            if ("PATIENT".equals(participant.getUserType())
+                    && consultation.getStatus() == VideoConsultation.ConsultationStatus.SCHEDULED) {
+                videoConsultationService.patientJoined(consultation.getId());
+            } else if ("DOCTOR".equals(participant.getUserType())
+                    && consultation.getActualStartTime() == null && consultation.isAwaitingStart()) {
+                videoConsultationService.doctorJoined(consultation.getId());
+            }
+        }
+
+        publish(room.getRoomId(), room, "USER_JOINED", participant);
+    }
+
+    // User type -> principal name of whoever is on that side of the consultation
+    public static Map<String, String> members(VideoConsultation consultation) {
+        Map<String, String> members = new LinkedHashMap<>();
+        if (consultation.getAppointment() != null) {
+            if (consultation.getAppointment().getPatient() != null) {
+                members.put("PATIENT", consultation.getAppointment().getPatient().getUser().getEmail());
+            }
+            if (consultation.getAppointment().getDoctor() != null) {
+                members.put("DOCTOR", consultation.getAppointment().getDoctor().getUser().getEmail());
+            }
+        }
+        return members;
+    }
+
+    public void leave(String sessionId) {
+        String roomId = roomRegistry.findRoomIdBySession(sessionId).orElse(null);
+        roomRegistry.leave(sessionId).ifPresent(participant ->
+            // The room may already be gone if this was the last participant
+            publish(roomId, roomRegistry.getRoom(roomId).orElse(null), "USER_LEFT", participant));
+    }
+
+    // Called for every inbound frame, so it stays a few hash lookups unless someone comes back
+    public void touch(String sessionId) {
+        roomRegistry.findParticipantBySession(sessionId).ifPresent(participant -> {
+            if (participant.seen(System.currentTimeMillis())) {
+                roomRegistry.findRoomIdBySession(sessionId).ifPresent(roomId ->
+                    publish(roomId, roomRegistry.getRoom(roomId).orElse(null), "USER_ONLINE", participant));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.presence.check-interval-ms:5000}")
+    public void markSilentParticipantsAway() {
+        long cutoff = System.currentTimeMillis() - awayAfterMillis;
+        for (Room room : roomRegistry.getRooms()) {
+            for (Participant participant : room.getParticipants()) {
+                if (participant.markAwayIfSilentSince(cutoff)) {
+                    publish(room.getRoomId(), room, "USER_AWAY", participant);
+                }
+            }
+        }
+    }
+
+    private void publish(String roomId, Room room, String type, Participant participant) {
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("type", type);
+        update.put("userId", String.valueOf(participant.getUserId()));
+        update.put("userName", participant.getUserName());
+        update.put("userType", participant.getUserType());
+        update.put("participants", room != null ? room.describeParticipants() : Map.of());
+        messagingTemplate.convertAndSend("/topic/consultation." + roomId + ".participants", update);
+    }
+}
@@ -0,0 +1,206 @@
+package com.digitalclinic.service;
+
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live state of the video consultation rooms, kept entirely in memory.
+ * Rooms live in a ConcurrentHashMap keyed by roomId, so rooms never contend with each
+ * other and relaying a signaling message is a couple of hash lookups.
+ *
+ * Each node only sees the sessions connected to it. With a broker relay the two sides of a call
+ * may sit on different nodes, so a room also knows the principals of the consultation's patient
+ * and doctor, and signaling for a side that is not here goes to its user destination instead.
+ */
+@Service
+public class ConsultationRoomRegistry {
+
+    private final ConcurrentHashMap<String, Room> rooms = new ConcurrentHashMap<>();
+
+    // STOMP session id -> room id, used to clean up after a disconnect
+    private final ConcurrentHashMap<String, String> sessionRooms = new ConcurrentHashMap<>();
+
+    public Optional<Room> getRoom(String roomId) {
+        return roomId != null ? Optional.ofNullable(rooms.get(roomId)) : Optional.empty();
+    }
+
+    // Rooms are created and emptied inside compute() so a join can never land in a room being dropped
+    // members: user type (PATIENT, DOCTOR) -> principal name of the consultation's two sides
+    public Room join(String roomId, Long consultationId, Map<String, String> members, Participant participant) {
+        String previousRoomId = sessionRooms.put(participant.getSessionId(), roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            removeFromRoom(previousRoomId, participant.getSessionId());
+        }
+        return rooms.compute(roomId, (id, room) -> {
+            Room target = room != null ? room : new Room(id, consultationId, members);
+            target.participants.put(participant.getSessionId(), participant);
+            return target;
+        });
+    }
+
+    public Optional<Participant> leave(String sessionId) {
+        String roomId = sessionRooms.remove(sessionId);
+        if (roomId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(removeFromRoom(roomId, sessionId));
+    }
+
+    // Hot path of presence tracking: runs for every frame a joined session sends
+    public Optional<Participant> findParticipantBySession(String sessionId) {
+        String roomId = sessionId != null ? sessionRooms.get(sessionId) : null;
+        Room room = roomId != null ? rooms.get(roomId) : null;
+        return room != null ? room.findBySession(sessionId) : Optional.empty();
+    }
+
+    public Optional<String> findRoomIdBySession(String sessionId) {
+        return sessionId != null ? Optional.ofNullable(sessionRooms.get(sessionId)) : Optional.empty();
+    }
+
+    public Optional<Room> closeRoom(String roomId) {
+        Room room = rooms.remove(roomId);
+        if (room != null) {
+            room.participants.keySet().forEach(sessionRooms::remove);
+        }
+        return Optional.ofNullable(room);
+    }
+
+    public Collection<Room> getRooms() {
+        return rooms.values();
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    private Participant removeFromRoom(String roomId, String sessionId) {
+        Participant[] removed = new Participant[1];
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            removed[0] = room.participants.remove(sessionId);
+            return room.participants.isEmpty() ? null : room;
+        });
+        return removed[0];
+    }
+
+    public static class Room {
+        private final String roomId;
+        private final Long consultationId;
+        private final Map<String, String> members;
+        private final ConcurrentHashMap<String, Participant> participants = new ConcurrentHashMap<>();
+
+        Room(String roomId, Long consultationId, Map<String, String> members) {
+            this.roomId = roomId;
+            this.consultationId = consultationId;
+            this.members = Map.copyOf(members);
+        }
+
+        public String getRoomId() { return roomId; }
+        public Long getConsultationId() { return consultationId; }
+
+        public Collection<Participant> getParticipants() {
+            return participants.values();
+        }
+
+        public Optional<Participant> findBySession(String sessionId) {
+            return Optional.ofNullable(participants.get(sessionId));
+        }
+
+        public Optional<Participant> findByUserId(String userId) {
+            for (Participant participant : participants.values()) {
+                if (String.valueOf(participant.getUserId()).equals(userId)) {
+                    return Optional.of(participant);
+                }
+            }
+            return Optional.empty();
+        }
+
+        // The other side of a one-to-one consultation
+        public Optional<Participant> findPeer(String sessionId) {
+            for (Participant participant : participants.values()) {
+                if (!participant.getSessionId().equals(sessionId)) {
+                    return Optional.of(participant);
+                }
+            }
+            return Optional.empty();
+        }
+
+        // Principal of the other side, whether or not it is connected to this node
+        public Optional<String> findCounterpartPrincipal(String userType) {
+            for (Map.Entry<String, String> member : members.entrySet()) {
+                if (!member.getKey().equals(userType)) {
+                    return Optional.of(member.getValue());
+                }
+            }
+            return Optional.empty();
+        }
+
+        // Shape expected by the consultation pages: userId -> participant details
+        public Map<String, Object> describeParticipants() {
+            Map<String, Object> described = new LinkedHashMap<>();
+            for (Participant participant : participants.values()) {
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("userName", participant.getUserName());
+                details.put("userType", participant.getUserType());
+                details.put("videoEnabled", participant.isVideoEnabled());
+                details.put("audioEnabled", participant.isAudioEnabled());
+                details.put("online", !participant.isAway());
+                details.put("lastSeen", Instant.ofEpochMilli(participant.getLastSeenMillis()).toString());
+                described.put(String.valueOf(participant.getUserId()), details);
+            }
+            return described;
+        }
+    }
+
+    public static class Participant {
+        private final String sessionId;
+        private final String principalName;
+        private final Long userId;
+        private final String userType;
+        private final String userName;
+        private volatile boolean videoEnabled = true;
+        private volatile boolean audioEnabled = true;
+        // Presence: when the session was last heard from, and whether it has since gone quiet
+        private volatile long lastSeenMillis = System.currentTimeMillis();
+        private final AtomicBoolean away = new AtomicBoolean();
+
+        public Participant(String sessionId, String principalName, Long userId, String userType, String userName) {
+            this.sessionId = sessionId;
+            this.principalName = principalName;
+            this.userId = userId;
+            this.userType = userType;
+            this.userName = userName;
+        }
+
+        public String getSessionId() { return sessionId; }
+        public String getPrincipalName() { return principalName; }
+        public Long getUserId() { return userId; }
+        public String getUserType() { return userType; }
+        public String getUserName() { return userName; }
+
+        public boolean isVideoEnabled() { return videoEnabled; }
+        public void setVideoEnabled(boolean videoEnabled) { this.videoEnabled = videoEnabled; }
+
+        public boolean isAudioEnabled() { return audioEnabled; }
+        public void setAudioEnabled(boolean audioEnabled) { this.audioEnabled = audioEnabled; }
+
+        public long getLastSeenMillis() { return lastSeenMillis; }
+        public boolean isAway() { return away.get(); }
+
+        // True only for the call that brings the participant back from away
+        public boolean seen(long nowMillis) {
+            lastSeenMillis = nowMillis;
+            return away.get() && away.compareAndSet(true, false);
+        }
+
+        // True only for the call that finds the participant silent since before the cutoff
+        public boolean markAwayIfSilentSince(long cutoffMillis) {
+            return lastSeenMillis < cutoffMillis && away.compareAndSet(false, true);
+        }
+    }
+}
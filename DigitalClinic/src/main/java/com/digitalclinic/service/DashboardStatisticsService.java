@@ -0,0 +1,186 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.DashboardStatistics;
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.event.ConsultationChangedEvent;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.OutboxEvent;
+import com.digitalclinic.model.VideoConsultation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Admin dashboard counters served from an in-memory snapshot.
+ * The snapshot is rebuilt with a single aggregate query on a fixed delay and adjusted
+ * in between from appointment and consultation change events, so a dashboard view
+ * costs no database round trips at all.
+ *
+ * An event can arrive after a refresh has already counted its change, or while a refresh is
+ * reading. Each snapshot therefore records, from the same consistent read as its counts, the end
+ * of the published outbox log and the events still pending: events within those are already
+ * counted and skipped, and the adjustments from events outside them are replayed onto the next
+ * snapshot until one covers them.
+ */
+@Service
+public class DashboardStatisticsService {
+
+    private static final String STATISTICS_SQL =
+        "SELECT p.total_patients, d.total_doctors, d.verified_doctors, hp.active_pods, " +
+        "a.total_appointments, a.completed_appointments, vc.total_consultations, vc.active_consultations " +
+        "FROM (SELECT COUNT(*) AS total_patients FROM patients) p " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_doctors, " +
+        "  COALESCE(SUM(CASE WHEN verified = TRUE THEN 1 ELSE 0 END), 0) AS verified_doctors FROM doctors) d " +
+        "CROSS JOIN (SELECT COUNT(*) AS active_pods FROM health_pods WHERE is_active = TRUE) hp " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_appointments, " +
+        "  COALESCE(SUM(CASE WHEN status = '" + Appointment.AppointmentStatus.COMPLETED.name() + "' THEN 1 ELSE 0 END), 0) AS completed_appointments " +
+        "  FROM appointments) a " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_consultations, " +
+        "  COALESCE(SUM(CASE WHEN status IN (" + inList(VideoConsultation.ACTIVE_STATUSES) + ") THEN 1 ELSE 0 END), 0) AS active_consultations " +
+        "  FROM video_consultations) vc";
+
+    private static final String PUBLISHED_LOG_END_SQL = "SELECT COALESCE(MAX(position), 0) FROM outbox_events";
+
+    private static final String PENDING_EVENTS_SQL =
+        "SELECT id FROM outbox_events WHERE status = '" + OutboxEvent.Status.PENDING.name() + "'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    // Refreshes go through the proxy so they run in their read-only transaction
+    @Lazy
+    @Autowired
+    private DashboardStatisticsService self;
+
+    private final Object lock = new Object();
+    private Snapshot snapshot;
+    // Adjustments applied since the current snapshot was read and not covered by it
+    private final List<Delta> uncovered = new ArrayList<>();
+
+    public DashboardStatistics getStatistics() {
+        synchronized (lock) {
+            if (snapshot != null) {
+                return snapshot.statistics;
+            }
+        }
+        return self.refresh();
+    }
+
+    // Events only carry deltas for appointments and consultations, everything else catches up here.
+    // Repeatable read keeps the counts and the outbox position on the same view of the data.
+    @Scheduled(fixedDelayString = "${clinic.dashboard.refresh-interval-ms:60000}",
+               initialDelayString = "${clinic.dashboard.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DashboardStatistics refresh() {
+        DashboardStatistics counted = jdbcTemplate.queryForObject(STATISTICS_SQL, (rs, rowNum) -> new DashboardStatistics(
+            rs.getLong("total_patients"),
+            rs.getLong("total_doctors"),
+            rs.getLong("verified_doctors"),
+            rs.getLong("active_pods"),
+            rs.getLong("total_appointments"),
+            rs.getLong("completed_appointments"),
+            rs.getLong("total_consultations"),
+            rs.getLong("active_consultations"),
+            LocalDateTime.now()));
+        long publishedUpTo = jdbcTemplate.queryForObject(PUBLISHED_LOG_END_SQL, Long.class);
+        Set<Long> pending = new HashSet<>(jdbcTemplate.queryForList(PENDING_EVENTS_SQL, Long.class));
+
+        synchronized (lock) {
+            Snapshot fresh = new Snapshot(counted, publishedUpTo, pending);
+            uncovered.removeIf(delta -> fresh.covers(delta.event));
+            for (Delta delta : uncovered) {
+                fresh.statistics = delta.adjustment.apply(fresh.statistics);
+            }
+            snapshot = fresh;
+            return fresh.statistics;
+        }
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        long totalDelta = event.getChangeType() == AppointmentChangedEvent.ChangeType.BOOKED ? 1 : 0;
+        long completedDelta = completed(event.getNewStatus()) - completed(event.getPreviousStatus());
+        if (totalDelta != 0 || completedDelta != 0) {
+            apply(statistics -> statistics.withAppointmentDelta(totalDelta, completedDelta));
+        }
+    }
+
+    @EventListener
+    public void onConsultationChanged(ConsultationChangedEvent event) {
+        long totalDelta = event.isCreated() ? 1 : 0;
+        long activeDelta = active(event.getNewStatus()) - active(event.getPreviousStatus());
+        if (totalDelta != 0 || activeDelta != 0) {
+            apply(statistics -> statistics.withConsultationDelta(totalDelta, activeDelta));
+        }
+    }
+
+    private void apply(UnaryOperator<DashboardStatistics> adjustment) {
+        OutboxEvent event = outboxRelay.currentEvent();
+        synchronized (lock) {
+            if (snapshot != null && event != null && snapshot.covers(event)) {
+                return;
+            }
+            // Before the first load there is nothing to adjust, but a load already reading must still get it
+            if (snapshot != null) {
+                snapshot.statistics = adjustment.apply(snapshot.statistics);
+            }
+            if (event != null) {
+                uncovered.add(new Delta(event, adjustment));
+            }
+        }
+    }
+
+    private static int completed(Appointment.AppointmentStatus status) {
+        return status == Appointment.AppointmentStatus.COMPLETED ? 1 : 0;
+    }
+
+    private static int active(VideoConsultation.ConsultationStatus status) {
+        return status != null && VideoConsultation.ACTIVE_STATUSES.contains(status) ? 1 : 0;
+    }
+
+    private static final class Snapshot {
+        private DashboardStatistics statistics;
+        private final long publishedUpTo;
+        private final Set<Long> pending;
+
+        Snapshot(DashboardStatistics statistics, long publishedUpTo, Set<Long> pending) {
+            this.statistics = statistics;
+            this.publishedUpTo = publishedUpTo;
+            this.pending = pending;
+        }
+
+        // Committed before the read: published by then, or still waiting to be
+        boolean covers(OutboxEvent event) {
+            return event.getPosition() <= publishedUpTo || pending.contains(event.getId());
+        }
+    }
+
+    private static final class Delta {
+        private final OutboxEvent event;
+        private final UnaryOperator<DashboardStatistics> adjustment;
+
+        Delta(OutboxEvent event, UnaryOperator<DashboardStatistics> adjustment) {
+            this.event = event;
+            this.adjustment = adjustment;
+        }
+    }
+
+    private static String inList(Set<? extends Enum<?>> values) {
+        return values.stream().map(value -> "'" + value.name() + "'").collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,104 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.DoctorChangedEvent;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.DoctorLeave;
+import com.digitalclinic.model.DoctorSchedule;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.repository.DoctorLeaveRepository;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.DoctorScheduleRepository;
+import com.digitalclinic.repository.HealthPodRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Service
+public class DoctorScheduleService {
+    
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+    
+    @Autowired
+    private DoctorLeaveRepository doctorLeaveRepository;
+    
+    @Autowired
+    private DoctorRepository doctorRepository;
+    
+    @Autowired
+    private HealthPodRepository healthPodRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    public List<DoctorSchedule> getSchedule(Long doctorId) {
+        return doctorScheduleRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctorId);
+    }
+    
+    public List<DoctorLeave> getUpcomingLeaves(Long doctorId) {
+        return doctorLeaveRepository.findByDoctorIdAndEndDateTimeAfterOrderByStartDateTimeAsc(doctorId, LocalDateTime.now());
+    }
+    
+    public DoctorSchedule addWorkingHours(Long doctorId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime, Long podId) {
+        if (!endTime.isAfter(startTime)) {
+            throw new RuntimeException("Working hours must end after they start");
+        }
+        
+        // Blocks at different places cannot overlap, the doctor can only be in one of them
+        for (DoctorSchedule existing : getSchedule(doctorId)) {
+            if (existing.getDayOfWeek() == dayOfWeek
+                && existing.getStartTime().isBefore(endTime) && startTime.isBefore(existing.getEndTime())) {
+                throw new RuntimeException("These hours overlap with " + existing.getStartTime() + " - " + existing.getEndTime());
+            }
+        }
+        
+        Doctor doctor = doctorRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        DoctorSchedule schedule = new DoctorSchedule(doctor, dayOfWeek, startTime, endTime);
+        if (podId != null) {
+            HealthPod healthPod = healthPodRepository.findById(podId)
+                .orElseThrow(() -> new RuntimeException("Health Pod not found"));
+            schedule.setHealthPod(healthPod);
+        }
+        
+        DoctorSchedule saved = doctorScheduleRepository.save(schedule);
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
+        return saved;
+    }
+    
+    public void removeWorkingHours(Long doctorId, Long scheduleId) {
+        DoctorSchedule schedule = doctorScheduleRepository.findById(scheduleId)
+            .orElseThrow(() -> new RuntimeException("Working hours not found"));
+        if (!schedule.getDoctor().getId().equals(doctorId)) {
+            throw new RuntimeException("Access denied");
+        }
+        doctorScheduleRepository.delete(schedule);
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
+    }
+    
+    public DoctorLeave addLeave(Long doctorId, LocalDateTime startDateTime, LocalDateTime endDateTime, String reason) {
+        if (!endDateTime.isAfter(startDateTime)) {
+            throw new RuntimeException("Leave must end after it starts");
+        }
+        Doctor doctor = doctorRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        
+        DoctorLeave saved = doctorLeaveRepository.save(new DoctorLeave(doctor, startDateTime, endDateTime, reason));
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
+        return saved;
+    }
+    
+    public void removeLeave(Long doctorId, Long leaveId) {
+        DoctorLeave leave = doctorLeaveRepository.findById(leaveId)
+            .orElseThrow(() -> new RuntimeException("Leave not found"));
+        if (!leave.getDoctor().getId().equals(doctorId)) {
+            throw new RuntimeException("Access denied");
+        }
+        doctorLeaveRepository.delete(leave);
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
+    }
+}
@@ -1,9 +1,11 @@
 package com.digitalclinic.service;
 
+import com.digitalclinic.event.DoctorChangedEvent;
 import com.digitalclinic.model.Doctor;
 import com.digitalclinic.model.User;
 import com.digitalclinic.repository.DoctorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -17,9 +19,18 @@ public class DoctorService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public Doctor createDoctor(User user) {
         Doctor doctor = new Doctor(user);
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        principalContextCache.evict(user.getEmail());
+        eventPublisher.publishEvent(new DoctorChangedEvent(saved.getId()));
+        return saved;
     }
     
     public Optional<Doctor> getDoctorByEmail(String email) {
@@ -36,7 +47,7 @@ public class DoctorService {
     
     // ADDED: Get all doctors (verified and unverified)
     public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+        return doctorRepository.findAllWithUser();
     }
     
     public List<Doctor> getDoctorsBySpecialization(String specialization) {
@@ -75,13 +86,16 @@ public class DoctorService {
                 doctor.setConsultationFee(doctorDetails.getConsultationFee());
             }
             
-            return doctorRepository.save(doctor);
+            Doctor saved = doctorRepository.save(doctor);
+            principalContextCache.evict(email);
+            eventPublisher.publishEvent(new DoctorChangedEvent(saved.getId()));
+            return saved;
         }
         return null;
     }
     
     public List<Doctor> getPendingVerifications() {
-        return doctorRepository.findByVerificationStatus("PENDING");
+        return doctorRepository.findWithUserByVerificationStatus("PENDING");
     }
     
     public boolean verifyDoctor(Long doctorId) {
@@ -91,6 +105,8 @@ public class DoctorService {
             doc.setVerified(true);
             doc.setVerificationStatus("APPROVED");
             doctorRepository.save(doc);
+            principalContextCache.evict(doc.getUser().getEmail());
+            eventPublisher.publishEvent(new DoctorChangedEvent(doc.getId()));
             return true;
         }
         return false;
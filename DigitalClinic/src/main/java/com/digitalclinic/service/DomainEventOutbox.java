@@ -0,0 +1,65 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.DomainEvent;
+import com.digitalclinic.model.OutboxEvent;
+import com.digitalclinic.repository.OutboxEventRepository;
+import com.digitalclinic.repository.OutboxSequenceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write side of the transactional outbox. Events are stored in the transaction that makes the
+ * change they describe, so a rolled back change never announces itself and a committed one is
+ * never lost; {@link OutboxRelay} delivers them once the transaction has committed.
+ *
+ * Each event is numbered within its aggregate under a row lock on the aggregate's sequence, so
+ * the numbers follow the order the aggregate's changes commit in, whichever node made them.
+ * The sequence row is upserted, so the first event of an aggregate (including an existing
+ * aggregate from before the outbox numbered events) never races another to create it.
+ */
+@Service
+public class DomainEventOutbox {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSequenceRepository outboxSequenceRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void append(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new RuntimeException("Domain events must be appended inside the transaction that makes the change");
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialise " + event.getClass().getSimpleName(), e);
+        }
+        // The sequence row stays locked until commit, so the aggregate's next event can only be numbered
+        // after this one has committed
+        String aggregateKey = event.getAggregateType() + ":" + event.getAggregateId();
+        outboxSequenceRepository.advance(aggregateKey, 1);
+        long aggregateSequence = outboxSequenceRepository.findLastSequence(aggregateKey);
+        outboxEventRepository.save(new OutboxEvent(event.getAggregateType(), event.getAggregateId(),
+            aggregateSequence, event.getClass().getName(), payload));
+
+        // Saves the relay a poll interval; if the wake-up is lost the next poll still finds the row
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
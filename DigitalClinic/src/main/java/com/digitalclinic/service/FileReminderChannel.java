@@ -0,0 +1,39 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AppointmentReminder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends every reminder as a JSON line to clinic.reminders.file, for local runs and tests
+@Component
+@ConditionalOnProperty(prefix = "clinic.reminders", name = "channel", havingValue = "file")
+public class FileReminderChannel implements ReminderChannel {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${clinic.reminders.file:reminders.jsonl}")
+    private Path file;
+
+    @Override
+    public void send(AppointmentReminder reminder) {
+        try {
+            Files.writeString(file, objectMapper.writeValueAsString(reminder) + System.lineSeparator(),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialise reminder for appointment " + reminder.getAppointmentId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.NearbyPod;
+import com.digitalclinic.dto.PodLocation;
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.repository.HealthPodRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory grid of active health pods keyed by latitude/longitude cell. Nearest-pod and
+ * radius queries only look at the cells around the searched point instead of every pod.
+ * The grid is loaded on first use and then kept current from {@link HealthPodChangedEvent}s.
+ */
+@Service
+public class HealthPodGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    @Autowired
+    private HealthPodRepository healthPodRepository;
+
+    @Value("${clinic.pod-index.cell-degrees:0.25}")
+    private double cellDegrees;
+
+    // cell key -> pods in that cell, and pod id -> its current entry
+    private final ConcurrentHashMap<Long, Map<Long, PodLocation>> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PodLocation> pods = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Up to {@code limit} pods matching {@code filter}, closest first. Searches outward one ring
+     * of cells at a time and stops once no unvisited cell can hold anything closer.
+     */
+    public List<NearbyPod> findNearest(double latitude, double longitude, int limit, Predicate<PodLocation> filter) {
+        validate(latitude, longitude);
+        ensureLoaded();
+        if (limit <= 0 || pods.isEmpty()) {
+            return List.of();
+        }
+
+        // Max-heap on distance holding the best candidates seen so far
+        PriorityQueue<NearbyPod> best = new PriorityQueue<>(
+            Comparator.comparingDouble(NearbyPod::getDistanceKm).reversed());
+        int row = row(latitude);
+        int col = col(longitude);
+        int maxRing = Math.max(rowCount(), columnCount()) / 2 + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Once a ring has more cells than the grid has occupied cells, one pass over the grid is cheaper
+            if (ring > 0 && (8L * ring > cells.size() || 2 * ring + 1 >= columnCount())) {
+                for (Map.Entry<Long, Map<Long, PodLocation>> cell : cells.entrySet()) {
+                    if (ringOf(cell.getKey(), row, col) >= ring) {
+                        collect(cell.getValue(), latitude, longitude, limit, filter, best);
+                    }
+                }
+                break;
+            }
+            for (long key : ringKeys(row, col, ring)) {
+                Map<Long, PodLocation> cell = cells.get(key);
+                if (cell != null) {
+                    collect(cell, latitude, longitude, limit, filter, best);
+                }
+            }
+            if (best.size() == limit && best.peek().getDistanceKm() <= minDistanceBeyondRing(latitude, ring)) {
+                break;
+            }
+        }
+
+        List<NearbyPod> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyPod::getDistanceKm));
+        return result;
+    }
+
+    // All pods matching {@code filter} within {@code radiusKm}, closest first
+    public List<NearbyPod> findWithinRadius(double latitude, double longitude, double radiusKm, Predicate<PodLocation> filter) {
+        validate(latitude, longitude);
+        if (radiusKm <= 0) {
+            throw new RuntimeException("Radius must be positive");
+        }
+        ensureLoaded();
+
+        int rowSpan = (int) Math.ceil(radiusKm / KM_PER_DEGREE / cellDegrees);
+        double widestLatitude = Math.min(89.9, Math.abs(latitude) + rowSpan * cellDegrees);
+        int colSpan = (int) Math.ceil(radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(widestLatitude))) / cellDegrees);
+        colSpan = Math.min(colSpan, (columnCount() - 1) / 2);
+
+        List<NearbyPod> result = new ArrayList<>();
+        int row = row(latitude);
+        int col = col(longitude);
+        if ((2L * rowSpan + 1) * (2L * colSpan + 1) > cells.size()) {
+            for (Map<Long, PodLocation> cell : cells.values()) {
+                collectWithin(cell, latitude, longitude, radiusKm, filter, result);
+            }
+        } else {
+            for (int r = row - rowSpan; r <= row + rowSpan; r++) {
+                for (int c = col - colSpan; c <= col + colSpan; c++) {
+                    Map<Long, PodLocation> cell = cells.get(key(r, c));
+                    if (cell != null) {
+                        collectWithin(cell, latitude, longitude, radiusKm, filter, result);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(NearbyPod::getDistanceKm));
+        return result;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return pods.size();
+    }
+
+    @EventListener
+    public void onHealthPodChanged(HealthPodChangedEvent event) {
+        synchronized (writeLock) {
+            // Not loaded yet: the first query picks the change up from the database
+            if (!loaded) {
+                return;
+            }
+            remove(event.getPodId());
+            healthPodRepository.findWithFacilitiesById(event.getPodId())
+                .filter(pod -> Boolean.TRUE.equals(pod.getIsActive()))
+                .map(PodLocation::new)
+                .filter(PodLocation::isLocated)
+                .ifPresent(this::add);
+        }
+    }
+
+    private void load() {
+        synchronized (writeLock) {
+            cells.clear();
+            pods.clear();
+            healthPodRepository.findLocatedActivePods().stream()
+                .map(PodLocation::new)
+                .forEach(this::add);
+            loaded = true;
+        }
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void add(PodLocation pod) {
+        pods.put(pod.getId(), pod);
+        cells.computeIfAbsent(key(row(pod.getLatitude()), col(pod.getLongitude())), k -> new ConcurrentHashMap<>())
+            .put(pod.getId(), pod);
+    }
+
+    private void remove(Long podId) {
+        PodLocation previous = pods.remove(podId);
+        if (previous != null) {
+            cells.computeIfPresent(key(row(previous.getLatitude()), col(previous.getLongitude())), (k, cell) -> {
+                cell.remove(podId);
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+    }
+
+    private static void collect(Map<Long, PodLocation> cell, double latitude, double longitude, int limit,
+                                Predicate<PodLocation> filter, PriorityQueue<NearbyPod> best) {
+        for (PodLocation pod : cell.values()) {
+            if (!filter.test(pod)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, pod.getLatitude(), pod.getLongitude());
+            if (best.size() < limit) {
+                best.add(new NearbyPod(pod, distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new NearbyPod(pod, distance));
+            }
+        }
+    }
+
+    private static void collectWithin(Map<Long, PodLocation> cell, double latitude, double longitude, double radiusKm,
+                                      Predicate<PodLocation> filter, List<NearbyPod> result) {
+        for (PodLocation pod : cell.values()) {
+            if (filter.test(pod)) {
+                double distance = distanceKm(latitude, longitude, pod.getLatitude(), pod.getLongitude());
+                if (distance <= radiusKm) {
+                    result.add(new NearbyPod(pod, distance));
+                }
+            }
+        }
+    }
+
+    // Anything outside rings 0..ring is at least this far away; longitude cells narrow towards the poles
+    private double minDistanceBeyondRing(double latitude, int ring) {
+        double widestLatitude = Math.min(89.9, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        return ring * cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(widestLatitude));
+    }
+
+    private List<Long> ringKeys(int row, int col, int ring) {
+        if (ring == 0) {
+            return List.of(key(row, col));
+        }
+        List<Long> keys = new ArrayList<>(8 * ring);
+        for (int c = col - ring; c <= col + ring; c++) {
+            keys.add(key(row - ring, c));
+            keys.add(key(row + ring, c));
+        }
+        for (int r = row - ring + 1; r <= row + ring - 1; r++) {
+            keys.add(key(r, col - ring));
+            keys.add(key(r, col + ring));
+        }
+        return keys;
+    }
+
+    private int ringOf(long key, int row, int col) {
+        int r = (int) (key >> 32);
+        int c = (int) key;
+        int colDistance = Math.floorMod(c - col, columnCount());
+        colDistance = Math.min(colDistance, columnCount() - colDistance);
+        return Math.max(Math.abs(r - row), colDistance);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private int rowCount() {
+        return (int) Math.ceil(180 / cellDegrees) + 1;
+    }
+
+    private int columnCount() {
+        return (int) Math.ceil(360 / cellDegrees);
+    }
+
+    // Columns wrap around the antimeridian
+    private long key(int row, int col) {
+        return ((long) row << 32) | (Math.floorMod(col, columnCount()) & 0xffffffffL);
+    }
+
+    private static void validate(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("Coordinates out of range");
+        }
+    }
+}
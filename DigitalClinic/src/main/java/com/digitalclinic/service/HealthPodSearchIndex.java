@@ -0,0 +1,291 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.repository.HealthPodRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over active health pods' name, city, address, description,
+ * facilities and equipment. Every query word must match a term exactly, as a prefix or
+ * within one typo; pods are ranked by the weight of the fields the words matched in.
+ * Kept in sync with HealthPodService writes through {@link HealthPodChangedEvent}s.
+ */
+@Service
+public class HealthPodSearchIndex {
+
+    // Field weights: a hit in the pod name counts for more than one in the description
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CITY_WEIGHT = 2.5f;
+    private static final float FACILITY_WEIGHT = 1.5f;
+    private static final float ADDRESS_WEIGHT = 1.5f;
+    private static final float EQUIPMENT_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.5f;
+
+    // How much of a field weight each kind of match keeps
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float FUZZY_MATCH = 0.5f;
+
+    // Shorter words are too ambiguous to correct
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private HealthPodRepository healthPodRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // term -> pod id -> best field weight; sorted so prefixes are a range scan
+    private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    // term with one character deleted -> terms it came from, for typo lookups
+    private final ConcurrentHashMap<String, Set<String>> deletions = new ConcurrentHashMap<>();
+    // pod id -> terms indexed for it, so a pod can be taken out again
+    private final ConcurrentHashMap<Long, Set<String>> podTerms = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+    private volatile boolean loaded;
+
+    // Ids of matching pods, best match first
+    public List<Long> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        Map<Long, Float> scores = null;
+        for (String word : words) {
+            Map<Long, Float> wordScores = match(word);
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                // Every word has to match somewhere in the pod
+                Map<Long, Float> combined = new HashMap<>();
+                for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                    Float wordScore = wordScores.get(entry.getKey());
+                    if (wordScore != null) {
+                        combined.put(entry.getKey(), entry.getValue() + wordScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Float> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return podTerms.size();
+    }
+
+    @EventListener
+    public void onHealthPodChanged(HealthPodChangedEvent event) {
+        synchronized (writeLock) {
+            // Not loaded yet: the first search picks the change up from the database
+            if (!loaded) {
+                return;
+            }
+            Map<String, Float> terms = transactionTemplate.execute(status ->
+                healthPodRepository.findWithFacilitiesById(event.getPodId())
+                    .filter(pod -> Boolean.TRUE.equals(pod.getIsActive()))
+                    .map(HealthPodSearchIndex::termWeights)
+                    .orElse(null));
+            remove(event.getPodId());
+            if (terms != null) {
+                add(event.getPodId(), terms);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Optimal string alignment distance: insertions, deletions, substitutions and adjacent swaps
+    private static int editDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private Map<Long, Float> match(String word) {
+        Map<Long, Float> scores = new HashMap<>();
+
+        // Exact and prefix hits come out of one range scan over the sorted dictionary
+        for (Map.Entry<String, Map<Long, Float>> term : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            float factor = term.getKey().equals(word) ? EXACT_MATCH : PREFIX_MATCH;
+            accumulate(scores, term.getValue(), factor);
+        }
+
+        if (word.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyCandidates(word)) {
+                if (!term.startsWith(word) && editDistance(word, term) <= 1) {
+                    accumulate(scores, postings.getOrDefault(term, Map.of()), FUZZY_MATCH);
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Terms one edit away share the word itself or one of its single-character deletions
+    private Set<String> fuzzyCandidates(String word) {
+        Set<String> candidates = new HashSet<>();
+        candidates.add(word);
+        candidates.addAll(deletions.getOrDefault(word, Set.of()));
+        for (String deleted : singleDeletions(word)) {
+            candidates.add(deleted);
+            candidates.addAll(deletions.getOrDefault(deleted, Set.of()));
+        }
+        return candidates;
+    }
+
+    private static void accumulate(Map<Long, Float> scores, Map<Long, Float> posting, float factor) {
+        for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+            // A word scores its single best hit per pod
+            scores.merge(entry.getKey(), entry.getValue() * factor, Math::max);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void load() {
+        Map<Long, Map<String, Float>> documents = transactionTemplate.execute(status -> {
+            // Two bags cannot be fetched in one query; the second query fills in the same entities
+            List<HealthPod> pods = healthPodRepository.findActiveWithFacilities();
+            healthPodRepository.findActiveWithEquipment();
+            Map<Long, Map<String, Float>> terms = new LinkedHashMap<>();
+            for (HealthPod pod : pods) {
+                terms.put(pod.getId(), termWeights(pod));
+            }
+            return terms;
+        });
+        documents.forEach(this::add);
+        loaded = true;
+    }
+
+    private void add(Long podId, Map<String, Float> terms) {
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> {
+                for (String deleted : singleDeletions(k)) {
+                    deletions.computeIfAbsent(deleted, d -> ConcurrentHashMap.newKeySet()).add(k);
+                }
+                return new ConcurrentHashMap<>();
+            }).put(podId, term.getValue());
+        }
+        podTerms.put(podId, terms.keySet());
+    }
+
+    private void remove(Long podId) {
+        Set<String> terms = podTerms.remove(podId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (k, posting) -> {
+                posting.remove(podId);
+                if (!posting.isEmpty()) {
+                    return posting;
+                }
+                // Last pod using this term: drop it from the typo lookups too
+                for (String deleted : singleDeletions(k)) {
+                    deletions.computeIfPresent(deleted, (d, sources) -> {
+                        sources.remove(k);
+                        return sources.isEmpty() ? null : sources;
+                    });
+                }
+                return null;
+            });
+        }
+    }
+
+    private static Map<String, Float> termWeights(HealthPod pod) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, pod.getName(), NAME_WEIGHT);
+        addField(weights, pod.getCity(), CITY_WEIGHT);
+        addField(weights, pod.getAddress(), ADDRESS_WEIGHT);
+        addField(weights, pod.getDescription(), DESCRIPTION_WEIGHT);
+        if (pod.getFacilities() != null) {
+            pod.getFacilities().forEach(facility -> addField(weights, facility, FACILITY_WEIGHT));
+        }
+        if (pod.getEquipment() != null) {
+            pod.getEquipment().forEach(item -> addField(weights, item, EQUIPMENT_WEIGHT));
+        }
+        return weights;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Math::max);
+        }
+    }
+
+    private static List<String> singleDeletions(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return List.of();
+        }
+        List<String> variants = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+}
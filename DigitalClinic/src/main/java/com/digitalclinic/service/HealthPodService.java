@@ -1,11 +1,22 @@
 package com.digitalclinic.service;
 
+import com.digitalclinic.dto.NearbyPod;
+import com.digitalclinic.dto.PodLocation;
+import com.digitalclinic.event.HealthPodChangedEvent;
 import com.digitalclinic.model.HealthPod;
 import com.digitalclinic.repository.HealthPodRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class HealthPodService {
@@ -13,6 +24,17 @@ public class HealthPodService {
     @Autowired
     private HealthPodRepository healthPodRepository;
     
+    @Autowired
+    private HealthPodGeoIndex healthPodGeoIndex;
+    
+    @Autowired
+    private HealthPodSearchIndex healthPodSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    public static final int MAX_NEARBY_RESULTS = 50;
+    
     public List<HealthPod> getAllActivePods() {
         return healthPodRepository.findByIsActiveTrue();
     }
@@ -21,6 +43,7 @@ public class HealthPodService {
         return healthPodRepository.findByCityAndIsActiveTrue(city);
     }
     
+    @Transactional(readOnly = true)
     public List<String> getAllCities() {
         return healthPodRepository.findDistinctCities();
     }
@@ -29,15 +52,46 @@ public class HealthPodService {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllActivePods();
         }
-        return healthPodRepository.searchActivePods(searchTerm.trim());
+        List<Long> rankedIds = healthPodSearchIndex.search(searchTerm);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // Keep the index's ranking, the database only supplies the rows
+        Map<Long, HealthPod> podsById = healthPodRepository.findAllById(rankedIds).stream()
+            .collect(Collectors.toMap(HealthPod::getId, Function.identity()));
+        return rankedIds.stream()
+            .map(podsById::get)
+            .filter(Objects::nonNull)
+            .toList();
     }
     
     public Optional<HealthPod> getPodById(Long id) {
         return healthPodRepository.findById(id);
     }
     
+    public List<NearbyPod> getNearestPods(double latitude, double longitude, int limit,
+                                          Boolean hasLab, Boolean hasPharmacy, boolean openNow) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS));
+        return healthPodGeoIndex.findNearest(latitude, longitude, boundedLimit, podFilter(hasLab, hasPharmacy, openNow));
+    }
+    
+    public List<NearbyPod> getPodsWithinRadius(double latitude, double longitude, double radiusKm,
+                                               Boolean hasLab, Boolean hasPharmacy, boolean openNow) {
+        return healthPodGeoIndex.findWithinRadius(latitude, longitude, radiusKm, podFilter(hasLab, hasPharmacy, openNow));
+    }
+    
     public HealthPod savePod(HealthPod healthPod) {
-        return healthPodRepository.save(healthPod);
+        HealthPod savedPod = healthPodRepository.save(healthPod);
+        eventPublisher.publishEvent(new HealthPodChangedEvent(savedPod.getId()));
+        return savedPod;
+    }
+    
+    // Bulk save for seeding and imports: one transaction, inserts sent in JDBC batches
+    public List<HealthPod> savePods(List<HealthPod> healthPods) {
+        List<HealthPod> savedPods = healthPodRepository.saveAll(healthPods);
+        savedPods.forEach(pod -> eventPublisher.publishEvent(new HealthPodChangedEvent(pod.getId())));
+        return savedPods;
     }
     
     public HealthPod updatePod(Long id, HealthPod podDetails) {
@@ -72,7 +126,9 @@ public class HealthPodService {
                 pod.setEquipment(podDetails.getEquipment());
             }
             
-            return healthPodRepository.save(pod);
+            HealthPod savedPod = healthPodRepository.save(pod);
+            eventPublisher.publishEvent(new HealthPodChangedEvent(savedPod.getId()));
+            return savedPod;
         }
         return null;
     }
@@ -83,11 +139,20 @@ public class HealthPodService {
             HealthPod healthPod = pod.get();
             healthPod.setIsActive(false);
             healthPodRepository.save(healthPod);
+            eventPublisher.publishEvent(new HealthPodChangedEvent(id));
             return true;
         }
         return false;
     }
     
+    // null leaves a facility flag unfiltered
+    private static Predicate<PodLocation> podFilter(Boolean hasLab, Boolean hasPharmacy, boolean openNow) {
+        LocalTime now = LocalTime.now();
+        return pod -> (hasLab == null || pod.getHasLab() == hasLab)
+            && (hasPharmacy == null || pod.getHasPharmacy() == hasPharmacy)
+            && (!openNow || pod.isOpenAt(now));
+    }
+    
     public long getActivePodsCount() {
         return healthPodRepository.countByIsActiveTrue();
     }
@@ -123,7 +188,6 @@ public class HealthPodService {
             pod1.addEquipment("Thermometer");
             pod1.addEquipment("Computer with Webcam");
             
-            healthPodRepository.save(pod1);
             
             // Sample Health Pod 2
             HealthPod pod2 = new HealthPod("Community Health Center - Sundarpur", 
@@ -155,7 +219,6 @@ public class HealthPodService {
             pod2.addEquipment("Centrifuge");
             pod2.addEquipment("Telemedicine Setup");
             
-            healthPodRepository.save(pod2);
             
             // Sample Health Pod 3
             HealthPod pod3 = new HealthPod("Rural Health Pod - Devgarh", 
@@ -187,7 +250,7 @@ public class HealthPodService {
             pod3.addEquipment("Basic Lab Equipment");
             pod3.addEquipment("Emergency Kit");
             
-            healthPodRepository.save(pod3);
+            savePods(List.of(pod1, pod2, pod3));
         }
     }
 }
\ No newline at end of file
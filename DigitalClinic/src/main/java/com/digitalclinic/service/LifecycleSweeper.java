@@ -0,0 +1,172 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.MissedAppointment;
+import com.digitalclinic.dto.StaleConsultation;
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.event.ConsultationChangedEvent;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.repository.AppointmentRepository;
+import com.digitalclinic.repository.VideoConsultationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Closes what nobody closed by hand: consultations that never started or never ended, appointments
+ * whose patient never turned up, and signaling rooms left behind by consultations that are over.
+ *
+ * Rows are changed with set-based UPDATEs, a chunk at a time, each chunk in its own short
+ * transaction that locks only the rows it changes. The chunk's events go to the outbox in the same
+ * transaction, so the dashboard, slot and reminder caches hear about a swept row exactly as they
+ * would about one changed through the services.
+ */
+@Service
+public class LifecycleSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(LifecycleSweeper.class);
+
+    // Waiting for a call that never got going
+    private static final Set<VideoConsultation.ConsultationStatus> NOT_STARTED = EnumSet.of(
+        VideoConsultation.ConsultationStatus.SCHEDULED, VideoConsultation.ConsultationStatus.PATIENT_WAITING);
+
+    // A call that got going and was never ended
+    private static final Set<VideoConsultation.ConsultationStatus> STARTED = EnumSet.of(
+        VideoConsultation.ConsultationStatus.STARTED, VideoConsultation.ConsultationStatus.IN_PROGRESS,
+        VideoConsultation.ConsultationStatus.DOCTOR_JOINED);
+
+    private static final Set<VideoConsultation.ConsultationStatus> ENDED = EnumSet.of(
+        VideoConsultation.ConsultationStatus.COMPLETED, VideoConsultation.ConsultationStatus.CANCELLED);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VideoConsultationRepository videoConsultationRepository;
+
+    @Autowired
+    private ConsultationRoomRegistry roomRegistry;
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clinic.sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${clinic.sweeper.consultation-grace-minutes:60}")
+    private long consultationGraceMinutes;
+
+    @Value("${clinic.sweeper.consultation-max-minutes:240}")
+    private long consultationMaxMinutes;
+
+    @Value("${clinic.sweeper.no-show-grace-minutes:60}")
+    private long noShowGraceMinutes;
+
+    @Scheduled(initialDelayString = "${clinic.sweeper.interval-ms:60000}",
+               fixedDelayString = "${clinic.sweeper.interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        record("consultation-expired", closeConsultations(NOT_STARTED, now.minusMinutes(consultationGraceMinutes),
+            VideoConsultation.ConsultationStatus.CANCELLED));
+        record("consultation-timed-out", closeConsultations(STARTED, now.minusMinutes(consultationMaxMinutes),
+            VideoConsultation.ConsultationStatus.COMPLETED));
+        record("no-show", markNoShows(now.minusMinutes(noShowGraceMinutes)));
+        record("room-closed", closeOrphanedRooms());
+    }
+
+    private int closeConsultations(Set<VideoConsultation.ConsultationStatus> statuses, LocalDateTime before,
+                                   VideoConsultation.ConsultationStatus closedStatus) {
+        int total = 0;
+        int swept;
+        // Swept rows drop out of the query, so the first page is always the next chunk
+        do {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<StaleConsultation> stale = videoConsultationRepository.findStaleForUpdate(
+                    statuses, before, PageRequest.of(0, chunkSize));
+                if (stale.isEmpty()) {
+                    return 0;
+                }
+                videoConsultationRepository.closeConsultations(
+                    stale.stream().map(StaleConsultation::getId).collect(Collectors.toList()), closedStatus, LocalDateTime.now());
+                for (StaleConsultation consultation : stale) {
+                    domainEventOutbox.append(new ConsultationChangedEvent(consultation.getId(), consultation.getRoomId(),
+                        consultation.getAppointmentId(), consultation.getStatus(), closedStatus));
+                }
+                return stale.size();
+            });
+            swept = chunk != null ? chunk : 0;
+            total += swept;
+        } while (swept == chunkSize);
+        return total;
+    }
+
+    private int markNoShows(LocalDateTime before) {
+        int total = 0;
+        int swept;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<MissedAppointment> missed = appointmentRepository.findMissedForUpdate(
+                    before, AppointmentReminderService.REMINDED_STATUSES, PageRequest.of(0, chunkSize));
+                if (missed.isEmpty()) {
+                    return 0;
+                }
+                appointmentRepository.updateStatus(missed.stream().map(MissedAppointment::getId).collect(Collectors.toList()),
+                    Appointment.AppointmentStatus.NO_SHOW, LocalDateTime.now());
+                for (MissedAppointment appointment : missed) {
+                    domainEventOutbox.append(new AppointmentChangedEvent(AppointmentChangedEvent.ChangeType.STATUS_CHANGED,
+                        appointment.getId(), appointment.getPatientId(), appointment.getDoctorId(), appointment.getPodId(),
+                        appointment.getStatus(), Appointment.AppointmentStatus.NO_SHOW,
+                        appointment.getAppointmentDateTime(), appointment.getAppointmentDateTime()));
+                }
+                return missed.size();
+            });
+            swept = chunk != null ? chunk : 0;
+            total += swept;
+        } while (swept == chunkSize);
+        return total;
+    }
+
+    // Rooms whose consultation is over; the participants' sockets are long gone or about to be
+    private int closeOrphanedRooms() {
+        Map<Long, List<String>> roomsByConsultation = roomRegistry.getRooms().stream()
+            .collect(Collectors.groupingBy(ConsultationRoomRegistry.Room::getConsultationId,
+                Collectors.mapping(ConsultationRoomRegistry.Room::getRoomId, Collectors.toList())));
+        if (roomsByConsultation.isEmpty()) {
+            return 0;
+        }
+        int closed = 0;
+        for (Long consultationId : videoConsultationRepository.findIdsByIdInAndStatusIn(roomsByConsultation.keySet(), ENDED)) {
+            for (String roomId : roomsByConsultation.get(consultationId)) {
+                if (roomRegistry.closeRoom(roomId).isPresent()) {
+                    closed++;
+                }
+            }
+        }
+        return closed;
+    }
+
+    private void record(String outcome, int count) {
+        if (count > 0) {
+            meterRegistry.counter("clinic.sweeper.swept", "outcome", outcome).increment(count);
+            log.info("Lifecycle sweep: {} {}", count, outcome);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AppointmentReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Default reminder channel: one log line per reminder
+@Component
+@ConditionalOnProperty(prefix = "clinic.reminders", name = "channel", havingValue = "log", matchIfMissing = true)
+public class LogReminderChannel implements ReminderChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LogReminderChannel.class);
+
+    @Override
+    public void send(AppointmentReminder reminder) {
+        log.info("Reminder {} for appointment {} at {} to {} <{}>, {}", reminder.getKind(), reminder.getAppointmentId(),
+            reminder.getAppointmentDateTime(), reminder.getPatientName(), reminder.getPatientEmail(),
+            reminder.getDoctorName() != null ? "with " + reminder.getDoctorName() : reminder.getPodName());
+    }
+}
@@ -0,0 +1,197 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.config.StompMessageMetrics;
+import com.digitalclinic.dto.MetricsOverview;
+import com.digitalclinic.dto.MetricsOverview.CacheRegionUsage;
+import com.digitalclinic.dto.MetricsOverview.ChannelUsage;
+import com.digitalclinic.dto.MetricsOverview.HibernateUsage;
+import com.digitalclinic.dto.MetricsOverview.LatencySummary;
+import com.digitalclinic.dto.MetricsOverview.PoolUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reads the admin metrics page straight from the meter registry and Hibernate's statistics,
+ * i.e. the same numbers /actuator/prometheus exposes. Timers are grouped by one tag (handler,
+ * repository method, destination) and their histogram buckets summed to estimate percentiles.
+ */
+@Service
+public class MetricsOverviewService {
+
+    private static final String HTTP_REQUESTS = "http.server.requests";
+    private static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public MetricsOverview getOverview() {
+        return new MetricsOverview(
+            latencies(HTTP_REQUESTS,
+                timer -> timer.getId().getTag("handler"),
+                timer -> "SERVER_ERROR".equals(timer.getId().getTag("outcome"))),
+            latencies(REPOSITORY_INVOCATIONS,
+                timer -> timer.getId().getTag("repository") + "#" + timer.getId().getTag("method"),
+                timer -> "ERROR".equals(timer.getId().getTag("state"))),
+            latencies(StompMessageMetrics.METER_NAME,
+                timer -> timer.getId().getTag("destination"),
+                timer -> "error".equals(timer.getId().getTag("outcome"))),
+            connectionPools(),
+            channels(),
+            hibernate(),
+            cacheRegions());
+    }
+
+    private List<LatencySummary> latencies(String meterName, Function<Timer, String> groupBy, Predicate<Timer> failed) {
+        Map<String, List<Timer>> groups = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(meterName).timers()) {
+            String group = groupBy.apply(timer);
+            // Requests that never reached a controller (static resources, 404s) are left out
+            if (group != null && !"none".equals(group)) {
+                groups.computeIfAbsent(group, key -> new ArrayList<>()).add(timer);
+            }
+        }
+        List<LatencySummary> summaries = new ArrayList<>();
+        groups.forEach((name, timers) -> summaries.add(summarize(name, timers, failed)));
+        summaries.sort(Comparator.comparingLong(LatencySummary::getCount).reversed());
+        return summaries;
+    }
+
+    private List<PoolUsage> connectionPools() {
+        List<PoolUsage> pools = new ArrayList<>();
+        // One entry per pool tag, so every DataSource shows up on its own
+        for (Gauge max : meterRegistry.find("hikaricp.connections.max").gauges()) {
+            String pool = max.getId().getTag("pool");
+            Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", pool).counter();
+            Collection<Timer> acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timers();
+            pools.add(new PoolUsage(pool,
+                (int) gauge("hikaricp.connections.active", "pool", pool),
+                (int) gauge("hikaricp.connections.idle", "pool", pool),
+                (int) gauge("hikaricp.connections.pending", "pool", pool),
+                (int) max.value(),
+                timeouts != null ? (long) timeouts.count() : 0,
+                acquire.isEmpty() ? null : summarize(pool, acquire, timer -> false)));
+        }
+        pools.sort(Comparator.comparing(PoolUsage::getPool));
+        return pools;
+    }
+
+    private List<ChannelUsage> channels() {
+        List<ChannelUsage> channels = new ArrayList<>();
+        for (Gauge queued : meterRegistry.find("executor.queued").gauges()) {
+            String name = queued.getId().getTag("name");
+            FunctionCounter completed = meterRegistry.find("executor.completed").tag("name", name).functionCounter();
+            channels.add(new ChannelUsage(name,
+                (int) queued.value(),
+                (int) gauge("executor.active", "name", name),
+                (int) gauge("executor.pool.size", "name", name),
+                completed != null ? (long) completed.count() : 0));
+        }
+        channels.sort(Comparator.comparing(ChannelUsage::getName));
+        return channels;
+    }
+
+    private HibernateUsage hibernate() {
+        Statistics statistics = statistics();
+        return new HibernateUsage(
+            statistics.getSessionOpenCount(),
+            statistics.getTransactionCount(),
+            statistics.getQueryExecutionCount(),
+            statistics.getQueryExecutionMaxTime(),
+            statistics.getQueryExecutionMaxTimeQueryString(),
+            statistics.getEntityLoadCount(),
+            statistics.getEntityFetchCount(),
+            statistics.getEntityInsertCount(),
+            statistics.getEntityUpdateCount(),
+            statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(),
+            statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(),
+            statistics.getOptimisticFailureCount());
+    }
+
+    private List<CacheRegionUsage> cacheRegions() {
+        Statistics statistics = statistics();
+        List<CacheRegionUsage> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(new CacheRegionUsage(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        regions.sort(Comparator.comparing(CacheRegionUsage::getRegion));
+        return regions;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private double gauge(String name, String tag, String value) {
+        Gauge gauge = meterRegistry.find(name).tag(tag, value).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private static LatencySummary summarize(String name, Collection<Timer> timers, Predicate<Timer> failed) {
+        long count = 0;
+        long errors = 0;
+        double totalMs = 0;
+        double maxMs = 0;
+        // Bucket upper bound (ms) -> cumulative count, summed over all tag combinations
+        TreeMap<Double, Double> buckets = new TreeMap<>();
+        for (Timer timer : timers) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            count += snapshot.count();
+            totalMs += snapshot.total(TimeUnit.MILLISECONDS);
+            maxMs = Math.max(maxMs, snapshot.max(TimeUnit.MILLISECONDS));
+            if (failed.test(timer)) {
+                errors += snapshot.count();
+            }
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+            }
+        }
+        return new LatencySummary(name, count, errors, count > 0 ? totalMs / count : 0,
+            percentile(buckets, count, 0.50, maxMs),
+            percentile(buckets, count, 0.95, maxMs),
+            percentile(buckets, count, 0.99, maxMs),
+            maxMs);
+    }
+
+    // Upper bound of the first bucket holding the requested share of samples, capped by the recent max
+    // (which decays to zero when idle, so it only caps while it is still set)
+    private static double percentile(TreeMap<Double, Double> buckets, long count, double quantile, double maxMs) {
+        if (count == 0) {
+            return 0;
+        }
+        double rank = quantile * count;
+        for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+            if (bucket.getValue() >= rank) {
+                return maxMs > 0 ? Math.min(bucket.getKey(), maxMs) : bucket.getKey();
+            }
+        }
+        return maxMs;
+    }
+}
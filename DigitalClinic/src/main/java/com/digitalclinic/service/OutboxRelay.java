@@ -0,0 +1,397 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.DomainEvent;
+import com.digitalclinic.model.OutboxEvent;
+import com.digitalclinic.model.OutboxSequence;
+import com.digitalclinic.repository.OutboxEventRepository;
+import com.digitalclinic.repository.OutboxSequenceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox events and delivers them to the @EventListener methods of every node, off the
+ * request threads. Each poll first publishes: under the lock on the published log's counter, held
+ * by one node at a time, it claims the oldest pending events together with the other pending
+ * events of their aggregates, gives them the next positions in the log (each aggregate's in
+ * aggregate sequence order, which is the order they committed in) and marks them PUBLISHED. The
+ * next node to take the lock starts after them, so every event is published once and positions
+ * become visible in the order they were handed out.
+ *
+ * Every node then reads the log past its own cursor and hands each aggregate's events to one of a
+ * fixed number of single-threaded lanes, chosen by the aggregate, so one appointment's events are
+ * seen in order while different appointments proceed in parallel; the next poll starts once the
+ * whole batch is done. A node's cursor starts at the end of the log when the node comes up, before
+ * its views load, so an event can reach a view that has already read its change: the views
+ * re-read or overwrite the entry concerned, and the dashboard counters skip what they have counted.
+ *
+ * Each listener is called on its own. One that throws gets the event again on a later poll, with
+ * the aggregate's later events waiting behind it, up to max-attempts, after which this node gives
+ * up on the event and logs it; the listeners that had handled it are not called again. Retries
+ * are kept in memory per node, so a restart drops them along with the views they would have fed.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSequenceRepository outboxSequenceRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clinic.outbox.lanes:4}")
+    private int laneCount;
+
+    @Value("${clinic.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${clinic.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${clinic.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${clinic.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${clinic.outbox.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final ThreadLocal<OutboxEvent> delivering = new ThreadLocal<>();
+    private ExecutorService[] lanes;
+    private Thread relay;
+    private volatile boolean running;
+
+    // Last position this node has read; only the relay thread touches it and the held deliveries
+    private long cursor;
+    // Per aggregate, a delivery that failed and the aggregate's later ones waiting behind it
+    private final Map<String, List<Delivery>> held = new LinkedHashMap<>();
+
+    private Timer deliveryLag;
+    private Counter deliveryFailures;
+
+    private Collection<ApplicationListener<?>> applicationListeners;
+    private final Map<Class<?>, List<ApplicationListener<?>>> listenersByEventType = new ConcurrentHashMap<>();
+
+    // Views that load at startup depend on this bean, so they load after the cursor is placed and miss nothing
+    @PostConstruct
+    public void init() {
+        cursor = transactionTemplate.execute(status -> {
+            outboxSequenceRepository.advance(OutboxSequence.PUBLISHED_KEY, 0);
+            return outboxSequenceRepository.findLastSequence(OutboxSequence.PUBLISHED_KEY);
+        });
+        held.clear();
+    }
+
+    // Listeners are only registered once the context is up; events written before then (seeding) wait in the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        deliveryLag = Timer.builder("clinic.outbox.delivery.lag")
+            .description("Time from an event being written to its delivery to this node's listeners")
+            .register(meterRegistry);
+        deliveryFailures = Counter.builder("clinic.outbox.delivery.failures")
+            .description("Outbox deliveries that a listener failed")
+            .register(meterRegistry);
+
+        // @EventListener methods are registered on the context; by now all of them are
+        applicationListeners = ((AbstractApplicationContext) applicationContext).getApplicationListeners();
+
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "outbox-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        running = true;
+        relay = new Thread(this::runRelay, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    // The outbox event behind the one a listener is handling, or null outside a delivery
+    public OutboxEvent currentEvent() {
+        return delivering.get();
+    }
+
+    // Called after a transaction with outbox events commits
+    public void wakeUp() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer purged = transactionTemplate.execute(status ->
+            outboxEventRepository.deleteByStatusAndPublishedAtBefore(OutboxEvent.Status.PUBLISHED, before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered outbox events older than {} hours", purged, retentionHours);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (relay == null) {
+            return;
+        }
+        // Pending events stay in the table for the next node to publish; this node's views reload when it starts again
+        running = false;
+        wakeUp.release();
+        relay.join(shutdownTimeoutMillis);
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private void runRelay() {
+        while (running) {
+            try {
+                int published = publish();
+                BatchOutcome outcome = deliverPublished();
+                // A full batch means more is waiting; after a failure, give the listener a moment first
+                if (outcome.failed || (published < batchSize && outcome.size < batchSize)) {
+                    wakeUp.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay poll failed", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    running = false;
+                }
+            }
+        }
+    }
+
+    // Claims the oldest pending events and appends them to the published log; returns how many it took
+    private int publish() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.existsByStatus(OutboxEvent.Status.PENDING)) {
+                return 0;
+            }
+            // Locks the log's counter until commit: the claim, which only one node holds at a time
+            outboxSequenceRepository.advance(OutboxSequence.PUBLISHED_KEY, 0);
+            long position = outboxSequenceRepository.findLastSequence(OutboxSequence.PUBLISHED_KEY);
+            List<OutboxEvent> batch = outboxEventRepository.findByStatusOrderByIdAsc(
+                OutboxEvent.Status.PENDING, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<OutboxEvent> events = withPendingOfSameAggregates(batch);
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : events) {
+                event.setPosition(++position);
+                event.setStatus(OutboxEvent.Status.PUBLISHED);
+                event.setPublishedAt(now);
+            }
+            outboxSequenceRepository.advance(OutboxSequence.PUBLISHED_KEY, events.size());
+            return events.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    private BatchOutcome deliverPublished() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status ->
+            outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(cursor, PageRequest.of(0, batchSize)));
+        if (batch == null || batch.isEmpty()) {
+            if (held.isEmpty()) {
+                return new BatchOutcome(0, false);
+            }
+            batch = List.of();
+        } else {
+            cursor = batch.get(batch.size() - 1).getPosition();
+        }
+
+        // Aggregates with a failed delivery retry it first, and their new events queue up behind it
+        Map<String, List<Delivery>> byAggregate = new LinkedHashMap<>(held);
+        held.clear();
+        for (OutboxEvent event : batch) {
+            byAggregate.computeIfAbsent(event.getAggregateType() + ":" + event.getAggregateId(),
+                key -> new ArrayList<>()).add(new Delivery(event));
+        }
+
+        Map<String, CompletableFuture<List<Delivery>>> results = new LinkedHashMap<>();
+        byAggregate.forEach((aggregate, deliveries) -> results.put(aggregate, CompletableFuture.supplyAsync(
+            () -> deliverInOrder(deliveries), lanes[Math.floorMod(aggregate.hashCode(), lanes.length)])));
+
+        results.forEach((aggregate, result) -> {
+            List<Delivery> remaining = result.join();
+            if (!remaining.isEmpty()) {
+                held.put(aggregate, remaining);
+            }
+        });
+        return new BatchOutcome(batch.size(), !held.isEmpty());
+    }
+
+    // The batch is ordered by id, which does not follow commit order; an earlier event of the same
+    // aggregate may sit further on, so every aggregate in the batch comes with all its pending events
+    private List<OutboxEvent> withPendingOfSameAggregates(List<OutboxEvent> batch) {
+        Map<String, Set<Long>> idsByType = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            idsByType.computeIfAbsent(event.getAggregateType(), type -> new LinkedHashSet<>()).add(event.getAggregateId());
+        }
+        List<OutboxEvent> events = new ArrayList<>(batch.size());
+        idsByType.forEach((type, ids) -> events.addAll(
+            outboxEventRepository.findByStatusAndAggregateTypeAndAggregateIdInOrderByAggregateSequenceAsc(
+                OutboxEvent.Status.PENDING, type, ids)));
+        return events;
+    }
+
+    // Stops at the first failure, returning it and what follows: the aggregate's later events must not overtake it
+    private List<Delivery> deliverInOrder(List<Delivery> deliveries) {
+        for (int i = 0; i < deliveries.size(); i++) {
+            Delivery delivery = deliveries.get(i);
+            OutboxEvent event = delivery.event;
+            try {
+                deliver(delivery);
+                deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                deliveryFailures.increment();
+                delivery.attempts++;
+                if (delivery.attempts < maxAttempts) {
+                    log.warn("Delivery of outbox event {} failed (attempt {}), retrying", event.getId(),
+                        delivery.attempts, e);
+                    return new ArrayList<>(deliveries.subList(i, deliveries.size()));
+                }
+                log.error("Giving up on outbox event {} ({} {}) after {} attempts", event.getId(),
+                    event.getEventType(), event.getAggregateId(), delivery.attempts, e);
+            }
+        }
+        return List.of();
+    }
+
+    // Listener by listener, so the ones that handled the event before a failure are not called again
+    @SuppressWarnings("unchecked")
+    private void deliver(Delivery delivery) {
+        DomainEvent event = deserialize(delivery.event);
+        PayloadApplicationEvent<DomainEvent> applicationEvent = new PayloadApplicationEvent<>(this, event);
+        delivering.set(delivery.event);
+        try {
+            for (ApplicationListener<?> listener : listenersFor(event.getClass())) {
+                String listenerId = listenerId(listener);
+                if (!delivery.handledBy.contains(listenerId)) {
+                    ((ApplicationListener<PayloadApplicationEvent<DomainEvent>>) listener).onApplicationEvent(applicationEvent);
+                    delivery.handledBy.add(listenerId);
+                }
+            }
+        } finally {
+            delivering.remove();
+        }
+    }
+
+    private List<ApplicationListener<?>> listenersFor(Class<?> eventType) {
+        return listenersByEventType.computeIfAbsent(eventType, type -> {
+            ResolvableType applicationEventType = ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, type);
+            List<ApplicationListener<?>> listeners = new ArrayList<>();
+            for (ApplicationListener<?> listener : applicationListeners) {
+                GenericApplicationListener generic = listener instanceof GenericApplicationListener genericListener
+                    ? genericListener : new GenericApplicationListenerAdapter(listener);
+                if (generic.supportsEventType(applicationEventType) && generic.supportsSourceType(getClass())) {
+                    listeners.add(listener);
+                }
+            }
+            AnnotationAwareOrderComparator.sort(listeners);
+            return listeners;
+        });
+    }
+
+    // Class and method for an @EventListener method, the class for any other listener
+    private static String listenerId(ApplicationListener<?> listener) {
+        String id = listener instanceof SmartApplicationListener smart ? smart.getListenerId() : "";
+        return id.isEmpty() ? listener.getClass().getName() : id;
+    }
+
+    private DomainEvent deserialize(OutboxEvent event) {
+        try {
+            Class<?> type = Class.forName(event.getEventType());
+            if (!DomainEvent.class.isAssignableFrom(type)) {
+                throw new RuntimeException("Not a domain event type: " + event.getEventType());
+            }
+            return (DomainEvent) objectMapper.readValue(event.getPayload(), type);
+        } catch (ClassNotFoundException | IOException e) {
+            throw new RuntimeException("Could not read outbox event " + event.getId(), e);
+        }
+    }
+
+    // One event on its way to this node's listeners
+    private static final class Delivery {
+        private final OutboxEvent event;
+        private final Set<String> handledBy = new HashSet<>();
+        private int attempts;
+
+        Delivery(OutboxEvent event) {
+            this.event = event;
+        }
+    }
+
+    private static final class BatchOutcome {
+        private final int size;
+        private final boolean failed;
+
+        BatchOutcome(int size, boolean failed) {
+            this.size = size;
+            this.failed = failed;
+        }
+    }
+}
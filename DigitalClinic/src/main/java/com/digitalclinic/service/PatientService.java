@@ -18,8 +18,11 @@ public class PatientService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+    
     public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+        return patientRepository.findAllWithUser();
     }
     
     public Optional<Patient> getPatientById(Long id) {
@@ -27,7 +30,9 @@ public class PatientService {
     }
     public Patient createPatient(User user) {
         Patient patient = new Patient(user);
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        principalContextCache.evict(user.getEmail());
+        return saved;
     }
     
     public Optional<Patient> getPatientByEmail(String email) {
@@ -74,7 +79,9 @@ public class PatientService {
                 patient.setEmergencyContactPhone(patientDetails.getEmergencyContactPhone());
             }
             
-            return patientRepository.save(patient);
+            Patient saved = patientRepository.save(patient);
+            principalContextCache.evict(email);
+            return saved;
         }
         return null;
     }
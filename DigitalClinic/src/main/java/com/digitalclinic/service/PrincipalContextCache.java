@@ -0,0 +1,73 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.PrincipalContext;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.PatientRepository;
+import com.digitalclinic.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Per-email cache of the logged-in user's profile, so a page view does not look up the same
+ * user and patient/doctor rows again. Entries expire after a TTL and are evicted explicitly
+ * whenever one of the services writes the user or profile.
+ */
+@Service
+public class PrincipalContextCache {
+
+    // Loads straight from the repositories; the services evict from here, so they cannot be used for loading
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Value("${clinic.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${clinic.principal-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    private Cache<String, PrincipalContext> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    public Optional<PrincipalContext> get(String email) {
+        // Unknown emails are not cached, so a user registering right after a failed lookup is found
+        return email != null ? Optional.ofNullable(cache.get(email, this::load)) : Optional.empty();
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    private PrincipalContext load(String email) {
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        Patient patient = "PATIENT".equals(user.getRole()) ? patientRepository.findByUserEmail(email).orElse(null) : null;
+        Doctor doctor = "DOCTOR".equals(user.getRole()) ? doctorRepository.findByUserEmail(email).orElse(null) : null;
+        return new PrincipalContext(user, patient, doctor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AppointmentReminder;
+
+/**
+ * Where appointment reminders go. clinic.reminders.channel picks the implementation; log and
+ * file are local stand-ins until an SMS or e-mail gateway is wired in as another bean.
+ * Called on the reminder delivery thread, one reminder at a time.
+ */
+public interface ReminderChannel {
+
+    void send(AppointmentReminder reminder);
+}
@@ -0,0 +1,188 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory bitmap of booked 15-minute slots per doctor and per health pod.
+ * Bookings for the same doctor are serialized on a striped lock, the database
+ * is only written once the slot has been claimed in memory.
+ */
+@Service
+public class SlotReservationService {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final int LOCK_STRIPES = 64;
+
+    // Statuses that no longer hold on to their slot
+    public static final List<Appointment.AppointmentStatus> RELEASED_STATUSES = List.of(
+        Appointment.AppointmentStatus.CANCELLED, Appointment.AppointmentStatus.NO_SHOW);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private final ReentrantLock[] doctorLocks = newStripes();
+    private final ReentrantLock[] podLocks = newStripes();
+
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<LocalDate, DayBitmap>> doctorSlots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<LocalDate, DayBitmap>> podSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Claims the slot for the given doctor and pod and runs {@code writeThrough} while holding it.
+     * The slot is only marked booked if the write succeeds.
+     */
+    public <T> T reserve(Long doctorId, Long podId, LocalDateTime dateTime, Supplier<T> writeThrough) {
+        LocalDate day = dateTime.toLocalDate();
+        int slot = slotIndex(dateTime);
+
+        // Lock-free fast path: reject obvious conflicts without touching a lock or the database
+        if (isBooked(doctorSlots, doctorId, day, slot) || isBooked(podSlots, podId, day, slot)) {
+            throw conflict(doctorId, podId, dateTime, day, slot);
+        }
+
+        // Doctor stripe is always taken before the pod stripe so the two can never deadlock
+        ReentrantLock doctorLock = doctorId != null ? stripe(doctorLocks, doctorId) : null;
+        ReentrantLock podLock = podId != null ? stripe(podLocks, podId) : null;
+        if (doctorLock != null) doctorLock.lock();
+        try {
+            if (podLock != null) podLock.lock();
+            try {
+                DayBitmap doctorDay = doctorId != null ? loadDoctorDay(doctorId, day) : null;
+                DayBitmap podDay = podId != null ? loadPodDay(podId, day) : null;
+
+                if ((doctorDay != null && doctorDay.get(slot)) || (podDay != null && podDay.get(slot))) {
+                    throw conflict(doctorId, podId, dateTime, day, slot);
+                }
+
+                T result = writeThrough.get();
+
+                if (doctorDay != null) doctorDay.set(slot);
+                if (podDay != null) podDay.set(slot);
+                return result;
+            } finally {
+                if (podLock != null) podLock.unlock();
+            }
+        } finally {
+            if (doctorLock != null) doctorLock.unlock();
+        }
+    }
+
+    public void release(Long doctorId, Long podId, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return;
+        }
+        LocalDate day = dateTime.toLocalDate();
+        int slot = slotIndex(dateTime);
+
+        // Only days that are already cached need updating, anything else is reloaded from the database
+        DayBitmap doctorDay = cachedDay(doctorSlots, doctorId, day);
+        if (doctorDay != null) doctorDay.clear(slot);
+        DayBitmap podDay = cachedDay(podSlots, podId, day);
+        if (podDay != null) podDay.clear(slot);
+    }
+
+    public boolean isDoctorSlotFree(Long doctorId, LocalDateTime dateTime) {
+        return !loadDoctorDay(doctorId, dateTime.toLocalDate()).get(slotIndex(dateTime));
+    }
+
+    public boolean isPodSlotFree(Long podId, LocalDateTime dateTime) {
+        return !loadPodDay(podId, dateTime.toLocalDate()).get(slotIndex(dateTime));
+    }
+
+    public static int slotIndex(LocalDateTime dateTime) {
+        return (dateTime.getHour() * 60 + dateTime.getMinute()) / SLOT_MINUTES;
+    }
+
+    // Past days are never booked again, drop them once a night
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        doctorSlots.values().forEach(days -> days.keySet().removeIf(day -> day.isBefore(today)));
+        podSlots.values().forEach(days -> days.keySet().removeIf(day -> day.isBefore(today)));
+        doctorSlots.values().removeIf(ConcurrentHashMap::isEmpty);
+        podSlots.values().removeIf(ConcurrentHashMap::isEmpty);
+    }
+
+    private DayBitmap loadDoctorDay(Long doctorId, LocalDate day) {
+        return doctorSlots.computeIfAbsent(doctorId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(day, d -> DayBitmap.of(appointmentRepository.findBookedDoctorSlotTimes(
+                doctorId, d.atStartOfDay(), d.plusDays(1).atStartOfDay(), RELEASED_STATUSES)));
+    }
+
+    private DayBitmap loadPodDay(Long podId, LocalDate day) {
+        return podSlots.computeIfAbsent(podId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(day, d -> DayBitmap.of(appointmentRepository.findBookedPodSlotTimes(
+                podId, d.atStartOfDay(), d.plusDays(1).atStartOfDay(), RELEASED_STATUSES)));
+    }
+
+    private static boolean isBooked(ConcurrentHashMap<Long, ConcurrentHashMap<LocalDate, DayBitmap>> slots,
+                                    Long resourceId, LocalDate day, int slot) {
+        DayBitmap bitmap = cachedDay(slots, resourceId, day);
+        return bitmap != null && bitmap.get(slot);
+    }
+
+    private static DayBitmap cachedDay(ConcurrentHashMap<Long, ConcurrentHashMap<LocalDate, DayBitmap>> slots,
+                                       Long resourceId, LocalDate day) {
+        if (resourceId == null) {
+            return null;
+        }
+        ConcurrentHashMap<LocalDate, DayBitmap> days = slots.get(resourceId);
+        return days != null ? days.get(day) : null;
+    }
+
+    private RuntimeException conflict(Long doctorId, Long podId, LocalDateTime dateTime, LocalDate day, int slot) {
+        if (isBooked(doctorSlots, doctorId, day, slot)) {
+            return new RuntimeException("The doctor is already booked at " + dateTime + ". Please choose another time.");
+        }
+        return new RuntimeException("The health pod is already booked at " + dateTime + ". Please choose another time.");
+    }
+
+    private static ReentrantLock stripe(ReentrantLock[] locks, Long id) {
+        return locks[Math.floorMod(Long.hashCode(id), locks.length)];
+    }
+
+    private static ReentrantLock[] newStripes() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    // One bit per 15-minute slot of a single day, readable without locking
+    static final class DayBitmap {
+        private final AtomicLongArray words = new AtomicLongArray((SLOTS_PER_DAY + 63) / 64);
+
+        static DayBitmap of(List<LocalDateTime> bookedTimes) {
+            DayBitmap bitmap = new DayBitmap();
+            for (LocalDateTime time : bookedTimes) {
+                bitmap.set(slotIndex(time));
+            }
+            return bitmap;
+        }
+
+        boolean get(int slot) {
+            return (words.get(slot >>> 6) & (1L << slot)) != 0;
+        }
+
+        void set(int slot) {
+            words.getAndUpdate(slot >>> 6, word -> word | (1L << slot));
+        }
+
+        void clear(int slot) {
+            words.getAndUpdate(slot >>> 6, word -> word & ~(1L << slot));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.StatusCount;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.repository.AppointmentRepository;
+import com.digitalclinic.repository.VideoConsultationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-status counts for reporting from GROUP BY projections, no entities are loaded
+@Service
+@Transactional(readOnly = true)
+public class StatisticsService {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VideoConsultationRepository videoConsultationRepository;
+
+    public Map<String, Object> getStatusBreakdown() {
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        breakdown.put("appointments",
+            breakdown(Appointment.AppointmentStatus.values(), appointmentRepository.countGroupedByStatus()));
+        breakdown.put("consultations",
+            breakdown(VideoConsultation.ConsultationStatus.values(), videoConsultationRepository.countGroupedByStatus()));
+        return breakdown;
+    }
+
+    // Statuses without any rows are reported as zero so the shape of the result never changes
+    private static Map<String, Long> breakdown(Enum<?>[] statuses, List<StatusCount> counts) {
+        Map<String, Long> breakdown = new LinkedHashMap<>();
+        for (Enum<?> status : statuses) {
+            breakdown.put(status.name(), 0L);
+        }
+        for (StatusCount count : counts) {
+            if (count.getStatus() != null) {
+                breakdown.put(count.getStatus(), count.getCount());
+            }
+        }
+        return breakdown;
+    }
+}
@@ -0,0 +1,143 @@
+package com.digitalclinic.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: six levels of 64 slots, level n holding timers that are less than
+ * 64^(n+1) ticks away. Adding and cancelling a timer are O(1); advancing one tick fires one
+ * level-0 slot and, every 64^n ticks, moves one level-n slot down into the finer levels. With
+ * one-second ticks the wheel spans far longer than any booking horizon.
+ *
+ * Not thread-safe: the owner serialises schedule, cancel and advanceTo.
+ */
+public final class TimingWheel<T> {
+
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELTA = (1L << (LEVEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timeout<T>[][] buckets;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new Timeout[LEVELS][SLOTS];
+        for (Timeout<T>[] level : buckets) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = Timeout.sentinel();
+            }
+        }
+    }
+
+    // A deadline that has already passed fires on the next tick
+    public Timeout<T> schedule(long expiresAtMillis, T payload) {
+        long tick = Math.max(Math.floorDiv(expiresAtMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(Math.min(tick, currentTick + MAX_DELTA), payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    // Moves the wheel up to nowMillis and returns the payloads that came due, in deadline order
+    public List<T> advanceTo(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            // Higher levels first: what they hand down may belong in the lower slot cascaded next
+            int top = 0;
+            while (top + 1 < LEVELS && (currentTick & ((1L << (LEVEL_BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            for (int level = top; level >= 1; level--) {
+                cascade(level, slot(level, currentTick));
+            }
+
+            Timeout<T> head = buckets[0][slot(0, currentTick)];
+            for (Timeout<T> timeout = head.next; timeout != head; timeout = head.next) {
+                timeout.unlink();
+                size--;
+                due.add(timeout.payload);
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout<T> head = buckets[level][slot];
+        for (Timeout<T> timeout = head.next; timeout != head; timeout = head.next) {
+            timeout.unlink();
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.tick - currentTick;
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= 1L << (LEVEL_BITS * (level + 1))) {
+            level++;
+        }
+        buckets[level][slot(level, timeout.tick)].append(timeout);
+    }
+
+    private static int slot(int level, long tick) {
+        return (int) ((tick >>> (LEVEL_BITS * level)) & SLOT_MASK);
+    }
+
+    // A scheduled timer; also the node of its slot's circular list
+    public static final class Timeout<T> {
+
+        private final long tick;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(long tick, T payload) {
+            this.tick = tick;
+            this.payload = payload;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            Timeout<T> head = new Timeout<>(0, null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        public T getPayload() { return payload; }
+
+        private void append(Timeout<T> timeout) {
+            timeout.prev = prev;
+            timeout.next = this;
+            prev.next = timeout;
+            prev = timeout;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -17,6 +17,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+    
     public User registerUser(User user) {
         // Check if email already exists
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -26,7 +29,22 @@ public class UserService {
         // Encode password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalContextCache.evict(saved.getEmail());
+        return saved;
+    }
+    
+    // Bulk registration for imports; passwords are encoded like registerUser, inserts sent in JDBC batches
+    public List<User> registerUsers(List<User> users) {
+        List<String> emails = users.stream().map(User::getEmail).toList();
+        if (emails.stream().distinct().count() < emails.size() || userRepository.existsByEmailIn(emails)) {
+            throw new RuntimeException("Email already registered");
+        }
+        users.forEach(user -> user.setPassword(passwordEncoder.encode(user.getPassword())));
+        
+        List<User> saved = userRepository.saveAll(users);
+        saved.forEach(user -> principalContextCache.evict(user.getEmail()));
+        return saved;
     }
     
     public Optional<User> findByEmail(String email) {
@@ -38,6 +56,11 @@ public class UserService {
     }
     
     public User saveUser(User user) {
-        return userRepository.save(user);
+        // The cache is keyed by email, so a changed email leaves an entry under the stored one too
+        String storedEmail = user.getId() != null ? userRepository.findEmailById(user.getId()).orElse(null) : null;
+        User saved = userRepository.save(user);
+        principalContextCache.evict(storedEmail);
+        principalContextCache.evict(saved.getEmail());
+        return saved;
     }
 }
\ No newline at end of file
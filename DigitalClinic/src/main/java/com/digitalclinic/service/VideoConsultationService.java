@@ -1,10 +1,14 @@
 package com.digitalclinic.service;
 
+import com.digitalclinic.dto.ConsultationListItem;
+import com.digitalclinic.event.ConsultationChangedEvent;
 import com.digitalclinic.model.Appointment;
 import com.digitalclinic.model.VideoConsultation;
 import com.digitalclinic.repository.VideoConsultationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +23,13 @@ public class VideoConsultationService {
     @Autowired
     private AppointmentService appointmentService;
     
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Transactional
     public VideoConsultation createVideoConsultation(Long appointmentId) {
         Optional<Appointment> appointmentOpt = appointmentService.getAppointmentById(appointmentId);
         if (appointmentOpt.isPresent()) {
@@ -40,7 +51,7 @@ public class VideoConsultationService {
             consultation.setDoctorJoinUrl("/video-call/doctor/" + consultation.getRoomId());
             consultation.setAccessToken(generateAccessToken());
             
-            return videoConsultationRepository.save(consultation);
+            return save(consultation, null);
         }
         throw new RuntimeException("Appointment not found");
     }
@@ -57,14 +68,16 @@ public class VideoConsultationService {
         return videoConsultationRepository.findByRoomId(roomId);
     }
     
+    @Transactional
     public VideoConsultation startConsultation(Long consultationId) {
         Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
         if (consultationOpt.isPresent()) {
             VideoConsultation consultation = consultationOpt.get();
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
             
             if (consultation.canStart()) {
                 consultation.startConsultation();
-                return videoConsultationRepository.save(consultation);
+                return save(consultation, previousStatus);
             } else {
                 throw new RuntimeException("Consultation cannot be started at this time");
             }
@@ -72,37 +85,70 @@ public class VideoConsultationService {
         throw new RuntimeException("Video consultation not found");
     }
     
+    @Transactional
     public VideoConsultation patientJoined(Long consultationId) {
         Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
         if (consultationOpt.isPresent()) {
             VideoConsultation consultation = consultationOpt.get();
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
+            // Only a consultation still waiting to begin has a waiting patient; anything else stays as it is
+            if (previousStatus != VideoConsultation.ConsultationStatus.SCHEDULED) {
+                return consultation;
+            }
             consultation.setStatus(VideoConsultation.ConsultationStatus.PATIENT_WAITING);
-            return videoConsultationRepository.save(consultation);
+            return save(consultation, previousStatus);
         }
         throw new RuntimeException("Video consultation not found");
     }
     
+    @Transactional
     public VideoConsultation doctorJoined(Long consultationId) {
         Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
         if (consultationOpt.isPresent()) {
             VideoConsultation consultation = consultationOpt.get();
-            consultation.setStatus(VideoConsultation.ConsultationStatus.DOCTOR_JOINED);
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
             
-            // If this is the first time doctor joins, mark as in progress
-            if (consultation.getActualStartTime() == null) {
-                consultation.setActualStartTime(LocalDateTime.now());
-                consultation.setStatus(VideoConsultation.ConsultationStatus.IN_PROGRESS);
+            // The doctor's first arrival starts a call still waiting to begin; a rejoin leaves a running
+            // call as it is, and nothing brings back one that is over or was cancelled
+            if (consultation.getActualStartTime() != null || !consultation.isAwaitingStart()) {
+                return consultation;
             }
+            consultation.setActualStartTime(LocalDateTime.now());
+            consultation.setStatus(VideoConsultation.ConsultationStatus.IN_PROGRESS);
             
-            return videoConsultationRepository.save(consultation);
+            return save(consultation, previousStatus);
+        }
+        throw new RuntimeException("Video consultation not found");
+    }
+    
+    @Transactional
+    public VideoConsultation updateConsultationStatus(Long consultationId, VideoConsultation.ConsultationStatus status) {
+        Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
+        if (consultationOpt.isPresent()) {
+            VideoConsultation consultation = consultationOpt.get();
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
+            if (consultation.getStatus() == status) {
+                return consultation;
+            }
+            if (status == VideoConsultation.ConsultationStatus.COMPLETED) {
+                throw new RuntimeException("Use the completion form to complete a consultation");
+            }
+            
+            consultation.setStatus(status);
+            if (status == VideoConsultation.ConsultationStatus.IN_PROGRESS && consultation.getActualStartTime() == null) {
+                consultation.setActualStartTime(LocalDateTime.now());
+            }
+            return save(consultation, previousStatus);
         }
         throw new RuntimeException("Video consultation not found");
     }
     
+    @Transactional
     public VideoConsultation completeConsultation(Long consultationId) {
         Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
         if (consultationOpt.isPresent()) {
             VideoConsultation consultation = consultationOpt.get();
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
             consultation.completeConsultation();
             
             // Also mark the appointment as completed
@@ -114,30 +160,42 @@ public class VideoConsultationService {
                 );
             }
             
-            return videoConsultationRepository.save(consultation);
+            return save(consultation, previousStatus);
         }
         throw new RuntimeException("Video consultation not found");
     }
     
+    @Transactional
     public VideoConsultation cancelConsultation(Long consultationId, String reason) {
         Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
         if (consultationOpt.isPresent()) {
             VideoConsultation consultation = consultationOpt.get();
+            VideoConsultation.ConsultationStatus previousStatus = consultation.getStatus();
             consultation.setStatus(VideoConsultation.ConsultationStatus.CANCELLED);
             consultation.setEndTime(LocalDateTime.now());
-            return videoConsultationRepository.save(consultation);
+            return save(consultation, previousStatus);
         }
         throw new RuntimeException("Video consultation not found");
     }
     
+    @Transactional(readOnly = true)
     public List<VideoConsultation> getPatientConsultations(Long patientUserId) {
         return videoConsultationRepository.findByPatientUserId(patientUserId);
     }
     
+    @Transactional(readOnly = true)
     public List<VideoConsultation> getDoctorConsultations(Long doctorUserId) {
         return videoConsultationRepository.findByDoctorUserId(doctorUserId);
     }
     
+    public List<ConsultationListItem> getPatientConsultationItems(Long patientUserId) {
+        return videoConsultationRepository.findPatientListItems(patientUserId);
+    }
+    
+    public List<ConsultationListItem> getDoctorConsultationItems(Long doctorUserId) {
+        return videoConsultationRepository.findDoctorListItems(doctorUserId);
+    }
+    
     public List<VideoConsultation> getActiveConsultations() {
         return videoConsultationRepository.findActiveConsultations();
     }
@@ -154,11 +212,20 @@ public class VideoConsultationService {
     }
     
     public long getCompletedConsultations() {
-        return videoConsultationRepository.findByStatus(VideoConsultation.ConsultationStatus.COMPLETED).size();
+        return videoConsultationRepository.countByStatus(VideoConsultation.ConsultationStatus.COMPLETED);
     }
     
     public long getActiveConsultationsCount() {
-        return videoConsultationRepository.findActiveConsultations().size();
+        return videoConsultationRepository.countByStatusIn(VideoConsultation.ACTIVE_STATUSES);
+    }
+    
+    // The row and its event commit together; listeners see the event later, from the outbox relay
+    private VideoConsultation save(VideoConsultation consultation, VideoConsultation.ConsultationStatus previousStatus) {
+        return transactionTemplate.execute(status -> {
+            VideoConsultation saved = videoConsultationRepository.save(consultation);
+            domainEventOutbox.append(new ConsultationChangedEvent(saved, previousStatus));
+            return saved;
+        });
     }
     
     // Helper method to generate access token (simplified)
@@ -168,21 +235,20 @@ public class VideoConsultationService {
     
     // Check if consultation can be joined
     public boolean canJoinConsultation(Long consultationId, String userRole) {
-        Optional<VideoConsultation> consultationOpt = videoConsultationRepository.findById(consultationId);
-        if (consultationOpt.isPresent()) {
-            VideoConsultation consultation = consultationOpt.get();
-            
-            // Check if consultation is active or scheduled to start soon
-            if (consultation.isActive()) {
-                return true;
-            }
-            
-            // Allow joining 15 minutes before scheduled time
-            if (consultation.getStatus() == VideoConsultation.ConsultationStatus.SCHEDULED &&
-                consultation.getScheduledStartTime().isBefore(LocalDateTime.now().plusMinutes(15))) {
-                return true;
-            }
+        return videoConsultationRepository.findById(consultationId)
+            .map(this::canJoinConsultation)
+            .orElse(false);
+    }
+
+    // For a consultation already loaded, such as the one a STOMP join looked up
+    public boolean canJoinConsultation(VideoConsultation consultation) {
+        // Check if consultation is active or scheduled to start soon
+        if (consultation.isActive()) {
+            return true;
         }
-        return false;
+
+        // Allow joining 15 minutes before scheduled time
+        return consultation.getStatus() == VideoConsultation.ConsultationStatus.SCHEDULED &&
+            consultation.getScheduledStartTime().isBefore(LocalDateTime.now().plusMinutes(15));
     }
 }
\ No newline at end of file
@@ -0,0 +1,347 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.event.ConsultationChangedEvent;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.repository.VideoConsultationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live queue of each doctor's patients for the day, with an estimated start for every one of them.
+ * A doctor's queue is built from today's appointments the first time one of their patients opens
+ * the waiting room, and is then kept current from appointment and consultation events; patients
+ * who are in the waiting room go ahead of those who are not, then earlier appointments first.
+ * Estimates walk the queue one average consultation at a time, the average being taken over the
+ * doctor's latest consultations.
+ *
+ * Each waiting patient gets its own position and estimate on /user/queue/waiting-room, sent only
+ * when one of them has changed.
+ */
+@Service
+public class WaitingRoomService {
+
+    // Appointments the doctor still has to see today
+    private static final Set<Appointment.AppointmentStatus> QUEUED_STATUSES = Set.of(
+        Appointment.AppointmentStatus.SCHEDULED, Appointment.AppointmentStatus.CONFIRMED,
+        Appointment.AppointmentStatus.IN_PROGRESS);
+
+    private static final String DESTINATION = "/queue/waiting-room";
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private VideoConsultationRepository videoConsultationRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${clinic.waiting-room.duration-window:20}")
+    private int durationWindow;
+
+    @Value("${clinic.waiting-room.default-duration-minutes:15}")
+    private int defaultDurationMinutes;
+
+    // Doctor id -> today's queue, for doctors someone is waiting for
+    private final ConcurrentHashMap<Long, DoctorQueue> queues = new ConcurrentHashMap<>();
+
+    // STOMP session id -> doctor id, to take a patient out of the waiting room on disconnect
+    private final ConcurrentHashMap<String, Long> sessionDoctors = new ConcurrentHashMap<>();
+
+    public void checkIn(Appointment appointment, String sessionId, String principalName) {
+        if (appointment.getDoctor() == null) {
+            throw new RuntimeException("This appointment has no doctor to wait for");
+        }
+        if (!appointment.getAppointmentDateTime().toLocalDate().equals(LocalDate.now())) {
+            throw new RuntimeException("The waiting room opens on the day of the appointment");
+        }
+        Long doctorId = appointment.getDoctor().getId();
+        DoctorQueue queue = queues.computeIfAbsent(doctorId,
+            id -> load(id, appointment.getDoctor().getUser().getId()));
+        sessionDoctors.put(sessionId, doctorId);
+
+        List<Update> updates;
+        synchronized (queue) {
+            Entry entry = queue.entries.get(appointment.getId());
+            if (entry == null) {
+                throw new RuntimeException("This appointment is not in today's queue");
+            }
+            entry.watchers.put(sessionId, principalName);
+            // The newcomer always gets the current picture, even if it has not changed
+            entry.pushedPosition = -1;
+            updates = queue.reorder();
+        }
+        send(updates);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Long doctorId = sessionDoctors.remove(event.getSessionId());
+        DoctorQueue queue = doctorId != null ? queues.get(doctorId) : null;
+        if (queue == null) {
+            return;
+        }
+        List<Update> updates;
+        synchronized (queue) {
+            queue.entries.values().forEach(entry -> entry.watchers.remove(event.getSessionId()));
+            updates = queue.reorder();
+        }
+        send(updates);
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        DoctorQueue queue = event.getDoctorId() != null ? queues.get(event.getDoctorId()) : null;
+        if (queue == null) {
+            return;
+        }
+        List<Update> updates;
+        synchronized (queue) {
+            boolean queued = QUEUED_STATUSES.contains(event.getNewStatus()) && event.getNewDateTime() != null
+                && event.getNewDateTime().toLocalDate().equals(queue.day);
+            Entry entry = queue.entries.get(event.getAppointmentId());
+            if (queued && entry == null) {
+                queue.entries.put(event.getAppointmentId(), new Entry(event.getAppointmentId(), event.getNewDateTime()));
+            } else if (queued) {
+                entry.scheduledAt = event.getNewDateTime();
+            } else if (entry != null) {
+                queue.remove(entry);
+            }
+            updates = queue.reorder();
+        }
+        send(updates);
+    }
+
+    @EventListener
+    public void onConsultationChanged(ConsultationChangedEvent event) {
+        if (event.getNewStatus() == VideoConsultation.ConsultationStatus.COMPLETED) {
+            recordDuration(event.getConsultationId());
+        }
+        DoctorQueue queue = event.getAppointmentId() != null ? findQueue(event.getAppointmentId()) : null;
+        if (queue == null) {
+            return;
+        }
+        List<Update> updates;
+        synchronized (queue) {
+            Entry entry = queue.entries.get(event.getAppointmentId());
+            if (entry == null) {
+                return;
+            }
+            if (event.getNewStatus() == VideoConsultation.ConsultationStatus.COMPLETED
+                    || event.getNewStatus() == VideoConsultation.ConsultationStatus.CANCELLED) {
+                queue.remove(entry);
+            } else if (VideoConsultation.ACTIVE_STATUSES.contains(event.getNewStatus())
+                    && event.getNewStatus() != VideoConsultation.ConsultationStatus.PATIENT_WAITING
+                    && entry.startedAt == null) {
+                entry.startedAt = LocalDateTime.now();
+            }
+            updates = queue.reorder();
+        }
+        send(updates);
+    }
+
+    // Estimates drift as consultations run on; yesterday's queues are dropped and rebuilt on the next check-in
+    @Scheduled(fixedDelayString = "${clinic.waiting-room.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDate today = LocalDate.now();
+        queues.values().removeIf(queue -> !queue.day.equals(today));
+        for (DoctorQueue queue : queues.values()) {
+            List<Update> updates;
+            synchronized (queue) {
+                updates = queue.reorder();
+            }
+            send(updates);
+        }
+    }
+
+    private DoctorQueue load(Long doctorId, Long doctorUserId) {
+        LocalDate today = LocalDate.now();
+        DoctorQueue queue = new DoctorQueue(today, durationWindow, defaultDurationMinutes);
+        for (Appointment appointment : appointmentService.getDoctorTodayAppointments(doctorUserId)) {
+            if (QUEUED_STATUSES.contains(appointment.getStatus())) {
+                queue.entries.put(appointment.getId(), new Entry(appointment.getId(), appointment.getAppointmentDateTime()));
+            }
+        }
+        // A call already under way keeps its patient at the head of the queue
+        for (VideoConsultation consultation : videoConsultationRepository.findDoctorConsultationsBetweenDates(
+                doctorUserId, today.atStartOfDay(), today.plusDays(1).atStartOfDay())) {
+            Entry entry = consultation.getAppointment() != null ? queue.entries.get(consultation.getAppointment().getId()) : null;
+            if (entry != null && consultation.getActualStartTime() != null && consultation.isActive()) {
+                entry.startedAt = consultation.getActualStartTime();
+            }
+        }
+        // Newest first from the query, oldest first into the window
+        List<Integer> durations = new ArrayList<>(videoConsultationRepository.findRecentDurations(
+            doctorUserId, PageRequest.of(0, durationWindow)));
+        for (int i = durations.size() - 1; i >= 0; i--) {
+            queue.recordDuration(durations.get(i));
+        }
+        return queue;
+    }
+
+    // The appointment usually completes first and has left the queue, so the doctor comes from the row
+    private void recordDuration(Long consultationId) {
+        videoConsultationRepository.findById(consultationId).ifPresent(consultation -> {
+            Appointment appointment = consultation.getAppointment();
+            DoctorQueue queue = appointment != null && appointment.getDoctor() != null
+                ? queues.get(appointment.getDoctor().getId()) : null;
+            if (queue != null && consultation.getDurationMinutes() != null) {
+                synchronized (queue) {
+                    queue.recordDuration(consultation.getDurationMinutes());
+                }
+            }
+        });
+    }
+
+    private DoctorQueue findQueue(Long appointmentId) {
+        for (DoctorQueue queue : queues.values()) {
+            synchronized (queue) {
+                if (queue.entries.containsKey(appointmentId)) {
+                    return queue;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void send(List<Update> updates) {
+        for (Update update : updates) {
+            for (String principalName : update.principalNames) {
+                messagingTemplate.convertAndSendToUser(principalName, DESTINATION, update.payload);
+            }
+        }
+    }
+
+    private static final class DoctorQueue {
+        private final LocalDate day;
+        private final int durationWindow;
+        private final int defaultDurationMinutes;
+        private final Map<Long, Entry> entries = new HashMap<>();
+        // Left the queue since the last reorder; their watchers hear about it once more
+        private final List<Entry> finished = new ArrayList<>();
+        // Rolling window of consultation lengths, with its running sum
+        private final Deque<Integer> durations = new ArrayDeque<>();
+        private long durationSum;
+
+        DoctorQueue(LocalDate day, int durationWindow, int defaultDurationMinutes) {
+            this.day = day;
+            this.durationWindow = durationWindow;
+            this.defaultDurationMinutes = defaultDurationMinutes;
+        }
+
+        void recordDuration(int minutes) {
+            durations.addLast(minutes);
+            durationSum += minutes;
+            if (durations.size() > durationWindow) {
+                durationSum -= durations.removeFirst();
+            }
+        }
+
+        long averageMinutes() {
+            return durations.isEmpty() ? defaultDurationMinutes : Math.max(1, Math.round((double) durationSum / durations.size()));
+        }
+
+        void remove(Entry entry) {
+            entries.remove(entry.appointmentId);
+            entry.finished = true;
+            finished.add(entry);
+        }
+
+        // Walks the queue in priority order and returns the updates for patients whose place or estimate moved
+        List<Update> reorder() {
+            List<Entry> ordered = new ArrayList<>(entries.values());
+            ordered.sort(Comparator.comparing((Entry entry) -> entry.startedAt == null)
+                .thenComparing(entry -> entry.watchers.isEmpty())
+                .thenComparing(entry -> entry.scheduledAt)
+                .thenComparing(entry -> entry.appointmentId));
+
+            long average = averageMinutes();
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            LocalDateTime free = now;
+            List<Update> updates = new ArrayList<>();
+            int position = 0;
+            for (Entry entry : ordered) {
+                LocalDateTime estimatedStart;
+                if (entry.startedAt != null) {
+                    estimatedStart = entry.startedAt;
+                    LocalDateTime expectedEnd = entry.startedAt.plusMinutes(average);
+                    free = expectedEnd.isAfter(free) ? expectedEnd : free;
+                } else {
+                    // Nobody is seen before their own appointment time
+                    estimatedStart = entry.scheduledAt.isAfter(free) ? entry.scheduledAt : free;
+                    free = estimatedStart.plusMinutes(average);
+                    position++;
+                }
+                int shownPosition = entry.startedAt != null ? 0 : position;
+                if (!entry.watchers.isEmpty()
+                        && (shownPosition != entry.pushedPosition || !estimatedStart.equals(entry.pushedEstimate))) {
+                    entry.pushedPosition = shownPosition;
+                    entry.pushedEstimate = estimatedStart;
+                    updates.add(new Update(entry, shownPosition, estimatedStart, average));
+                }
+            }
+            for (Entry entry : finished) {
+                if (!entry.watchers.isEmpty()) {
+                    updates.add(new Update(entry, -1, null, average));
+                }
+            }
+            finished.clear();
+            return updates;
+        }
+    }
+
+    private static final class Entry {
+        private final Long appointmentId;
+        private LocalDateTime scheduledAt;
+        // Set once the doctor has started this patient's consultation
+        private LocalDateTime startedAt;
+        private boolean finished;
+        // Waiting-room sessions of the patient: session id -> principal name
+        private final Map<String, String> watchers = new LinkedHashMap<>();
+        private int pushedPosition = -1;
+        private LocalDateTime pushedEstimate;
+
+        Entry(Long appointmentId, LocalDateTime scheduledAt) {
+            this.appointmentId = appointmentId;
+            this.scheduledAt = scheduledAt;
+        }
+    }
+
+    private static final class Update {
+        private final Set<String> principalNames;
+        private final Map<String, Object> payload;
+
+        Update(Entry entry, int position, LocalDateTime estimatedStart, long averageMinutes) {
+            this.principalNames = Set.copyOf(entry.watchers.values());
+            this.payload = new LinkedHashMap<>();
+            payload.put("appointmentId", entry.appointmentId);
+            payload.put("status", entry.finished ? "FINISHED" : entry.startedAt != null ? "IN_CONSULTATION" : "WAITING");
+            payload.put("position", position);
+            payload.put("estimatedStart", estimatedStart != null
+                ? estimatedStart.atZone(ZoneId.systemDefault()).toInstant().toString() : null);
+            payload.put("averageConsultationMinutes", averageMinutes);
+        }
+    }
+}
@@ -85,6 +85,9 @@
                     <a class="nav-link" href="/admin/analytics">
                         <i class="fas fa-chart-bar me-2"></i> Analytics
                     </a>
+                    <a class="nav-link" href="/admin/metrics">
+                        <i class="fas fa-chart-line me-2"></i> Metrics
+                    </a>
                     <a class="nav-link" href="/admin/settings">
                         <i class="fas fa-cog me-2"></i> Settings
                     </a>
@@ -328,12 +331,12 @@
                                             <div class="border-bottom pb-2 mb-2">
                                                 <div class="d-flex justify-content-between align-items-start">
                                                     <div>
-                                                        <h6 class="mb-1">${appointment.patient.user.fullName}</h6>
+                                                        <h6 class="mb-1">${appointment.patientName}</h6>
                                                         <p class="mb-1 small text-muted">
-                                                            <c:if test="${not empty appointment.doctor}">
-                                                                with Dr. ${appointment.doctor.user.fullName}
+                                                            <c:if test="${not empty appointment.doctorName}">
+                                                                with Dr. ${appointment.doctorName}
                                                             </c:if>
-                                                            <c:if test="${empty appointment.doctor}">
+                                                            <c:if test="${empty appointment.doctorName}">
                                                                 Health Pod Visit
                                                             </c:if>
                                                         </p>
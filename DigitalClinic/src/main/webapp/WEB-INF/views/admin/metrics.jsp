@@ -0,0 +1,398 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <title>${title}</title>
+    <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.1.3/dist/css/bootstrap.min.css" rel="stylesheet">
+    <link href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css" rel="stylesheet">
+    <style>
+        .metrics-table td, .metrics-table th {
+            font-size: 0.875rem;
+            white-space: nowrap;
+        }
+        .sidebar {
+            background-color: #f8f9fa;
+            min-height: 100vh;
+            box-shadow: 2px 0 5px rgba(0,0,0,0.1);
+        }
+        .sidebar .nav-link {
+            color: #333;
+            padding: 12px 20px;
+            border-radius: 5px;
+            margin: 5px 0;
+        }
+        .sidebar .nav-link:hover, .sidebar .nav-link.active {
+            background-color: #dc3545;
+            color: white;
+        }
+    </style>
+</head>
+<body>
+    <!-- Navigation -->
+    <nav class="navbar navbar-dark bg-danger">
+        <div class="container-fluid">
+            <a class="navbar-brand" href="/admin/dashboard">
+                <i class="fas fa-cogs"></i> Digital Clinic - Admin
+            </a>
+            <div class="navbar-nav ms-auto d-flex flex-row">
+                <span class="navbar-text text-white me-3">
+                    Welcome, ${user.fullName}
+                </span>
+                <a class="nav-link text-white" href="/logout">
+                    <i class="fas fa-sign-out-alt"></i> Logout
+                </a>
+            </div>
+        </div>
+    </nav>
+
+    <div class="container-fluid">
+        <div class="row">
+            <!-- Sidebar -->
+            <div class="col-md-3 col-lg-2 sidebar p-0">
+                <div class="p-3">
+                    <h5 class="text-center">Admin Panel</h5>
+                </div>
+                <nav class="nav flex-column p-3">
+                    <a class="nav-link" href="/admin/dashboard">
+                        <i class="fas fa-tachometer-alt me-2"></i> Dashboard
+                    </a>
+                    <a class="nav-link" href="/admin/patients">
+                        <i class="fas fa-users me-2"></i> Patients
+                    </a>
+                    <a class="nav-link" href="/admin/doctors">
+                        <i class="fas fa-user-md me-2"></i> Doctors
+                    </a>
+                    <a class="nav-link" href="/admin/health-pods">
+                        <i class="fas fa-clinic-medical me-2"></i> Health Pods
+                    </a>
+                    <a class="nav-link" href="/admin/appointments">
+                        <i class="fas fa-calendar-check me-2"></i> Appointments
+                    </a>
+                    <a class="nav-link" href="/admin/analytics">
+                        <i class="fas fa-chart-bar me-2"></i> Analytics
+                    </a>
+                    <a class="nav-link active" href="/admin/metrics">
+                        <i class="fas fa-chart-line me-2"></i> Metrics
+                    </a>
+                    <a class="nav-link" href="/admin/settings">
+                        <i class="fas fa-cog me-2"></i> Settings
+                    </a>
+                </nav>
+            </div>
+
+            <!-- Main Content -->
+            <div class="col-md-9 col-lg-10 ms-sm-auto px-4 py-4">
+                <div class="card bg-light mb-4">
+                    <div class="card-body">
+                        <h3 class="card-title">
+                            <i class="fas fa-chart-line text-danger me-2"></i>
+                            System Metrics
+                        </h3>
+                        <p class="card-text">
+                            Counts and latencies since startup; pool and queue sizes are current. Percentiles are
+                            estimated from histogram buckets. Scrapers can read the same data from
+                            <code>/actuator/prometheus</code> with admin credentials.
+                        </p>
+                    </div>
+                </div>
+
+                <!-- Connection Pools -->
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-database me-2"></i>Connection Pools</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <table class="table table-sm metrics-table">
+                            <thead>
+                                <tr>
+                                    <th>Pool</th>
+                                    <th class="text-end">Active</th>
+                                    <th class="text-end">Idle</th>
+                                    <th class="text-end">Waiting</th>
+                                    <th class="text-end">Max</th>
+                                    <th>Utilization</th>
+                                    <th class="text-end">Timeouts</th>
+                                    <th class="text-end">Acquire p99 ms</th>
+                                </tr>
+                            </thead>
+                            <tbody>
+                                <c:forEach var="pool" items="${metrics.connectionPools}">
+                                    <tr>
+                                        <td><code>${pool.pool}</code></td>
+                                        <td class="text-end">${pool.active}</td>
+                                        <td class="text-end">${pool.idle}</td>
+                                        <td class="text-end ${pool.pending > 0 ? 'text-danger fw-bold' : ''}">${pool.pending}</td>
+                                        <td class="text-end">${pool.max}</td>
+                                        <td style="min-width: 140px;">
+                                            <div class="progress">
+                                                <div class="progress-bar ${pool.utilizationPercent >= 90 ? 'bg-danger' : pool.utilizationPercent >= 70 ? 'bg-warning' : 'bg-success'}"
+                                                     style="width: ${pool.utilizationPercent}%">${pool.utilizationPercent}%</div>
+                                            </div>
+                                        </td>
+                                        <td class="text-end ${pool.timeouts > 0 ? 'text-danger' : ''}">${pool.timeouts}</td>
+                                        <td class="text-end">
+                                            <c:if test="${pool.acquire != null}">
+                                                <fmt:formatNumber value="${pool.acquire.p99Ms}" maxFractionDigits="2"/>
+                                            </c:if>
+                                        </td>
+                                    </tr>
+                                </c:forEach>
+                            </tbody>
+                        </table>
+                    </div>
+                </div>
+
+                <!-- STOMP Channels -->
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-exchange-alt me-2"></i>Message Broker Channels</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <table class="table table-sm metrics-table">
+                            <thead>
+                                <tr>
+                                    <th>Channel executor</th>
+                                    <th class="text-end">Queued</th>
+                                    <th class="text-end">Active threads</th>
+                                    <th class="text-end">Pool size</th>
+                                    <th class="text-end">Completed</th>
+                                </tr>
+                            </thead>
+                            <tbody>
+                                <c:forEach var="channel" items="${metrics.channels}">
+                                    <tr>
+                                        <td><code>${channel.name}</code></td>
+                                        <td class="text-end ${channel.queued > 0 ? 'text-danger fw-bold' : ''}">${channel.queued}</td>
+                                        <td class="text-end">${channel.active}</td>
+                                        <td class="text-end">${channel.poolSize}</td>
+                                        <td class="text-end">${channel.completed}</td>
+                                    </tr>
+                                </c:forEach>
+                            </tbody>
+                        </table>
+                    </div>
+                </div>
+
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-globe me-2"></i>Requests by Controller Method</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <c:choose>
+                            <c:when test="${empty metrics.requests}">
+                                <p class="text-muted mb-0">No requests recorded yet.</p>
+                            </c:when>
+                            <c:otherwise>
+                                <table class="table table-sm table-hover metrics-table">
+                                    <thead>
+                                        <tr>
+                                            <th>Handler</th>
+                                            <th class="text-end">Count</th>
+                                            <th class="text-end">Errors</th>
+                                            <th class="text-end">Mean ms</th>
+                                            <th class="text-end">p50 ms</th>
+                                            <th class="text-end">p95 ms</th>
+                                            <th class="text-end">p99 ms</th>
+                                            <th class="text-end">Max ms</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach var="row" items="${metrics.requests}">
+                                            <tr>
+                                                <td><code>${row.name}</code></td>
+                                                <td class="text-end">${row.count}</td>
+                                                <td class="text-end ${row.errors > 0 ? 'text-danger' : ''}">${row.errors}</td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.meanMs}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p50Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p95Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p99Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.maxMs}" maxFractionDigits="1"/></td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                            </c:otherwise>
+                        </c:choose>
+                    </div>
+                </div>
+
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-table me-2"></i>Repository Calls</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <c:choose>
+                            <c:when test="${empty metrics.repositories}">
+                                <p class="text-muted mb-0">No repository calls recorded yet.</p>
+                            </c:when>
+                            <c:otherwise>
+                                <table class="table table-sm table-hover metrics-table">
+                                    <thead>
+                                        <tr>
+                                            <th>Repository method</th>
+                                            <th class="text-end">Count</th>
+                                            <th class="text-end">Errors</th>
+                                            <th class="text-end">Mean ms</th>
+                                            <th class="text-end">p50 ms</th>
+                                            <th class="text-end">p95 ms</th>
+                                            <th class="text-end">p99 ms</th>
+                                            <th class="text-end">Max ms</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach var="row" items="${metrics.repositories}">
+                                            <tr>
+                                                <td><code>${row.name}</code></td>
+                                                <td class="text-end">${row.count}</td>
+                                                <td class="text-end ${row.errors > 0 ? 'text-danger' : ''}">${row.errors}</td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.meanMs}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p50Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p95Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p99Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.maxMs}" maxFractionDigits="1"/></td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                            </c:otherwise>
+                        </c:choose>
+                    </div>
+                </div>
+
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-video me-2"></i>Consultation Messages</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <c:choose>
+                            <c:when test="${empty metrics.stompDestinations}">
+                                <p class="text-muted mb-0">No STOMP messages handled yet.</p>
+                            </c:when>
+                            <c:otherwise>
+                                <table class="table table-sm table-hover metrics-table">
+                                    <thead>
+                                        <tr>
+                                            <th>Destination</th>
+                                            <th class="text-end">Count</th>
+                                            <th class="text-end">Errors</th>
+                                            <th class="text-end">Mean ms</th>
+                                            <th class="text-end">p50 ms</th>
+                                            <th class="text-end">p95 ms</th>
+                                            <th class="text-end">p99 ms</th>
+                                            <th class="text-end">Max ms</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach var="row" items="${metrics.stompDestinations}">
+                                            <tr>
+                                                <td><code>${row.name}</code></td>
+                                                <td class="text-end">${row.count}</td>
+                                                <td class="text-end ${row.errors > 0 ? 'text-danger' : ''}">${row.errors}</td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.meanMs}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p50Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p95Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.p99Ms}" maxFractionDigits="1"/></td>
+                                                <td class="text-end"><fmt:formatNumber value="${row.maxMs}" maxFractionDigits="1"/></td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                            </c:otherwise>
+                        </c:choose>
+                    </div>
+                </div>
+
+                <!-- Hibernate -->
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-layer-group me-2"></i>Hibernate</h5>
+                    </div>
+                    <div class="card-body">
+                        <div class="row text-center">
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.sessionsOpened}</h4>
+                                <small class="text-muted">Sessions opened</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.transactions}</h4>
+                                <small class="text-muted">Transactions</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.queries}</h4>
+                                <small class="text-muted">Queries</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.optimisticFailures}</h4>
+                                <small class="text-muted">Optimistic lock failures</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.entityLoads}</h4>
+                                <small class="text-muted">Entities loaded</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.entityFetches}</h4>
+                                <small class="text-muted">Entities fetched (lazy)</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.entityInserts} / ${metrics.hibernate.entityUpdates}</h4>
+                                <small class="text-muted">Inserts / updates</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.secondLevelCacheHits} / ${metrics.hibernate.secondLevelCacheMisses}</h4>
+                                <small class="text-muted">L2 cache hits / misses</small>
+                            </div>
+                            <div class="col-md-3 col-6 mb-3">
+                                <h4>${metrics.hibernate.queryCacheHits} / ${metrics.hibernate.queryCacheMisses}</h4>
+                                <small class="text-muted">Query cache hits / misses</small>
+                            </div>
+                        </div>
+                        <c:if test="${not empty metrics.hibernate.slowestQuery}">
+                            <p class="mb-1"><strong>Slowest query</strong> (${metrics.hibernate.slowestQueryMs} ms)</p>
+                            <pre class="bg-light p-2 mb-0 small"><c:out value="${metrics.hibernate.slowestQuery}"/></pre>
+                        </c:if>
+                    </div>
+                </div>
+
+                <!-- Second-Level Cache -->
+                <div class="card mb-4">
+                    <div class="card-header">
+                        <h5 class="mb-0"><i class="fas fa-bolt me-2"></i>Second-Level Cache Regions</h5>
+                    </div>
+                    <div class="card-body table-responsive">
+                        <table class="table table-sm metrics-table">
+                            <thead>
+                                <tr>
+                                    <th>Region</th>
+                                    <th class="text-end">Hits</th>
+                                    <th class="text-end">Misses</th>
+                                    <th class="text-end">Puts</th>
+                                    <th>Hit ratio</th>
+                                </tr>
+                            </thead>
+                            <tbody>
+                                <c:forEach var="region" items="${metrics.cacheRegions}">
+                                    <tr>
+                                        <td><code>${region.region}</code></td>
+                                        <td class="text-end">${region.hits}</td>
+                                        <td class="text-end">${region.misses}</td>
+                                        <td class="text-end">${region.puts}</td>
+                                        <td style="min-width: 140px;">
+                                            <div class="progress">
+                                                <div class="progress-bar bg-info" style="width: ${region.hitPercent}%">${region.hitPercent}%</div>
+                                            </div>
+                                        </td>
+                                    </tr>
+                                </c:forEach>
+                            </tbody>
+                        </table>
+                    </div>
+                </div>
+            </div>
+        </div>
+    </div>
+
+    <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.1.3/dist/js/bootstrap.bundle.min.js"></script>
+</body>
+</html>
@@ -167,7 +167,7 @@
                                                                 <i class="fas fa-user-md fa-2x text-primary"></i>
                                                             </div>
                                                             <div class="flex-grow-1 ms-3">
-                                                                <h6 class="mb-1">Dr. ${doctor.user.fullName}</h6>
+                                                                <h6 class="mb-1">Dr. ${doctor.fullName}</h6>
                                                                 <p class="mb-1 small text-muted">${doctor.specialization}</p>
                                                                 <p class="mb-1 small">
                                                                     <i class="fas fa-graduation-cap me-1"></i>${doctor.qualification}
@@ -175,6 +175,12 @@
                                                                 <p class="mb-0 small text-success">
                                                                     <i class="fas fa-rupee-sign me-1"></i>${doctor.consultationFee}
                                                                 </p>
+                                                                <c:if test="${doctor.rating != null}">
+                                                                    <p class="mb-0 small text-warning">
+                                                                        <i class="fas fa-star me-1"></i>${doctor.rating}
+                                                                        <span class="text-muted">(${doctor.ratingCount})</span>
+                                                                    </p>
+                                                                </c:if>
                                                             </div>
                                                         </div>
                                                     </div>
@@ -232,6 +238,14 @@
                             <div class="step-content" id="step3-content" style="display: none;">
                                 <h5 class="mb-4">Select Date & Time</h5>
                                 
+                                <!-- Earliest free slots of the selected doctor or pod -->
+                                <div class="mb-4">
+                                    <h6 class="mb-2"><i class="fas fa-bolt me-1 text-warning"></i>Earliest Available Slots</h6>
+                                    <div id="availableSlots" class="d-flex flex-wrap gap-2">
+                                        <span class="small text-muted">Loading available slots...</span>
+                                    </div>
+                                </div>
+                                
                                 <div class="row">
                                     <div class="col-md-6 mb-3">
                                         <label for="appointmentDate" class="form-label">Appointment Date</label>
@@ -398,12 +412,64 @@
             
             currentStep = step;
             
+            if (step === 3) {
+                loadAvailableSlots();
+            }
+            
             // Update confirmation details
             if (step === 4) {
                 updateConfirmationDetails();
             }
         }
         
+        function loadAvailableSlots() {
+            const container = document.getElementById('availableSlots');
+            const params = new URLSearchParams({ limit: 8 });
+            if (selectedType === 'VIDEO' && selectedDoctor) params.set('doctorId', selectedDoctor);
+            if (selectedType === 'IN_PERSON' && selectedPod) params.set('podId', selectedPod);
+            
+            fetch('/appointments/availability?' + params.toString())
+                .then(response => response.json())
+                .then(slots => {
+                    container.innerHTML = '';
+                    if (slots.length === 0) {
+                        container.innerHTML = '<span class="small text-muted">No published slots this week, please pick a time below.</span>';
+                        return;
+                    }
+                    slots.forEach(slot => {
+                        const button = document.createElement('button');
+                        button.type = 'button';
+                        button.className = 'btn btn-outline-success btn-sm';
+                        button.textContent = slot.formattedStart + (selectedType === 'IN_PERSON' ? ' - Dr. ' + slot.doctorName : '');
+                        button.onclick = () => pickSlot(slot, button);
+                        container.appendChild(button);
+                    });
+                })
+                .catch(() => {
+                    container.innerHTML = '<span class="small text-muted">Available slots could not be loaded.</span>';
+                });
+        }
+        
+        function pickSlot(slot, element) {
+            document.getElementById('appointmentDate').value = slot.date;
+            
+            // Slots are on a 15-minute grid, add the time to the list if it is not one of the defaults
+            const timeSelect = document.getElementById('appointmentTime');
+            if (!Array.from(timeSelect.options).some(option => option.value === slot.time)) {
+                timeSelect.add(new Option(slot.time, slot.time));
+            }
+            timeSelect.value = slot.time;
+            
+            if (selectedType === 'IN_PERSON') {
+                document.getElementById('selectedDoctorId').value = slot.doctorId;
+            }
+            
+            document.querySelectorAll('#availableSlots button').forEach(button => {
+                button.classList.remove('active');
+            });
+            element.classList.add('active');
+        }
+        
         function prevStep(step) {
             // Hide current step
             document.getElementById(`step\${currentStep}-content`).style.display = 'none';
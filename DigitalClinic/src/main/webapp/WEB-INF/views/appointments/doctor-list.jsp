@@ -74,9 +74,7 @@
                 <div class="card bg-primary text-white">
                     <div class="card-body text-center">
                         <h4 class="mb-0">
-                            ${appointments.stream()
-                                .filter(a -> a.appointmentDateTime.toLocalDate().equals(java.time.LocalDate.now()))
-                                .count()}
+                            ${todayAppointments.size()}
                         </h4>
                         <small>Today's</small>
                     </div>
@@ -86,7 +84,7 @@
                 <div class="card bg-warning text-white">
                     <div class="card-body text-center">
                         <h4 class="mb-0">
-                            ${appointments.stream().filter(a -> a.upcoming).count()}
+                            ${appointmentCounts.upcoming}
                         </h4>
                         <small>Upcoming</small>
                     </div>
@@ -96,7 +94,7 @@
                 <div class="card bg-success text-white">
                     <div class="card-body text-center">
                         <h4 class="mb-0">
-                            ${appointments.stream().filter(a -> a.completed).count()}
+                            ${appointmentCounts.completed}
                         </h4>
                         <small>Completed</small>
                     </div>
@@ -105,7 +103,7 @@
             <div class="col-md-3 mb-3">
                 <div class="card bg-info text-white">
                     <div class="card-body text-center">
-                        <h4 class="mb-0">${appointments.size()}</h4>
+                        <h4 class="mb-0">${appointmentCounts.total}</h4>
                         <small>Total</small>
                     </div>
                 </div>
@@ -134,10 +132,6 @@
                 </h5>
             </div>
             <div class="card-body">
-                <c:set var="todayAppointments" value="${appointments.stream()
-                    .filter(a -> a.appointmentDateTime.toLocalDate().equals(java.time.LocalDate.now()))
-                    .toList()}" />
-                
                 <c:choose>
                     <c:when test="${not empty todayAppointments && todayAppointments.size() > 0}">
                         <div class="list-group list-group-flush">
@@ -160,8 +154,8 @@
                                                         </div>
                                                         <div class="flex-grow-1">
                                                             <h6 class="card-title mb-1">
-                                                                ${appointment.patient.user.fullName}
-                                                                <small class="text-muted">(${appointment.patient.age} years)</small>
+                                                                ${appointment.patientName}
+                                                                <small class="text-muted">(${appointment.patientAge} years)</small>
                                                             </h6>
                                                             <p class="card-text text-muted small mb-1">
                                                                 <i class="fas fa-clock me-1"></i>
@@ -252,10 +246,10 @@
                                     <c:forEach var="appointment" items="${appointments}">
                                         <tr>
                                             <td>
-                                                <strong>${appointment.patient.user.fullName}</strong>
+                                                <strong>${appointment.patientName}</strong>
                                                 <br>
                                                 <small class="text-muted">
-                                                    ${appointment.patient.age} years, ${appointment.patient.gender}
+                                                    ${appointment.patientAge} years, ${appointment.patientGender}
                                                 </small>
                                             </td>
                                             <td>
@@ -306,6 +300,13 @@
                                 </tbody>
                             </table>
                         </div>
+                        <c:if test="${page.hasMore}">
+                            <div class="text-center mt-3">
+                                <a href="/appointments?before=${page.nextBefore}&beforeId=${page.nextBeforeId}&size=${page.pageSize}" class="btn btn-outline-primary">
+                                    <i class="fas fa-history me-1"></i>Load Older Appointments
+                                </a>
+                            </div>
+                        </c:if>
                     </c:when>
                     <c:otherwise>
                         <div class="text-center py-5">
@@ -97,14 +97,14 @@
                                                                 <c:choose>
                                                                     <c:when test="${appointment.type == 'VIDEO'}">
                                                                         Video Consultation
-                                                                        <c:if test="${not empty appointment.doctor}">
-                                                                            with Dr. ${appointment.doctor.user.fullName}
+                                                                        <c:if test="${not empty appointment.doctorName}">
+                                                                            with Dr. ${appointment.doctorName}
                                                                         </c:if>
                                                                     </c:when>
                                                                     <c:otherwise>
                                                                         Health Pod Visit
-                                                                        <c:if test="${not empty appointment.healthPod}">
-                                                                            at ${appointment.healthPod.name}
+                                                                        <c:if test="${not empty appointment.podName}">
+                                                                            at ${appointment.podName}
                                                                         </c:if>
                                                                     </c:otherwise>
                                                                 </c:choose>
@@ -175,6 +175,13 @@
                                 </div>
                             </c:forEach>
                         </div>
+                        <c:if test="${page.hasMore}">
+                            <div class="text-center mt-3">
+                                <a href="/appointments?before=${page.nextBefore}&beforeId=${page.nextBeforeId}&size=${page.pageSize}" class="btn btn-outline-primary">
+                                    <i class="fas fa-history me-1"></i>Load Older Appointments
+                                </a>
+                            </div>
+                        </c:if>
                     </c:when>
                     <c:otherwise>
                         <div class="text-center py-5">
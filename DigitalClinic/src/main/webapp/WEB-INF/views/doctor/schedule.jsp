@@ -0,0 +1,178 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <title>${title}</title>
+    <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.1.3/dist/css/bootstrap.min.css" rel="stylesheet">
+    <link href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css" rel="stylesheet">
+</head>
+<body>
+    <nav class="navbar navbar-light bg-light">
+        <div class="container">
+            <a class="navbar-brand" href="/doctor/dashboard">
+                <i class="fas fa-user-md"></i> Digital Clinic
+            </a>
+            <a href="/doctor/dashboard" class="btn btn-outline-secondary">
+                <i class="fas fa-arrow-left me-1"></i>Back to Dashboard
+            </a>
+        </div>
+    </nav>
+
+    <div class="container mt-4">
+        <!-- Success/Error Messages -->
+        <c:if test="${not empty success}">
+            <div class="alert alert-success alert-dismissible fade show" role="alert">
+                <i class="fas fa-check-circle me-2"></i>${success}
+                <button type="button" class="btn-close" data-bs-dismiss="alert"></button>
+            </div>
+        </c:if>
+        <c:if test="${not empty error}">
+            <div class="alert alert-danger alert-dismissible fade show" role="alert">
+                <i class="fas fa-exclamation-triangle me-2"></i>${error}
+                <button type="button" class="btn-close" data-bs-dismiss="alert"></button>
+            </div>
+        </c:if>
+
+        <div class="row">
+            <!-- Working Hours -->
+            <div class="col-lg-7 mb-4">
+                <div class="card shadow">
+                    <div class="card-header bg-success text-white">
+                        <h5 class="card-title mb-0">
+                            <i class="fas fa-clock me-2"></i>Weekly Working Hours
+                        </h5>
+                    </div>
+                    <div class="card-body">
+                        <c:choose>
+                            <c:when test="${not empty schedules}">
+                                <table class="table table-sm align-middle">
+                                    <thead>
+                                        <tr>
+                                            <th>Day</th>
+                                            <th>Hours</th>
+                                            <th>Where</th>
+                                            <th></th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach var="schedule" items="${schedules}">
+                                            <tr>
+                                                <td>${schedule.dayOfWeek}</td>
+                                                <td>${schedule.startTime} - ${schedule.endTime}</td>
+                                                <td>
+                                                    <c:choose>
+                                                        <c:when test="${not empty schedule.healthPod}">${schedule.healthPod.name}</c:when>
+                                                        <c:otherwise><span class="text-muted">Video consultations</span></c:otherwise>
+                                                    </c:choose>
+                                                </td>
+                                                <td class="text-end">
+                                                    <form action="/doctor/schedule/${schedule.id}/delete" method="post" class="d-inline">
+                                                        <button type="submit" class="btn btn-outline-danger btn-sm">
+                                                            <i class="fas fa-trash"></i>
+                                                        </button>
+                                                    </form>
+                                                </td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                            </c:when>
+                            <c:otherwise>
+                                <p class="text-muted">
+                                    No working hours yet. Patients can request any time until you add some.
+                                </p>
+                            </c:otherwise>
+                        </c:choose>
+
+                        <h6 class="border-bottom pb-2 mt-4 mb-3">Add Working Hours</h6>
+                        <form action="/doctor/schedule/add" method="post" class="row g-2">
+                            <div class="col-md-3">
+                                <select class="form-select" name="dayOfWeek" required>
+                                    <c:forEach var="day" items="${daysOfWeek}">
+                                        <option value="${day}">${day}</option>
+                                    </c:forEach>
+                                </select>
+                            </div>
+                            <div class="col-md-2">
+                                <input type="time" class="form-control" name="startTime" step="900" required>
+                            </div>
+                            <div class="col-md-2">
+                                <input type="time" class="form-control" name="endTime" step="900" required>
+                            </div>
+                            <div class="col-md-3">
+                                <select class="form-select" name="podId">
+                                    <option value="">Video consultations</option>
+                                    <c:forEach var="pod" items="${healthPods}">
+                                        <option value="${pod.id}">${pod.name}</option>
+                                    </c:forEach>
+                                </select>
+                            </div>
+                            <div class="col-md-2">
+                                <button type="submit" class="btn btn-success w-100">
+                                    <i class="fas fa-plus me-1"></i>Add
+                                </button>
+                            </div>
+                        </form>
+                    </div>
+                </div>
+            </div>
+
+            <!-- Leave -->
+            <div class="col-lg-5 mb-4">
+                <div class="card shadow">
+                    <div class="card-header bg-warning">
+                        <h5 class="card-title mb-0">
+                            <i class="fas fa-plane-departure me-2"></i>Upcoming Leave
+                        </h5>
+                    </div>
+                    <div class="card-body">
+                        <c:choose>
+                            <c:when test="${not empty leaves}">
+                                <ul class="list-group mb-3">
+                                    <c:forEach var="leave" items="${leaves}">
+                                        <li class="list-group-item d-flex justify-content-between align-items-center">
+                                            <div>
+                                                <div class="small">${leave.startDateTime} to ${leave.endDateTime}</div>
+                                                <div class="small text-muted">${leave.reason}</div>
+                                            </div>
+                                            <form action="/doctor/leave/${leave.id}/delete" method="post">
+                                                <button type="submit" class="btn btn-outline-danger btn-sm">
+                                                    <i class="fas fa-trash"></i>
+                                                </button>
+                                            </form>
+                                        </li>
+                                    </c:forEach>
+                                </ul>
+                            </c:when>
+                            <c:otherwise>
+                                <p class="text-muted">No leave planned.</p>
+                            </c:otherwise>
+                        </c:choose>
+
+                        <h6 class="border-bottom pb-2 mt-4 mb-3">Add Leave</h6>
+                        <form action="/doctor/leave/add" method="post">
+                            <div class="mb-2">
+                                <label class="form-label small">From</label>
+                                <input type="datetime-local" class="form-control" name="startDateTime" required>
+                            </div>
+                            <div class="mb-2">
+                                <label class="form-label small">Until</label>
+                                <input type="datetime-local" class="form-control" name="endDateTime" required>
+                            </div>
+                            <div class="mb-3">
+                                <input type="text" class="form-control" name="reason" placeholder="Reason (optional)">
+                            </div>
+                            <button type="submit" class="btn btn-warning w-100">
+                                <i class="fas fa-plus me-1"></i>Add Leave
+                            </button>
+                        </form>
+                    </div>
+                </div>
+            </div>
+        </div>
+    </div>
+
+    <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.1.3/dist/js/bootstrap.bundle.min.js"></script>
+</body>
+</html>
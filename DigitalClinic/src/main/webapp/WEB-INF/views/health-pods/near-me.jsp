@@ -64,6 +64,20 @@
                                 <i class="fas fa-list me-1"></i>Browse All Pods
                             </a>
                         </div>
+                        <div class="d-flex justify-content-center gap-3 mt-3">
+                            <div class="form-check">
+                                <input class="form-check-input" type="checkbox" id="filterLab" ${hasLab ? 'checked' : ''}>
+                                <label class="form-check-label" for="filterLab">Has lab</label>
+                            </div>
+                            <div class="form-check">
+                                <input class="form-check-input" type="checkbox" id="filterPharmacy" ${hasPharmacy ? 'checked' : ''}>
+                                <label class="form-check-label" for="filterPharmacy">Has pharmacy</label>
+                            </div>
+                            <div class="form-check">
+                                <input class="form-check-input" type="checkbox" id="filterOpenNow" ${openNow ? 'checked' : ''}>
+                                <label class="form-check-label" for="filterOpenNow">Open now</label>
+                            </div>
+                        </div>
                         <div id="locationStatus" class="mt-3"></div>
                     </div>
                 </div>
@@ -83,17 +97,18 @@
         <c:choose>
             <c:when test="${not empty healthPods && healthPods.size() > 0}">
                 <div class="row">
-                    <c:forEach var="pod" items="${healthPods}" varStatus="status">
+                    <c:forEach var="nearby" items="${healthPods}">
+                        <c:set var="pod" value="${nearby.pod}"/>
                         <div class="col-lg-6 mb-4">
                             <div class="card location-card h-100">
                                 <div class="card-body">
                                     <div class="d-flex justify-content-between align-items-start mb-3">
                                         <h5 class="card-title">${pod.name}</h5>
-                                        <span class="distance-badge badge">
-                                            <i class="fas fa-road me-1"></i>
-                                            <!-- Simulated distance - in real app, calculate based on user location -->
-                                            ${status.index + 2}.${status.index + 5} km
-                                        </span>
+                                        <c:if test="${not empty nearby.distanceKm}">
+                                            <span class="distance-badge badge">
+                                                <i class="fas fa-road me-1"></i>${nearby.formattedDistance}
+                                            </span>
+                                        </c:if>
                                     </div>
                                     
                                     <p class="card-text text-muted">
@@ -223,13 +238,16 @@
                         statusDiv.innerHTML = `
                             <div class="alert alert-success">
                                 <i class="fas fa-check-circle me-2"></i>
-                                Location detected! Showing health pods near you.
+                                Location detected! Finding health pods near you...
                                 <br><small class="text-muted">Lat: \${lat.toFixed(4)}, Lng: \${lng.toFixed(4)}</small>
                             </div>
                         `;
                         
-                        // In real implementation, send coordinates to server and get nearby pods
-                        alert('Location detected! In full implementation, this would filter pods based on your location.');
+                        const params = new URLSearchParams({ lat: lat, lng: lng });
+                        if (document.getElementById('filterLab').checked) params.set('hasLab', 'true');
+                        if (document.getElementById('filterPharmacy').checked) params.set('hasPharmacy', 'true');
+                        if (document.getElementById('filterOpenNow').checked) params.set('openNow', 'true');
+                        window.location.href = '/health-pods/near-me?' + params.toString();
                     },
                     function(error) {
                         let message = "Unable to detect your location. ";
@@ -440,14 +440,26 @@
         }
 
         // Message Handlers
+        // Each server node only lists the participants connected to it, so the lists are merged here
+        const knownParticipants = new Set();
+
         function handleParticipantsUpdate(data) {
-            const participantCount = Object.keys(data.participants || {}).length;
-            document.getElementById('participantCount').textContent = participantCount;
+            Object.keys(data.participants || {}).forEach(id => knownParticipants.add(id));
+            if (data.type === 'USER_LEFT') {
+                knownParticipants.delete(data.userId);
+            } else {
+                knownParticipants.add(data.userId);
+            }
+            document.getElementById('participantCount').textContent = knownParticipants.size;
             
             if (data.type === 'USER_JOINED') {
                 addSystemMessage(data.userName + ' joined the consultation');
             } else if (data.type === 'USER_LEFT') {
                 addSystemMessage(data.userName + ' left the consultation');
+            } else if (data.type === 'USER_AWAY') {
+                addSystemMessage(data.userName + ' seems to have lost connection');
+            } else if (data.type === 'USER_ONLINE') {
+                addSystemMessage(data.userName + ' is back');
             }
         }
 
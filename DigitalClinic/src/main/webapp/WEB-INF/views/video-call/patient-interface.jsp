@@ -527,6 +527,10 @@
             const data = JSON.parse(message.body);
             if (data.type === 'USER_JOINED' && data.userType === 'DOCTOR') {
                 addSystemMessage('Dr. ' + data.userName + ' joined the consultation');
+            } else if (data.type === 'USER_AWAY' && data.userType === 'DOCTOR') {
+                addSystemMessage('Dr. ' + data.userName + ' seems to have lost connection');
+            } else if (data.type === 'USER_ONLINE' && data.userType === 'DOCTOR') {
+                addSystemMessage('Dr. ' + data.userName + ' is back');
             }
         }
 
@@ -84,8 +84,9 @@
                                 <i class="fas fa-clock fa-2x mb-2"></i>
                                 <h5>Current Status</h5>
                                 <p class="mb-0">
-                                    <span class="badge bg-warning">Waiting for Doctor</span>
+                                    <span class="badge bg-warning" id="queueStatus">Waiting for Doctor</span>
                                 </p>
+                                <p class="mb-0 mt-2 small" id="queueEstimate"></p>
                             </div>
                         </div>
                     </div>
@@ -201,12 +202,55 @@
         </div>
     </div>
 
+    <script src="https://cdnjs.cloudflare.com/ajax/libs/sockjs-client/1.6.1/sockjs.min.js"></script>
+    <script src="https://cdnjs.cloudflare.com/ajax/libs/stomp.js/2.3.3/stomp.min.js"></script>
     <script>
-        // Simulate connection check
-        setTimeout(() => {
-            document.getElementById('connectionStatus').innerHTML = 
-                '<i class="fas fa-check-circle text-success me-2"></i>Connection Ready';
-        }, 2000);
+        const roomId = '${consultation.roomId}';
+        let stompClient = null;
+
+        // Queue position and estimated start are pushed by the server whenever they change
+        function connect() {
+            const socket = new SockJS('/ws-video-consultation');
+            stompClient = Stomp.over(socket);
+            stompClient.debug = null;
+
+            stompClient.connect({}, function() {
+                document.getElementById('connectionStatus').innerHTML =
+                    '<i class="fas fa-check-circle text-success me-2"></i>Connection Ready';
+                stompClient.subscribe('/user/queue/waiting-room', function(message) {
+                    handleQueueUpdate(JSON.parse(message.body));
+                });
+                stompClient.subscribe('/user/queue/errors', function(message) {
+                    document.getElementById('queueEstimate').textContent = JSON.parse(message.body).error;
+                });
+                stompClient.send('/app/waiting-room.join', {}, JSON.stringify({ roomId: roomId }));
+            }, function() {
+                document.getElementById('connectionStatus').innerHTML =
+                    '<i class="fas fa-exclamation-triangle text-warning me-2"></i>Reconnecting...';
+                setTimeout(connect, 5000);
+            });
+        }
+
+        function handleQueueUpdate(data) {
+            const status = document.getElementById('queueStatus');
+            const estimate = document.getElementById('queueEstimate');
+            if (data.status === 'IN_CONSULTATION') {
+                status.className = 'badge bg-success';
+                status.textContent = 'Your doctor is ready';
+                estimate.textContent = 'Please join the consultation now';
+            } else if (data.status === 'FINISHED') {
+                status.className = 'badge bg-secondary';
+                status.textContent = 'Consultation closed';
+                estimate.textContent = '';
+            } else {
+                const start = new Date(data.estimatedStart);
+                status.className = 'badge bg-warning';
+                status.textContent = data.position === 1 ? 'You are next' : 'Position ' + data.position + ' in queue';
+                estimate.textContent = 'Estimated start ' +
+                    start.toLocaleTimeString([], { hour: '2-digit', minute: '2-digit' }) +
+                    ' (about ' + data.averageConsultationMinutes + ' min per consultation)';
+            }
+        }
 
         function testAudioVideo() {
             const testModal = new bootstrap.Modal(document.getElementById('testModal'));
@@ -218,11 +262,7 @@
             alert('In full implementation, this would test your camera and microphone.');
         }
 
-        // Auto-redirect to main call after 30 seconds if doctor joins
-        setTimeout(() => {
-            // In real app, check if doctor has joined via WebSocket or polling
-            console.log('Checking if doctor has joined...');
-        }, 30000);
+        connect();
     </script>
 
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.1.3/dist/js/bootstrap.bundle.min.js"></script>
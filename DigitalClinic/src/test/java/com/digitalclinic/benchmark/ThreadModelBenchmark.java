@@ -0,0 +1,104 @@
+package com.digitalclinic.benchmark;
+
+import com.digitalclinic.config.VirtualThreads;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform-thread pool vs virtual threads for a booking-like request: some blocking work that
+ * does not need the database, then a short query on a pooled connection. Run with
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.digitalclinic.benchmark.ThreadModelBenchmark
+ *
+ * Tunables (system properties): bench.requests, bench.platformThreads, bench.poolSize,
+ * bench.ioMillis, bench.dbMillis. The virtual-thread run is skipped below Java 21.
+ */
+public class ThreadModelBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 20000);
+    private static final int PLATFORM_THREADS = Integer.getInteger("bench.platformThreads", 200);
+    private static final int POOL_SIZE = Integer.getInteger("bench.poolSize", 20);
+    private static final int IO_MILLIS = Integer.getInteger("bench.ioMillis", 40);
+    private static final int DB_MILLIS = Integer.getInteger("bench.dbMillis", 2);
+
+    public static void main(String[] args) throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:thread-model;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        config.setConnectionTimeout(30000);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            System.out.printf("%d requests, %d ms blocking I/O + %d ms on one of %d connections%n",
+                REQUESTS, IO_MILLIS, DB_MILLIS, POOL_SIZE);
+            System.out.printf("Upper bound set by the pool: %.0f req/s%n%n", POOL_SIZE * 1000.0 / DB_MILLIS);
+
+            // Warm up the pool, the JIT and the H2 engine before measuring
+            run("warm-up", Executors.newFixedThreadPool(PLATFORM_THREADS), dataSource, REQUESTS / 10);
+
+            run("platform threads (" + PLATFORM_THREADS + ")", Executors.newFixedThreadPool(PLATFORM_THREADS),
+                dataSource, REQUESTS);
+            if (VirtualThreads.isSupported()) {
+                run("virtual threads", VirtualThreads.newThreadPerTaskExecutor("bench-vt-"), dataSource, REQUESTS);
+            } else {
+                System.out.println("virtual threads: skipped, running on Java " + Runtime.version().feature());
+            }
+        }
+    }
+
+    private static void run(String label, ExecutorService executor, HikariDataSource dataSource, int requests)
+            throws Exception {
+        AtomicInteger activeConnections = new AtomicInteger();
+        AtomicInteger peakConnections = new AtomicInteger();
+        long[] latencies = new long[requests];
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                try {
+                    Thread.sleep(IO_MILLIS);
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        peakConnections.accumulateAndGet(activeConnections.incrementAndGet(), Math::max);
+                        try (ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                            resultSet.next();
+                        }
+                        Thread.sleep(DB_MILLIS);
+                        activeConnections.decrementAndGet();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                latencies[index] = System.nanoTime() - submitted;
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-28s %8.0f req/s   p50 %6.1f ms   p99 %7.1f ms   peak connections %d/%d%n",
+            label, requests / (elapsed / 1e9),
+            latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6,
+            peakConnections.get(), POOL_SIZE);
+    }
+}
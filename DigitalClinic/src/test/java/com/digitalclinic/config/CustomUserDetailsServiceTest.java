@@ -0,0 +1,47 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.model.User;
+import com.digitalclinic.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void loginSeesAPasswordChangedAMomentAgo() {
+        when(userService.findByEmail("doctor@example.com"))
+            .thenReturn(Optional.of(new User("doctor@example.com", "old-hash", "DOCTOR", "Dr Who")))
+            .thenReturn(Optional.of(new User("doctor@example.com", "new-hash", "DOCTOR", "Dr Who")));
+
+        userDetailsService.loadUserByUsername("doctor@example.com");
+        UserDetails details = userDetailsService.loadUserByUsername("doctor@example.com");
+
+        assertThat(details.getPassword()).isEqualTo("new-hash");
+        assertThat(details.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_DOCTOR");
+    }
+
+    @Test
+    void unknownEmailIsNotFound() {
+        when(userService.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("nobody@example.com"))
+            .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.AppointmentRepository;
+import com.digitalclinic.service.AppointmentService;
+import com.digitalclinic.service.AvailabilityService;
+import com.digitalclinic.service.DoctorService;
+import com.digitalclinic.service.DomainEventOutbox;
+import com.digitalclinic.service.HealthPodService;
+import com.digitalclinic.service.PatientService;
+import com.digitalclinic.service.SlotReservationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are two separate databases holding different copies of one appointment,
+// so every read shows which of them it came from
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "clinic.datasource.replica.enabled=true",
+    "clinic.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "clinic.datasource.replica.username=sa"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReadReplicaConfig.class, AppointmentService.class})
+class ReadReplicaRoutingTest {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Appointment.class)
+    @EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+    static class JpaConfig {
+    }
+
+    @MockBean private PatientService patientService;
+    @MockBean private DoctorService doctorService;
+    @MockBean private HealthPodService healthPodService;
+    @MockBean private SlotReservationService slotReservationService;
+    @MockBean private AvailabilityService availabilityService;
+    @MockBean private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @TempDir
+    Path tempDir;
+
+    private Long appointmentId;
+    private Long doctorId;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate primaryJdbc = new JdbcTemplate(primary);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        primaryJdbc.execute("DELETE FROM appointments");
+        primaryJdbc.execute("DELETE FROM patients");
+        primaryJdbc.execute("DELETE FROM doctors");
+        primaryJdbc.execute("DELETE FROM users");
+
+        appointmentId = new TransactionTemplate(transactionManager).execute(status -> {
+            User user = new User("patient@example.com", "pw", "PATIENT", "Pat Ient");
+            entityManager.persist(user);
+            Patient patient = new Patient(user);
+            entityManager.persist(patient);
+            User doctorUser = new User("doctor@example.com", "pw", "DOCTOR", "Doc Tor");
+            entityManager.persist(doctorUser);
+            Doctor doctor = new Doctor(doctorUser);
+            entityManager.persist(doctor);
+            doctorId = doctor.getId();
+            Appointment appointment = new Appointment(patient, LocalDateTime.now().plusDays(2).withNano(0),
+                Appointment.AppointmentType.IN_PERSON);
+            appointment.setDoctor(doctor);
+            appointment.setNotes("primary copy");
+            appointment.setSymptoms("primary copy");
+            entityManager.persist(appointment);
+            return appointment.getId();
+        });
+
+        // The replica starts as a copy of the primary, then falls behind on this one row
+        String script = tempDir.resolve("primary.sql").toString();
+        primaryJdbc.execute("SCRIPT TO '" + script + "'");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("RUNSCRIPT FROM '" + script + "'");
+        replicaJdbc.update("UPDATE appointments SET notes = 'replica copy', symptoms = 'replica copy' WHERE id = ?",
+            appointmentId);
+    }
+
+    @Test
+    void readOnlyServiceTransactionReadsTheReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String notes = readOnly.execute(status -> appointmentRepository.findById(appointmentId).orElseThrow().getNotes());
+
+        assertThat(notes).isEqualTo("replica copy");
+    }
+
+    @Test
+    void repositoryCallOutsideATransactionReadsThePrimary() {
+        assertThat(appointmentRepository.findById(appointmentId).orElseThrow().getNotes()).isEqualTo("primary copy");
+    }
+
+    @Test
+    void doctorHistoryPageReadsTheReplica() {
+        assertThat(appointmentService.getDoctorAppointmentsPage(doctorId, null, null, 10).getItems())
+            .extracting(AppointmentListItem::getSymptoms)
+            .containsExactly("replica copy");
+    }
+
+    @Test
+    void cancellationReadsThePrimaryItWritesTo() {
+        Appointment cancelled = appointmentService.cancelAppointment(appointmentId, "unwell");
+
+        assertThat(cancelled.getNotes()).isEqualTo("primary copy\nCancelled: unwell");
+        assertThat(new JdbcTemplate(primary).queryForObject(
+            "SELECT notes FROM appointments WHERE id = ?", String.class, appointmentId))
+            .isEqualTo("primary copy\nCancelled: unwell");
+        assertThat(new JdbcTemplate(replica).queryForObject(
+            "SELECT notes FROM appointments WHERE id = ?", String.class, appointmentId))
+            .isEqualTo("replica copy");
+    }
+}
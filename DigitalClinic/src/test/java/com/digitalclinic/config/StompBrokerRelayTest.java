@@ -0,0 +1,198 @@
+package com.digitalclinic.config;
+
+import com.digitalclinic.DigitalClinicApplication;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.Patient;
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.AppointmentRepository;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.PatientRepository;
+import com.digitalclinic.repository.UserRepository;
+import com.digitalclinic.service.VideoConsultationService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two application nodes on one database, the first running the embedded broker and the second
+// relaying to it, with the patient connected to one node and the doctor to the other
+class StompBrokerRelayTest {
+
+    private static final String PASSWORD = "relay-test";
+    private static final String PATIENT = "patient@relay.test";
+    private static final String DOCTOR = "doctor@relay.test";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static ConfigurableApplicationContext brokerNode;
+    private static ConfigurableApplicationContext relayNode;
+    private static WebSocketStompClient stompClient;
+    private static String roomId;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int brokerPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            brokerPort = socket.getLocalPort();
+        }
+        brokerNode = startNode("embedded", brokerPort, "create-drop");
+        relayNode = startNode("relay", brokerPort, "none");
+
+        UserRepository userRepository = brokerNode.getBean(UserRepository.class);
+        String passwordHash = brokerNode.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Patient patient = brokerNode.getBean(PatientRepository.class).save(
+            new Patient(userRepository.save(new User(PATIENT, passwordHash, "PATIENT", "Relay Patient"))));
+        Doctor doctor = new Doctor(userRepository.save(new User(DOCTOR, passwordHash, "DOCTOR", "Relay Doctor")));
+        doctor.setSpecialization("General Medicine");
+        doctor.setVerified(true);
+        doctor = brokerNode.getBean(DoctorRepository.class).save(doctor);
+
+        Appointment appointment = new Appointment(patient, LocalDateTime.now().plusMinutes(5), Appointment.AppointmentType.VIDEO);
+        appointment.setDoctor(doctor);
+        appointment = brokerNode.getBean(AppointmentRepository.class).save(appointment);
+        roomId = brokerNode.getBean(VideoConsultationService.class).createVideoConsultation(appointment.getId()).getRoomId();
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (relayNode != null) {
+            relayNode.close();
+        }
+        if (brokerNode != null) {
+            brokerNode.close();
+        }
+    }
+
+    @Test
+    void signalingReachesAPeerConnectedToTheOtherNode() throws Exception {
+        StompSession patient = connect(brokerNode, PATIENT);
+        StompSession doctor = connect(relayNode, DOCTOR);
+        try {
+            CompletableFuture<Map<?, ?>> offer = expect(patient, "/user/queue/webrtc.offer", message -> true);
+            CompletableFuture<Map<?, ?>> answer = expect(doctor, "/user/queue/webrtc.answer", message -> true);
+            CompletableFuture<Map<?, ?>> doctorErrors = expect(doctor, "/user/queue/errors", message -> true);
+            join(patient, "PATIENT");
+            join(doctor, "DOCTOR");
+
+            doctor.send("/app/consultation.webrtc.offer", Map.of("roomId", roomId, "offer", "doctor-sdp"));
+            Map<?, ?> receivedOffer = CompletableFuture.anyOf(offer, doctorErrors).thenApply(Map.class::cast)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(receivedOffer.get("offer")).isEqualTo("doctor-sdp");
+            assertThat(receivedOffer.get("fromUserType")).isEqualTo("DOCTOR");
+
+            patient.send("/app/consultation.webrtc.answer", Map.of("roomId", roomId, "answer", "patient-sdp"));
+            Map<?, ?> receivedAnswer = answer.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(receivedAnswer.get("answer")).isEqualTo("patient-sdp");
+            assertThat(receivedAnswer.get("fromUserType")).isEqualTo("PATIENT");
+        } finally {
+            patient.disconnect();
+            doctor.disconnect();
+        }
+    }
+
+    // Keeps the configurations nested in the other test classes out of the nodes' component scan
+    static class NestedTestConfigurationFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            String enclosingClassName = metadataReader.getClassMetadata().getEnclosingClassName();
+            return enclosingClassName != null && enclosingClassName.endsWith("Test");
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String broker, int brokerPort, String ddlAuto) {
+        return new SpringApplicationBuilder(DigitalClinicApplication.class)
+            .logStartupInfo(false)
+            .initializers(context -> context.getBeanFactory()
+                .registerSingleton("nestedTestConfigurationFilter", new NestedTestConfigurationFilter()))
+            .run("--spring.datasource.url=jdbc:h2:mem:stomp_relay;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--clinic.stomp.broker=" + broker,
+                "--clinic.stomp.relay.port=" + brokerPort);
+    }
+
+    // Logs in through the form as a browser would, then opens the STOMP session on that HTTP session
+    private static StompSession connect(ConfigurableApplicationContext node, String email) throws Exception {
+        String port = node.getEnvironment().getProperty("local.server.port");
+        HttpResponse<Void> login = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + email + "&password=" + PASSWORD))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        String cookie = login.headers().allValues("Set-Cookie").stream()
+            .filter(value -> value.startsWith("JSESSIONID="))
+            .map(value -> value.split(";")[0])
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No session after logging in as " + email));
+
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.add("Cookie", cookie);
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws-video-consultation/websocket",
+                handshakeHeaders, new StompSessionHandlerAdapter() { })
+            .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Returns once the node has put the session in the room
+    private static void join(StompSession session, String userType) throws Exception {
+        CompletableFuture<Map<?, ?>> joined = expect(session, "/topic/consultation." + roomId + ".participants",
+            message -> "USER_JOINED".equals(message.get("type")) && userType.equals(message.get("userType")));
+        session.send("/app/consultation.join", Map.of("roomId", roomId));
+        joined.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static CompletableFuture<Map<?, ?>> expect(StompSession session, String destination,
+                                                       Predicate<Map<?, ?>> matches) {
+        CompletableFuture<Map<?, ?>> future = new CompletableFuture<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                if (payload instanceof Map<?, ?> message && matches.test(message)) {
+                    future.complete(message);
+                }
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,158 @@
+package com.digitalclinic.repository;
+
+import com.digitalclinic.dto.AppointmentCounts;
+import com.digitalclinic.dto.AppointmentListItem;
+import com.digitalclinic.dto.ConsultationListItem;
+import com.digitalclinic.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every list page must load in a bounded number of statements, however many rows it shows
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReadModelQueryCountTest {
+
+    private static final int APPOINTMENTS = 12;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Appointment.class)
+    @EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VideoConsultationRepository videoConsultationRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private Statistics statistics;
+    private Patient patient;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = entityManager.persist(new Patient(entityManager.persist(
+            new User("patient@example.com", "pw", "PATIENT", "Pat Ient"))));
+        doctor = entityManager.persist(new Doctor(entityManager.persist(
+            new User("doctor@example.com", "pw", "DOCTOR", "Doc Tor"))));
+        Doctor otherDoctor = entityManager.persist(new Doctor(entityManager.persist(
+            new User("other@example.com", "pw", "DOCTOR", "Oth Er"))));
+
+        HealthPod pod = new HealthPod("Pod", "Street 1", "City", "123");
+        pod.setFacilities(List.of("X-Ray", "ECG"));
+        pod.setEquipment(List.of("Monitor"));
+        entityManager.persist(pod);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            Appointment appointment = new Appointment(patient, start.plusMinutes(15L * i),
+                i % 2 == 0 ? Appointment.AppointmentType.VIDEO : Appointment.AppointmentType.IN_PERSON);
+            appointment.setDoctor(i % 3 == 0 ? otherDoctor : doctor);
+            appointment.setHealthPod(i % 2 == 0 ? null : pod);
+            entityManager.persist(appointment);
+            if (appointment.getType() == Appointment.AppointmentType.VIDEO) {
+                entityManager.persist(new VideoConsultation(appointment));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void patientHistoryPageIsOneStatement() {
+        List<AppointmentListItem> page = appointmentRepository.findPatientHistoryFirstPage(patient.getId(), PageRequest.of(0, 5));
+        AppointmentListItem last = page.get(page.size() - 1);
+        List<AppointmentListItem> next = appointmentRepository.findPatientHistoryPageBefore(patient.getId(),
+            last.getAppointmentDateTime(), last.getId(), PageRequest.of(0, 5));
+
+        assertThat(page).hasSize(5);
+        assertThat(next).hasSize(5);
+        assertThat(page).allSatisfy(item -> assertThat(item.getPatientName()).isEqualTo("Pat Ient"));
+        assertThat(page).anySatisfy(item -> assertThat(item.getPodName()).isEqualTo("Pod"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void doctorHistoryAndDayViewAreOneStatementEach() {
+        List<AppointmentListItem> page = appointmentRepository.findDoctorHistoryFirstPage(doctor.getId(), PageRequest.of(0, 20));
+        LocalDateTime day = LocalDateTime.now().plusDays(1).toLocalDate().atStartOfDay();
+        List<AppointmentListItem> today = appointmentRepository.findDoctorDayItems(doctor.getId(), day, day.plusDays(1));
+
+        assertThat(page).hasSize(8).allSatisfy(item -> assertThat(item.getDoctorName()).isEqualTo("Doc Tor"));
+        assertThat(today).hasSize(8);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void doctorStatCardsCountEveryAppointmentNotJustOnePage() {
+        List<AppointmentListItem> page = appointmentRepository.findDoctorHistoryFirstPage(doctor.getId(), PageRequest.of(0, 2));
+        appointmentRepository.updateStatus(List.of(page.get(0).getId()), Appointment.AppointmentStatus.COMPLETED, LocalDateTime.now());
+        statistics.clear();
+
+        AppointmentCounts counts = appointmentRepository.countDoctorAppointments(doctor.getId(), LocalDateTime.now());
+
+        assertThat(counts.getTotal()).isEqualTo(8);
+        assertThat(counts.getUpcoming()).isEqualTo(7);
+        assertThat(counts.getCompleted()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void consultationListsAreOneStatementEach() {
+        List<ConsultationListItem> patientItems = videoConsultationRepository.findPatientListItems(patient.getUser().getId());
+        List<ConsultationListItem> doctorItems = videoConsultationRepository.findDoctorListItems(doctor.getUser().getId());
+
+        assertThat(patientItems).hasSize(APPOINTMENTS / 2);
+        assertThat(doctorItems).isNotEmpty().allSatisfy(item -> assertThat(item.getPatientName()).isEqualTo("Pat Ient"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void adminListsAreOneStatementEach() {
+        List<AppointmentListItem> recent = appointmentRepository.findRecentItems(PageRequest.of(0, 5));
+        List<Doctor> doctors = doctorRepository.findAllWithUser();
+        List<Doctor> pending = doctorRepository.findWithUserByVerificationStatus("PENDING");
+        List<Patient> patients = patientRepository.findAllWithUser();
+
+        assertThat(recent).hasSize(5);
+        assertThat(doctors).hasSize(2).allSatisfy(d -> assertThat(d.getUser().getFullName()).isNotNull());
+        assertThat(pending).hasSize(2);
+        assertThat(patients).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,159 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.AvailableSlot;
+import com.digitalclinic.model.Doctor;
+import com.digitalclinic.model.DoctorLeave;
+import com.digitalclinic.model.DoctorSchedule;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.DoctorLeaveRepository;
+import com.digitalclinic.repository.DoctorRepository;
+import com.digitalclinic.repository.DoctorScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    // A Monday far enough ahead that the booking lead time never gets in the way
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Mock
+    private DoctorLeaveRepository doctorLeaveRepository;
+
+    @Mock
+    private SlotReservationService slotReservationService;
+
+    @InjectMocks
+    private AvailabilityService availabilityService;
+
+    private final List<DoctorSchedule> schedules = new ArrayList<>();
+    private final List<DoctorLeave> leaves = new ArrayList<>();
+
+    private Doctor cardiologist;
+    private Doctor otherCardiologist;
+    private Doctor dermatologist;
+
+    @BeforeEach
+    void setUp() {
+        cardiologist = doctor(1L, "Cardiology");
+        otherCardiologist = doctor(2L, "Cardiology");
+        dermatologist = doctor(3L, "Dermatology");
+        when(doctorRepository.findWithUserByVerifiedTrue()).thenReturn(List.of(cardiologist, otherCardiologist, dermatologist));
+        when(doctorScheduleRepository.findAllForVerifiedDoctors()).thenReturn(schedules);
+        when(doctorLeaveRepository.findUpcomingForVerifiedDoctors(any())).thenReturn(leaves);
+        lenient().when(slotReservationService.isDoctorSlotFree(any(), any())).thenReturn(true);
+        lenient().when(slotReservationService.isPodSlotFree(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void overlappingHoursOfTwoDoctorsMergeInTimeOrder() {
+        schedules.add(hours(cardiologist, DayOfWeek.MONDAY, "09:00", "10:00", null));
+        schedules.add(hours(otherCardiologist, DayOfWeek.MONDAY, "09:30", "11:00", null));
+
+        List<AvailableSlot> slots = availabilityService.findEarliestSlots("cardiology", null, null,
+            MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 7);
+
+        assertThat(slots).extracting(slot -> slot.getStart().toLocalTime() + " " + slot.getDoctorId())
+            .containsExactly("09:00 1", "09:15 1", "09:30 1", "09:30 2", "09:45 1", "09:45 2", "10:00 2");
+    }
+
+    @Test
+    void bookedSlotsAndLeaveAreSkipped() {
+        schedules.add(hours(cardiologist, DayOfWeek.MONDAY, "09:00", "11:00", null));
+        when(slotReservationService.isDoctorSlotFree(eq(1L), eq(MONDAY.atTime(9, 0)))).thenReturn(false);
+        leaves.add(new DoctorLeave(cardiologist, MONDAY.atTime(9, 30), MONDAY.atTime(10, 5), "Conference"));
+
+        List<AvailableSlot> slots = availabilityService.findEarliestSlots(null, 1L, null,
+            MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 10);
+
+        assertThat(slots).extracting(slot -> slot.getStart().toLocalTime().toString())
+            .containsExactly("09:15", "10:15", "10:30", "10:45");
+    }
+
+    @Test
+    void podFilterKeepsOnlyTheHoursWorkedThere() {
+        HealthPod north = pod(10L, "North Pod");
+        HealthPod south = pod(11L, "South Pod");
+        schedules.add(hours(cardiologist, DayOfWeek.MONDAY, "09:00", "09:30", north));
+        schedules.add(hours(cardiologist, DayOfWeek.MONDAY, "13:00", "13:30", south));
+        schedules.add(hours(dermatologist, DayOfWeek.MONDAY, "08:00", "08:30", south));
+
+        List<AvailableSlot> slots = availabilityService.findEarliestSlots(null, null, 11L,
+            MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 10);
+
+        assertThat(slots).extracting(slot -> slot.getStart().toLocalTime() + " " + slot.getDoctorId() + " " + slot.getPodName())
+            .containsExactly("08:00 3 South Pod", "08:15 3 South Pod", "13:00 1 South Pod", "13:15 1 South Pod");
+    }
+
+    @Test
+    void searchRollsOverToTheNextWorkingDay() {
+        schedules.add(hours(cardiologist, DayOfWeek.TUESDAY, "09:00", "09:30", null));
+
+        List<AvailableSlot> slots = availabilityService.findEarliestSlots(null, 1L, null,
+            MONDAY.atTime(12, 0), MONDAY.plusWeeks(1).atStartOfDay(), 3);
+
+        assertThat(slots).extracting(AvailableSlot::getStart)
+            .containsExactly(MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(9, 15));
+    }
+
+    @Test
+    void bookingsMustFitTheHoursAndMissTheLeave() {
+        schedules.add(hours(cardiologist, DayOfWeek.MONDAY, "09:00", "10:00", null));
+        leaves.add(new DoctorLeave(cardiologist, MONDAY.atTime(9, 30), MONDAY.atTime(9, 45), "Errand"));
+
+        assertThatCode(() -> availabilityService.checkBookable(1L, null, MONDAY.atTime(9, 45))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> availabilityService.checkBookable(1L, null, MONDAY.atTime(10, 0)))
+            .hasMessageContaining("is not available");
+        assertThatThrownBy(() -> availabilityService.checkBookable(1L, null, MONDAY.atTime(9, 30)))
+            .hasMessageContaining("is on leave");
+        // No working hours set up yet: anything goes
+        assertThatCode(() -> availabilityService.checkBookable(2L, null, MONDAY.atTime(3, 0))).doesNotThrowAnyException();
+    }
+
+    private static Doctor doctor(Long id, String specialization) {
+        Doctor doctor = new Doctor(new User("doctor" + id + "@example.com", "hash", "DOCTOR", "Doctor " + id));
+        doctor.setId(id);
+        doctor.setSpecialization(specialization);
+        doctor.setVerified(true);
+        return doctor;
+    }
+
+    private static HealthPod pod(Long id, String name) {
+        HealthPod pod = new HealthPod(name, "1 Main Road", "Pune", "555-0100");
+        pod.setId(id);
+        pod.setIsActive(true);
+        return pod;
+    }
+
+    private static DoctorSchedule hours(Doctor doctor, DayOfWeek day, String start, String end, HealthPod pod) {
+        DoctorSchedule schedule = new DoctorSchedule(doctor, day, LocalTime.parse(start), LocalTime.parse(end));
+        schedule.setHealthPod(pod);
+        return schedule;
+    }
+}
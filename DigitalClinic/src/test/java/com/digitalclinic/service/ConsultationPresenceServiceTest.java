@@ -0,0 +1,85 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.model.VideoConsultation;
+import com.digitalclinic.model.VideoConsultation.ConsultationStatus;
+import com.digitalclinic.service.ConsultationRoomRegistry.Participant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultationPresenceServiceTest {
+
+    @Spy
+    private ConsultationRoomRegistry roomRegistry = new ConsultationRoomRegistry();
+
+    @Mock
+    private VideoConsultationService videoConsultationService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private ConsultationPresenceService presenceService;
+
+    @Test
+    void doctorJoiningAScheduledConsultationStartsIt() {
+        presenceService.join(consultation(ConsultationStatus.SCHEDULED), doctor());
+
+        verify(videoConsultationService).doctorJoined(7L);
+    }
+
+    @Test
+    void doctorJoiningWhileThePatientWaitsStartsIt() {
+        presenceService.join(consultation(ConsultationStatus.PATIENT_WAITING), doctor());
+
+        verify(videoConsultationService).doctorJoined(7L);
+    }
+
+    @Test
+    void doctorReconnectingToACancelledConsultationLeavesItCancelled() {
+        presenceService.join(consultation(ConsultationStatus.CANCELLED), doctor());
+
+        verify(videoConsultationService, never()).doctorJoined(any());
+    }
+
+    @Test
+    void doctorReconnectingToACompletedConsultationLeavesItCompleted() {
+        presenceService.join(consultation(ConsultationStatus.COMPLETED), doctor());
+
+        verify(videoConsultationService, never()).doctorJoined(any());
+    }
+
+    @Test
+    void patientJoiningAnyConsultationButAScheduledOneWritesNothing() {
+        presenceService.join(consultation(ConsultationStatus.CANCELLED), patient());
+
+        verify(videoConsultationService, never()).patientJoined(any());
+    }
+
+    private static VideoConsultation consultation(ConsultationStatus status) {
+        VideoConsultation consultation = new VideoConsultation();
+        consultation.setId(7L);
+        consultation.setRoomId("room_7");
+        consultation.setStatus(status);
+        consultation.setScheduledStartTime(LocalDateTime.now().plusMinutes(5));
+        return consultation;
+    }
+
+    private static Participant doctor() {
+        return new Participant("doctor-session", "doctor@example.com", 2L, "DOCTOR", "Dr Who");
+    }
+
+    private static Participant patient() {
+        return new Participant("patient-session", "patient@example.com", 1L, "PATIENT", "Pat Ient");
+    }
+}
@@ -0,0 +1,103 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.DashboardStatistics;
+import com.digitalclinic.event.AppointmentChangedEvent;
+import com.digitalclinic.model.Appointment;
+import com.digitalclinic.model.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatisticsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    @InjectMocks
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardStatisticsService, "self", dashboardStatisticsService);
+    }
+
+    @Test
+    void anEventTheSnapshotAlreadyCountedIsSkipped() {
+        // Published at position 7, read by the refresh; pending event 12, read by it too
+        loadSnapshot(10, 7L, List.of(12L));
+
+        booked(event(11L, 7L));
+        booked(event(12L, 8L));
+
+        assertThat(dashboardStatisticsService.getStatistics().getTotalAppointments()).isEqualTo(10);
+    }
+
+    @Test
+    void anEventTheSnapshotHasNotCountedAdjustsIt() {
+        loadSnapshot(10, 7L, List.of());
+
+        booked(event(13L, 8L));
+
+        assertThat(dashboardStatisticsService.getStatistics().getTotalAppointments()).isEqualTo(11);
+    }
+
+    @Test
+    void anEventDeliveredWhileARefreshReadsIsNotLost() {
+        loadSnapshot(10, 7L, List.of());
+        // The refresh reads before the booking commits, then the booking is delivered before it finishes
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            booked(event(14L, 8L));
+            return statistics(10);
+        });
+
+        dashboardStatisticsService.refresh();
+        assertThat(dashboardStatisticsService.getStatistics().getTotalAppointments()).isEqualTo(11);
+
+        // The next refresh counts it itself
+        loadSnapshot(11, 8L, List.of());
+        assertThat(dashboardStatisticsService.getStatistics().getTotalAppointments()).isEqualTo(11);
+    }
+
+    private void loadSnapshot(long totalAppointments, long publishedUpTo, List<Long> pending) {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(statistics(totalAppointments));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(publishedUpTo);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(pending);
+        dashboardStatisticsService.refresh();
+    }
+
+    private void booked(OutboxEvent event) {
+        when(outboxRelay.currentEvent()).thenReturn(event);
+        dashboardStatisticsService.onAppointmentChanged(new AppointmentChangedEvent(
+            AppointmentChangedEvent.ChangeType.BOOKED, event.getAggregateId(), 1L, 2L, null,
+            null, Appointment.AppointmentStatus.SCHEDULED, null, LocalDateTime.now()));
+    }
+
+    private static OutboxEvent event(Long id, Long position) {
+        OutboxEvent event = new OutboxEvent("Appointment", id, 1, "AppointmentChangedEvent", "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        event.setPosition(position);
+        return event;
+    }
+
+    private static DashboardStatistics statistics(long totalAppointments) {
+        return new DashboardStatistics(5, 3, 2, 1, totalAppointments, 0, 0, 0, LocalDateTime.now());
+    }
+}
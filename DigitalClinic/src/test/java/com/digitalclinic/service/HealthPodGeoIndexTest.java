@@ -0,0 +1,115 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.dto.NearbyPod;
+import com.digitalclinic.dto.PodLocation;
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.repository.HealthPodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HealthPodGeoIndexTest {
+
+    @Mock
+    private HealthPodRepository healthPodRepository;
+
+    @InjectMocks
+    private HealthPodGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(geoIndex, "cellDegrees", 0.25);
+    }
+
+    @Test
+    void nearestAndRadiusQueriesAgreeWithCheckingEveryPod() {
+        Random random = new Random(42);
+        List<HealthPod> all = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            all.add(pod(id, 18 + random.nextDouble() * 4, 72 + random.nextDouble() * 4));
+        }
+        when(healthPodRepository.findLocatedActivePods()).thenReturn(all);
+
+        for (int query = 0; query < 20; query++) {
+            double latitude = 18 + random.nextDouble() * 4;
+            double longitude = 72 + random.nextDouble() * 4;
+
+            assertThat(ids(geoIndex.findNearest(latitude, longitude, 5, pod -> true)))
+                .containsExactlyElementsOf(ids(bruteForce(all, latitude, longitude, Double.MAX_VALUE)).subList(0, 5));
+            assertThat(ids(geoIndex.findWithinRadius(latitude, longitude, 40, pod -> true)))
+                .containsExactlyElementsOf(ids(bruteForce(all, latitude, longitude, 40)));
+        }
+    }
+
+    @Test
+    void nearestLooksAcrossTheAntimeridian() {
+        when(healthPodRepository.findLocatedActivePods()).thenReturn(List.of(
+            pod(1L, 0, 179.95), pod(2L, 0, -179.0)));
+
+        assertThat(ids(geoIndex.findNearest(0, -179.95, 1, pod -> true))).containsExactly(1L);
+        assertThat(ids(geoIndex.findWithinRadius(0, -179.95, 20, pod -> true))).containsExactly(1L);
+    }
+
+    @Test
+    void nearestSkipsPodsTheFilterRejectsAndSearchesFurtherOut() {
+        HealthPod near = pod(1L, 19.0, 73.0);
+        HealthPod far = pod(2L, 21.0, 75.0);
+        far.setHasLab(true);
+        when(healthPodRepository.findLocatedActivePods()).thenReturn(List.of(near, far));
+
+        assertThat(ids(geoIndex.findNearest(19.0, 73.0, 3, PodLocation::getHasLab))).containsExactly(2L);
+    }
+
+    @Test
+    void changeEventsMoveAndDropPods() {
+        when(healthPodRepository.findLocatedActivePods()).thenReturn(List.of(pod(1L, 19.0, 73.0), pod(2L, 19.1, 73.1)));
+        assertThat(geoIndex.size()).isEqualTo(2);
+
+        when(healthPodRepository.findWithFacilitiesById(1L)).thenReturn(Optional.of(pod(1L, 28.6, 77.2)));
+        geoIndex.onHealthPodChanged(new HealthPodChangedEvent(1L));
+        HealthPod closed = pod(2L, 19.1, 73.1);
+        closed.setIsActive(false);
+        when(healthPodRepository.findWithFacilitiesById(2L)).thenReturn(Optional.of(closed));
+        geoIndex.onHealthPodChanged(new HealthPodChangedEvent(2L));
+
+        assertThat(geoIndex.size()).isEqualTo(1);
+        assertThat(geoIndex.findWithinRadius(19.0, 73.0, 50, pod -> true)).isEmpty();
+        assertThat(ids(geoIndex.findWithinRadius(28.6, 77.2, 1, pod -> true))).containsExactly(1L);
+    }
+
+    private static List<NearbyPod> bruteForce(List<HealthPod> all, double latitude, double longitude, double radiusKm) {
+        return all.stream()
+            .map(pod -> new NearbyPod(new PodLocation(pod),
+                HealthPodGeoIndex.distanceKm(latitude, longitude, pod.getLatitude(), pod.getLongitude())))
+            .filter(nearby -> nearby.getDistanceKm() <= radiusKm)
+            .sorted(Comparator.comparingDouble(NearbyPod::getDistanceKm))
+            .toList();
+    }
+
+    private static List<Long> ids(List<NearbyPod> pods) {
+        return pods.stream().map(nearby -> nearby.getPod().getId()).toList();
+    }
+
+    private static HealthPod pod(Long id, double latitude, double longitude) {
+        HealthPod pod = new HealthPod("Pod " + id, "Street " + id, "City", "555-0100");
+        pod.setId(id);
+        pod.setLatitude(latitude);
+        pod.setLongitude(longitude);
+        pod.setIsActive(true);
+        return pod;
+    }
+}
@@ -0,0 +1,104 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.HealthPodChangedEvent;
+import com.digitalclinic.model.HealthPod;
+import com.digitalclinic.repository.HealthPodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HealthPodSearchIndexTest {
+
+    @Mock
+    private HealthPodRepository healthPodRepository;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private HealthPodSearchIndex searchIndex;
+
+    private HealthPod sunrise;
+    private HealthPod riverside;
+    private HealthPod hillview;
+
+    @BeforeEach
+    void setUp() {
+        sunrise = pod(1L, "Sunrise Health Pod", "Pune", "4 Station Road");
+        sunrise.setFacilities(List.of("Pathology Lab"));
+        sunrise.setDescription("Cardiology checkups");
+        riverside = pod(2L, "Riverside Clinic", "Pune", "12 Sunrise Road");
+        riverside.setEquipment(List.of("ECG"));
+        hillview = pod(3L, "Hillview Pod", "Mumbai", "1 Hill Road");
+        hillview.setDescription("Near Sunrise park");
+        when(healthPodRepository.findActiveWithFacilities()).thenReturn(List.of(sunrise, riverside, hillview));
+    }
+
+    @Test
+    void podsAreRankedByTheFieldTheWordMatchedIn() {
+        assertThat(searchIndex.search("sunrise")).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void prefixesMatchAndTiesGoByPodId() {
+        assertThat(searchIndex.search("sunr")).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.search("pun")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void everyWordHasToMatch() {
+        assertThat(searchIndex.search("sunrise mumbai")).containsExactly(3L);
+        assertThat(searchIndex.search("sunrise delhi")).isEmpty();
+    }
+
+    @Test
+    void oneTypoIsForgivenInLongerWords() {
+        assertThat(searchIndex.search("sunrsie")).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.search("cardiolgy")).containsExactly(1L);
+        assertThat(searchIndex.search("pathollogy")).containsExactly(1L);
+        assertThat(searchIndex.search("ecj")).isEmpty();
+        assertThat(searchIndex.search("ecg")).containsExactly(2L);
+    }
+
+    @Test
+    void caseAndAccentsAreIgnored() {
+        assertThat(searchIndex.search("PUNÉ")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void changeEventsReindexOneAndDropInactivePods() {
+        assertThat(searchIndex.size()).isEqualTo(3);
+
+        HealthPod renamed = pod(2L, "Lakeside Clinic", "Pune", "12 Lake Road");
+        when(healthPodRepository.findWithFacilitiesById(2L)).thenReturn(Optional.of(renamed));
+        searchIndex.onHealthPodChanged(new HealthPodChangedEvent(2L));
+        hillview.setIsActive(false);
+        when(healthPodRepository.findWithFacilitiesById(3L)).thenReturn(Optional.of(hillview));
+        searchIndex.onHealthPodChanged(new HealthPodChangedEvent(3L));
+
+        assertThat(searchIndex.size()).isEqualTo(2);
+        assertThat(searchIndex.search("sunrise")).containsExactly(1L);
+        assertThat(searchIndex.search("riverside")).isEmpty();
+        assertThat(searchIndex.search("lakesde")).containsExactly(2L);
+    }
+
+    private static HealthPod pod(Long id, String name, String city, String address) {
+        HealthPod pod = new HealthPod(name, address, city, "555-0100");
+        pod.setId(id);
+        pod.setIsActive(true);
+        return pod;
+    }
+}
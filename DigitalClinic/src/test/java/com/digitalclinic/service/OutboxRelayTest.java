@@ -0,0 +1,239 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.event.DomainEvent;
+import com.digitalclinic.model.OutboxEvent;
+import com.digitalclinic.repository.OutboxEventRepository;
+import com.digitalclinic.repository.OutboxSequenceRepository;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The relay runs on its own thread against committed rows, as in the application; MySQL mode for the upserts
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.datasource.username=sa",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "clinic.outbox.lanes=1",
+    "clinic.outbox.batch-size=1",
+    "clinic.outbox.poll-interval-ms=20"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OutboxRelay.class, DomainEventOutbox.class, OutboxRelayTest.Listeners.class})
+class OutboxRelayTest {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = OutboxEvent.class)
+    @EnableJpaRepositories(basePackageClasses = OutboxEventRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    public static class NoteEvent implements DomainEvent {
+        private final Long noteId;
+        private final String text;
+
+        @JsonCreator
+        public NoteEvent(Long noteId, String text) {
+            this.noteId = noteId;
+            this.text = text;
+        }
+
+        @Override
+        public String getAggregateType() { return "Note"; }
+
+        @Override
+        public Long getAggregateId() { return noteId; }
+
+        public Long getNoteId() { return noteId; }
+        public String getText() { return text; }
+    }
+
+    static class Listeners {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        // Per delivery, the lane thread that made it: with one lane per relay, the node
+        final List<Map.Entry<Thread, String>> receivedOn = new CopyOnWriteArrayList<>();
+        final AtomicInteger flakyCalls = new AtomicInteger();
+        volatile int flakyFailures;
+
+        @EventListener
+        @Order(1)
+        public void record(NoteEvent event) {
+            received.add(event.getNoteId() + ":" + event.getText());
+            receivedOn.add(Map.entry(Thread.currentThread(), event.getNoteId() + ":" + event.getText()));
+        }
+
+        @EventListener
+        @Order(2)
+        public void flaky(NoteEvent event) {
+            flakyCalls.incrementAndGet();
+            if (flakyFailures > 0) {
+                flakyFailures--;
+                throw new IllegalStateException("listener not ready");
+            }
+        }
+    }
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSequenceRepository outboxSequenceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Listeners listeners;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    // The relay started with the context; each test starts it once its events are in place
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        outboxRelay.shutdown();
+        outboxEventRepository.deleteAll();
+        outboxSequenceRepository.deleteAll();
+        listeners.received.clear();
+        listeners.receivedOn.clear();
+        listeners.flakyCalls.set(0);
+        listeners.flakyFailures = 0;
+        outboxRelay.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outboxRelay.shutdown();
+    }
+
+    @Test
+    void anAggregatesEventsAreDeliveredInCommitOrderWhateverTheirIds() throws InterruptedException {
+        append(new NoteEvent(1L, "first"));
+        append(new NoteEvent(1L, "second"));
+        append(new NoteEvent(1L, "third"));
+        append(new NoteEvent(2L, "other"));
+        // As if the first event had drawn its id from another node's block of the pooled sequence
+        jdbcTemplate.update("UPDATE outbox_events SET id = id + 1000 WHERE aggregate_id = 1 AND aggregate_sequence = 1");
+
+        outboxRelay.start();
+        await(() -> listeners.received.size() == 4);
+
+        assertThat(listeners.received.stream().filter(received -> received.startsWith("1:")))
+            .containsExactly("1:first", "1:second", "1:third");
+        assertThat(listeners.received).contains("2:other");
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getAggregateSequence)
+            .containsExactlyInAnyOrder(1L, 2L, 3L, 1L);
+    }
+
+    @Test
+    void aRetryOnlyCallsTheListenersThatFailed() throws InterruptedException {
+        listeners.flakyFailures = 2;
+        append(new NoteEvent(3L, "once"));
+
+        outboxRelay.start();
+        await(() -> listeners.flakyCalls.get() == 3);
+
+        assertThat(listeners.received).containsExactly("3:once");
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PUBLISHED);
+        assertThat(event.getPosition()).isEqualTo(1L);
+    }
+
+    @Test
+    void laterEventsOfAnAggregateWaitForAFailedOne() throws InterruptedException {
+        listeners.flakyFailures = 1;
+        append(new NoteEvent(4L, "first"));
+        append(new NoteEvent(4L, "second"));
+
+        outboxRelay.start();
+        await(() -> listeners.received.size() == 2);
+
+        assertThat(listeners.received).containsExactly("4:first", "4:second");
+    }
+
+    @Test
+    void everyNodeGetsEveryEventOnceAndEachEventIsPublishedOnce() throws InterruptedException {
+        OutboxRelay otherNode = beanFactory.createBean(OutboxRelay.class);
+        try {
+            outboxRelay.start();
+            otherNode.start();
+            for (int i = 1; i <= 10; i++) {
+                append(new NoteEvent(5L + i % 3, "event" + i));
+            }
+            await(() -> listeners.received.size() == 20);
+
+            Map<Thread, List<String>> byNode = listeners.receivedOn.stream().collect(Collectors.groupingBy(
+                Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+            assertThat(byNode).hasSize(2);
+            for (List<String> received : byNode.values()) {
+                assertThat(received).hasSize(10).doesNotHaveDuplicates();
+                assertThat(received.stream().filter(text -> text.startsWith("5:")))
+                    .containsExactly("5:event3", "5:event6", "5:event9");
+            }
+            assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getPosition)
+                .filteredOn(Objects::nonNull).hasSize(10).doesNotHaveDuplicates();
+        } finally {
+            otherNode.shutdown();
+        }
+    }
+
+    private void append(DomainEvent event) {
+        transactionTemplate.executeWithoutResult(status -> domainEventOutbox.append(event));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("delivered in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        // Anything delivered twice would have arrived by now
+        Thread.sleep(100);
+    }
+}
@@ -0,0 +1,99 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlotReservationServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @InjectMocks
+    private SlotReservationService slotReservationService;
+
+    @Test
+    void slotIndexCountsQuarterHoursFromMidnight() {
+        assertThat(SlotReservationService.slotIndex(NINE.withHour(0))).isEqualTo(0);
+        assertThat(SlotReservationService.slotIndex(NINE.withMinute(14))).isEqualTo(36);
+        assertThat(SlotReservationService.slotIndex(NINE.withMinute(15))).isEqualTo(37);
+        assertThat(SlotReservationService.slotIndex(NINE.withHour(23).withMinute(59)))
+            .isEqualTo(SlotReservationService.SLOTS_PER_DAY - 1);
+    }
+
+    @Test
+    void dayBitmapKeepsNeighbouringSlotsApartAcrossWords() {
+        SlotReservationService.DayBitmap bitmap = SlotReservationService.DayBitmap.of(List.of(NINE.withHour(15).withMinute(45)));
+
+        assertThat(bitmap.get(63)).isTrue();
+        assertThat(bitmap.get(62)).isFalse();
+        assertThat(bitmap.get(64)).isFalse();
+        bitmap.set(95);
+        bitmap.clear(63);
+        assertThat(bitmap.get(63)).isFalse();
+        assertThat(bitmap.get(95)).isTrue();
+    }
+
+    @Test
+    void aSlotBookedInTheDatabaseIsRefusedWithoutWriting() {
+        when(appointmentRepository.findBookedDoctorSlotTimes(eq(1L), any(), any(), any())).thenReturn(List.of(NINE));
+        AtomicInteger writes = new AtomicInteger();
+
+        assertThatThrownBy(() -> slotReservationService.reserve(1L, null, NINE.plusMinutes(5), writes::incrementAndGet))
+            .hasMessageContaining("doctor is already booked");
+        assertThat(writes).hasValue(0);
+        assertThat(slotReservationService.isDoctorSlotFree(1L, NINE.plusMinutes(15))).isTrue();
+    }
+
+    @Test
+    void aReservedSlotIsTakenForTheDoctorAndThePod() {
+        when(appointmentRepository.findBookedDoctorSlotTimes(any(), any(), any(), any())).thenReturn(List.of());
+        when(appointmentRepository.findBookedPodSlotTimes(any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThat(slotReservationService.reserve(1L, 7L, NINE, () -> "saved")).isEqualTo("saved");
+
+        assertThatThrownBy(() -> slotReservationService.reserve(2L, 7L, NINE, () -> "saved"))
+            .hasMessageContaining("health pod is already booked");
+        assertThat(slotReservationService.isDoctorSlotFree(1L, NINE)).isFalse();
+        // Each day is loaded from the database once and then kept in memory
+        verify(appointmentRepository, times(1)).findBookedPodSlotTimes(eq(7L), any(), any(), any());
+    }
+
+    @Test
+    void aFailedWriteLeavesTheSlotFree() {
+        when(appointmentRepository.findBookedDoctorSlotTimes(any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> slotReservationService.reserve(1L, null, NINE, () -> {
+            throw new IllegalStateException("insert failed");
+        })).hasMessage("insert failed");
+
+        assertThat(slotReservationService.isDoctorSlotFree(1L, NINE)).isTrue();
+    }
+
+    @Test
+    void aReleasedSlotCanBeBookedAgain() {
+        when(appointmentRepository.findBookedDoctorSlotTimes(any(), any(), any(), any())).thenReturn(List.of());
+        slotReservationService.reserve(1L, null, NINE, () -> null);
+
+        slotReservationService.release(1L, null, NINE);
+
+        assertThat(slotReservationService.reserve(1L, null, NINE, () -> "rebooked")).isEqualTo("rebooked");
+    }
+}
@@ -0,0 +1,100 @@
+package com.digitalclinic.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void timersOnEveryLevelFireOnTheirOwnTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0);
+        long[] ticks = { 1, 63, 64, 65, 4095, 4096, 4097, 64L * 64 * 64 + 7, 64L * 64 * 64 * 64 + 3 };
+        for (long tick : ticks) {
+            wheel.schedule(tick * TICK, tick);
+        }
+
+        for (long tick : ticks) {
+            assertThat(wheel.advanceTo((tick - 1) * TICK)).doesNotContain(tick);
+            assertThat(wheel.advanceTo(tick * TICK)).containsExactly(tick);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timersCrossingALevelBoundaryStillFireOnTime() {
+        // Just short of the point where the second and third levels roll over together
+        long start = 64L * 64 * 64 - 3;
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, start * TICK);
+        List<Long> expected = new ArrayList<>();
+        for (long delta : new long[] { 1, 2, 3, 4, 64, 67, 4096, 4099, 4100 }) {
+            wheel.schedule((start + delta) * TICK, start + delta);
+            expected.add(start + delta);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long tick = start + 1; tick <= start + 4100; tick++) {
+            for (long payload : wheel.advanceTo(tick * TICK)) {
+                assertThat(payload).isEqualTo(tick);
+                fired.add(payload);
+            }
+        }
+        assertThat(fired).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void randomTimersFireExactlyOnceInDeadlineOrder() {
+        Random random = new Random(7);
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 123_456 * TICK);
+        TreeMap<Long, Integer> pending = new TreeMap<>();
+        long now = 123_456;
+        for (int i = 0; i < 2000; i++) {
+            long tick = now + 1 + (long) (Math.pow(random.nextDouble(), 3) * 300_000);
+            wheel.schedule(tick * TICK, tick);
+            pending.merge(tick, 1, Integer::sum);
+        }
+
+        while (!pending.isEmpty()) {
+            long previous = now;
+            now += 1 + random.nextInt(5000);
+            List<Long> due = wheel.advanceTo(now * TICK);
+            assertThat(due).isSorted();
+            for (long tick : due) {
+                assertThat(tick).isGreaterThan(previous).isLessThanOrEqualTo(now);
+                pending.computeIfPresent(tick, (key, count) -> count > 1 ? count - 1 : null);
+            }
+            assertThat(pending.headMap(now, true)).isEmpty();
+            assertThat(wheel.size()).isEqualTo(pending.values().stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        TimingWheel.Timeout<String> kept = wheel.schedule(5000 * TICK, "kept");
+        TimingWheel.Timeout<String> cancelled = wheel.schedule(5000 * TICK, "cancelled");
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(5000 * TICK)).containsExactly("kept");
+        assertThat(wheel.cancel(kept)).isFalse();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTickAndPartialTicksRoundUp() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 10 * TICK);
+        wheel.schedule(3 * TICK, "overdue");
+        wheel.schedule(11 * TICK + 1, "rounded up");
+
+        assertThat(wheel.advanceTo(10 * TICK + 999)).isEmpty();
+        assertThat(wheel.advanceTo(11 * TICK)).containsExactly("overdue");
+        assertThat(wheel.advanceTo(12 * TICK)).containsExactly("rounded up");
+    }
+}
@@ -0,0 +1,43 @@
+package com.digitalclinic.service;
+
+import com.digitalclinic.model.User;
+import com.digitalclinic.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PrincipalContextCache principalContextCache;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    void savingAChangedEmailEvictsTheOldAndTheNewEntry() {
+        User user = new User("new@example.com", "hash", "PATIENT", "Pat Ient");
+        user.setId(5L);
+        when(userRepository.findEmailById(5L)).thenReturn(Optional.of("old@example.com"));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.saveUser(user);
+
+        verify(principalContextCache).evict("old@example.com");
+        verify(principalContextCache).evict("new@example.com");
+    }
+}